@@ -80,6 +80,11 @@ public record CreateOrderCommand(
         );
     }
 
+    @Override
+    public String routingKey() {
+        return customerId;
+    }
+
     public Optional<String> getCouponCode() {
         return Optional.ofNullable(couponCode);
     }
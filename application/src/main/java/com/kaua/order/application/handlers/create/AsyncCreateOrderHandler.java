@@ -16,6 +16,7 @@ import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
 import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
 import com.kaua.order.domain.validation.Error;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -94,6 +95,6 @@ public class AsyncCreateOrderHandler extends CommandHandler<CreateOrderCommand>
                 aCommand.traceId()
         );
 
-        this.eventStore.save(aOrder);
+        this.eventStore.save(aOrder, List.of(aCommand.commandId()));
     }
 }
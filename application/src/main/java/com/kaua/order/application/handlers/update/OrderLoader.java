@@ -0,0 +1,51 @@
+package com.kaua.order.application.handlers.update;
+
+import com.kaua.order.application.repositories.EventStore;
+import com.kaua.order.domain.exceptions.NotFoundException;
+import com.kaua.order.domain.order.Order;
+import com.kaua.order.domain.order.snapshots.OrderSnapshot;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+
+public class OrderLoader {
+
+    private static final long FROM_FIRST_EVENT = -1;
+
+    private final EventStore eventStore;
+
+    public OrderLoader(final EventStore eventStore) {
+        this.eventStore = Objects.requireNonNull(eventStore);
+    }
+
+    public Order load(final String aOrderId, final long aExpectedVersion) {
+        final Optional<OrderSnapshot> aCachedSnapshot = this.eventStore
+                .loadCachedSnapshot(aOrderId, aExpectedVersion);
+
+        if (aCachedSnapshot.isPresent()) {
+            return Order.reconstruct(aCachedSnapshot.get(), Collections.emptyList());
+        }
+
+        return load(aOrderId);
+    }
+
+    public Order load(final String aOrderId) {
+        final Optional<OrderSnapshot> aSnapshot = this.eventStore.loadSnapshot(aOrderId);
+
+        final var aSeed = aSnapshot
+                .map(it -> Order.reconstruct(it, Collections.emptyList()))
+                .orElse(null);
+        final var aAfterVersion = aSnapshot
+                .map(OrderSnapshot::aggregateVersion)
+                .orElse(FROM_FIRST_EVENT);
+
+        final var aOrder = this.eventStore.foldEvents(aOrderId, aAfterVersion, aSeed, Order::replay);
+
+        if (aOrder == null) {
+            throw NotFoundException.with("Order", aOrderId).get();
+        }
+
+        return aOrder;
+    }
+}
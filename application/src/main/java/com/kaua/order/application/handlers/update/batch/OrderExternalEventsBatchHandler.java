@@ -0,0 +1,48 @@
+package com.kaua.order.application.handlers.update.batch;
+
+import com.kaua.order.application.handlers.update.OrderLoader;
+import com.kaua.order.application.repositories.EventStore;
+import com.kaua.order.domain.events.DomainEvent;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Applies every external event received for one order in a single load and
+ * save, in aggregate version order. Used by the batch consumer so a burst of
+ * events for the same order does not pay one rehydration per event.
+ */
+public class OrderExternalEventsBatchHandler {
+
+    private final EventStore eventStore;
+    private final OrderLoader orderLoader;
+
+    public OrderExternalEventsBatchHandler(final EventStore eventStore) {
+        this.eventStore = Objects.requireNonNull(eventStore);
+        this.orderLoader = new OrderLoader(eventStore);
+    }
+
+    public void handle(final String aOrderId, final List<? extends DomainEvent> aEvents) {
+        if (aEvents.isEmpty()) {
+            return;
+        }
+
+        final var aOrderedEvents = aEvents.stream()
+                .sorted(Comparator.comparingLong(DomainEvent::aggregateVersion))
+                .toList();
+
+        final var aOrder = this.orderLoader.load(aOrderId, aOrderedEvents.get(0).aggregateVersion());
+
+        for (final var aEvent : aOrderedEvents) {
+            if (!aOrderId.equals(aEvent.aggregateId())) {
+                throw new IllegalArgumentException("Event %s does not belong to order %s"
+                        .formatted(aEvent.eventId(), aOrderId));
+            }
+
+            aOrder.handle(aEvent);
+        }
+
+        this.eventStore.save(aOrder, aOrderedEvents.stream().map(DomainEvent::eventId).toList());
+    }
+}
@@ -2,12 +2,29 @@ package com.kaua.order.application.repositories;
 
 import com.kaua.order.domain.AggregateRoot;
 import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
 
 public interface EventStore {
 
     <T extends AggregateRoot<?>> void save(T aggregateRoot);
 
+    // records the consumed message ids on the inbox in the same transaction as the events
+    <T extends AggregateRoot<?>> void save(T aggregateRoot, Collection<String> messageIds);
+
+    <T extends DomainEvent> void append(String aggregateId, long expectedVersion, List<T> events);
+
     <T extends DomainEvent> List<T> loadEvents(String aggregateId);
+
+    <T extends DomainEvent> List<T> loadEvents(String aggregateId, long afterVersion);
+
+    <S> S foldEvents(String aggregateId, long afterVersion, S seed, BiFunction<S, DomainEvent, S> accumulator);
+
+    <T extends AggregateSnapshot> Optional<T> loadSnapshot(String aggregateId);
+
+    <T extends AggregateSnapshot> Optional<T> loadCachedSnapshot(String aggregateId, long expectedVersion);
 }
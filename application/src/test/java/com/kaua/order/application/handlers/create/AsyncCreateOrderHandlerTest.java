@@ -95,14 +95,14 @@ public class AsyncCreateOrderHandlerTest extends CommandHandlerTest {
                         aItemSku,
                         aItemUnitPrice
                 )));
-        doNothing().when(eventStore).save(Mockito.any());
+        doNothing().when(eventStore).save(Mockito.any(), Mockito.anyCollection());
 
         Assertions.assertDoesNotThrow(() -> this.asyncCreateOrderHandler.handle(aCommand));
 
         Mockito.verify(couponGateway, Mockito.times(1)).applyCoupon(aCouponCode);
         Mockito.verify(customerGateway, Mockito.times(1)).getCustomerDetails(aCustomerId);
         Mockito.verify(productGateway, Mockito.times(1)).getProductsDetailsBySkus(List.of(aItemSku));
-        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any(), Mockito.anyCollection());
     }
 
     @Test
@@ -154,14 +154,14 @@ public class AsyncCreateOrderHandlerTest extends CommandHandlerTest {
                         aItemSku,
                         aItemUnitPrice
                 )));
-        doNothing().when(eventStore).save(Mockito.any());
+        doNothing().when(eventStore).save(Mockito.any(), Mockito.anyCollection());
 
         Assertions.assertDoesNotThrow(() -> this.asyncCreateOrderHandler.handle(aCommand));
 
         Mockito.verify(couponGateway, Mockito.times(0)).applyCoupon(Mockito.anyString());
         Mockito.verify(customerGateway, Mockito.times(1)).getCustomerDetails(aCustomerId);
         Mockito.verify(productGateway, Mockito.times(1)).getProductsDetailsBySkus(List.of(aItemSku));
-        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any(), Mockito.anyCollection());
     }
 
     @Test
@@ -221,7 +221,7 @@ public class AsyncCreateOrderHandlerTest extends CommandHandlerTest {
         Mockito.verify(couponGateway, Mockito.times(0)).applyCoupon(Mockito.anyString());
         Mockito.verify(customerGateway, Mockito.times(1)).getCustomerDetails(aCustomerId);
         Mockito.verify(productGateway, Mockito.times(1)).getProductsDetailsBySkus(Mockito.anyList());
-        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any(), Mockito.anyCollection());
     }
 
     @Test
@@ -290,6 +290,6 @@ public class AsyncCreateOrderHandlerTest extends CommandHandlerTest {
         Mockito.verify(couponGateway, Mockito.times(0)).applyCoupon(Mockito.anyString());
         Mockito.verify(customerGateway, Mockito.times(1)).getCustomerDetails(aCustomerId);
         Mockito.verify(productGateway, Mockito.times(1)).getProductsDetailsBySkus(Mockito.anyList());
-        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any(), Mockito.anyCollection());
     }
 }
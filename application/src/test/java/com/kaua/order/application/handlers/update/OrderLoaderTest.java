@@ -0,0 +1,148 @@
+package com.kaua.order.application.handlers.update;
+
+import com.kaua.order.application.EventHandlerTest;
+import com.kaua.order.application.repositories.EventStore;
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.exceptions.NotFoundException;
+import com.kaua.order.domain.order.Order;
+import com.kaua.order.domain.order.OrderItem;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.OrderShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public class OrderLoaderTest extends EventHandlerTest {
+
+    @Mock
+    private EventStore eventStore;
+
+    @InjectMocks
+    private OrderLoader orderLoader;
+
+    @Test
+    void givenAnAggregateWithSnapshot_whenCallLoad_thenShouldReconstructFromSnapshotAndNewerEvents() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+        final var aSnapshot = aOrder.snapshot();
+
+        final var aEvents = new ArrayList<DomainEvent>();
+        aEvents.add(OrderShippingCostCalculatedEvent.from(
+                aOrderId,
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("12.00"),
+                aOrder.getShippingAddress(),
+                aOrder.getPaymentDetails(),
+                OrderShippingDetails.create("Correios", "SEDEX", new BigDecimal("2.00")),
+                1,
+                "2",
+                IdUtils.generateIdWithoutHyphen()
+        ));
+
+        Mockito.when(eventStore.loadSnapshot(aOrderId)).thenReturn(Optional.of(aSnapshot));
+        Mockito.when(eventStore.foldEvents(
+                        Mockito.eq(aOrderId), Mockito.eq(aSnapshot.aggregateVersion()), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    final BiFunction<Object, DomainEvent, Object> aAccumulator = invocation.getArgument(3);
+                    Object aResult = invocation.getArgument(2);
+                    for (final var aAggregateEvent : aEvents) {
+                        aResult = aAccumulator.apply(aResult, aAggregateEvent);
+                    }
+                    return aResult;
+                });
+
+        final var aLoadedOrder = this.orderLoader.load(aOrderId);
+
+        Assertions.assertEquals(1, aLoadedOrder.getVersion());
+        Assertions.assertEquals(OrderStatus.SHIPPING_CALCULATED, aLoadedOrder.getStatus());
+        Assertions.assertEquals(new BigDecimal("12.00"), aLoadedOrder.getTotalAmount());
+
+        Mockito.verify(eventStore, Mockito.never()).loadEvents(aOrderId);
+    }
+
+    @Test
+    void givenAnAggregateWithoutSnapshot_whenCallLoad_thenShouldFoldFromFirstEvent() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+        final var aCreationEvent = aOrder.getDomainEvents().get(0);
+
+        Mockito.when(eventStore.loadSnapshot(aOrderId)).thenReturn(Optional.empty());
+        Mockito.when(eventStore.foldEvents(Mockito.eq(aOrderId), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    final BiFunction<Object, DomainEvent, Object> aAccumulator = invocation.getArgument(3);
+                    return aAccumulator.apply(invocation.getArgument(2), aCreationEvent);
+                });
+
+        final var aLoadedOrder = this.orderLoader.load(aOrderId);
+
+        Assertions.assertEquals(aOrder.getId(), aLoadedOrder.getId());
+        Assertions.assertEquals(0, aLoadedOrder.getVersion());
+        Assertions.assertEquals(OrderStatus.CREATION_INITIATED, aLoadedOrder.getStatus());
+        Assertions.assertTrue(aLoadedOrder.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void givenACachedSnapshotAtExpectedVersion_whenCallLoad_thenShouldNotReadEventStore() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+
+        Mockito.when(eventStore.loadCachedSnapshot(aOrderId, 0)).thenReturn(Optional.of(aOrder.snapshot()));
+
+        final var aLoadedOrder = this.orderLoader.load(aOrderId, 0);
+
+        Assertions.assertEquals(aOrder.getId(), aLoadedOrder.getId());
+        Assertions.assertEquals(aOrder.getVersion(), aLoadedOrder.getVersion());
+        Assertions.assertEquals(aOrder.getStatus(), aLoadedOrder.getStatus());
+
+        Mockito.verify(eventStore, Mockito.never()).loadSnapshot(Mockito.any());
+        Mockito.verify(eventStore, Mockito.never()).foldEvents(Mockito.any(), Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void givenAnAggregateWithoutSnapshotAndEvents_whenCallLoad_thenShouldThrowNotFound() {
+        Mockito.when(eventStore.loadSnapshot("1")).thenReturn(Optional.empty());
+        Mockito.when(eventStore.foldEvents(Mockito.eq("1"), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenReturn(null);
+
+        final var aException = Assertions.assertThrows(NotFoundException.class,
+                () -> this.orderLoader.load("1"));
+
+        Assertions.assertEquals("Order with id 1 was not found", aException.getMessage());
+    }
+}
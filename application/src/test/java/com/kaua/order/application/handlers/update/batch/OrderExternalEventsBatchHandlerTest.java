@@ -0,0 +1,135 @@
+package com.kaua.order.application.handlers.update.batch;
+
+import com.kaua.order.application.EventHandlerTest;
+import com.kaua.order.application.repositories.EventStore;
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.order.Order;
+import com.kaua.order.domain.order.OrderItem;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.OrderCreationInitiatedEvent;
+import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
+import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public class OrderExternalEventsBatchHandlerTest extends EventHandlerTest {
+
+    @Mock
+    private EventStore eventStore;
+
+    @InjectMocks
+    private OrderExternalEventsBatchHandler orderExternalEventsBatchHandler;
+
+    @Test
+    void givenUnorderedEventsOfOneOrder_whenCallHandle_thenShouldLoadOnceApplyInVersionOrderAndSaveOnce() {
+        final var aOrderCreation = OrderCreationInitiatedEvent.from(
+                "1",
+                OrderStatus.CREATION_INITIATED.name(),
+                "2",
+                BigDecimal.TEN,
+                Set.of(OrderItem.create(
+                        "12345-sku",
+                        1,
+                        BigDecimal.TEN
+                )),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                0,
+                "2",
+                IdUtils.generateIdWithoutHyphen()
+        );
+
+        final var aShippingCostCalculated = ShippingCostCalculatedEvent.from(
+                aOrderCreation.aggregateId(),
+                aOrderCreation.orderStatus(),
+                BigDecimal.TEN,
+                aOrderCreation.shippingAddress(),
+                OrderShippingDetails.create("Correios", "SEDEX", new BigDecimal("2.00")),
+                0,
+                aOrderCreation.customerId(),
+                aOrderCreation.traceId()
+        );
+
+        final var aPaymentTaxCalculated = PaymentTaxCalculatedEvent.from(
+                aOrderCreation.aggregateId(),
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("12.00"),
+                OrderPaymentDetails.create("1", 1, new BigDecimal("3.00")),
+                1,
+                aOrderCreation.customerId(),
+                aOrderCreation.traceId()
+        );
+
+        Mockito.when(eventStore.foldEvents(
+                        Mockito.eq(aOrderCreation.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    final BiFunction<Object, DomainEvent, Object> aAccumulator = invocation.getArgument(3);
+                    return aAccumulator.apply(invocation.getArgument(2), aOrderCreation);
+                });
+        Mockito.doNothing().when(eventStore).save(Mockito.any(), Mockito.anyCollection());
+
+        Assertions.assertDoesNotThrow(() -> this.orderExternalEventsBatchHandler
+                .handle(aOrderCreation.aggregateId(), List.of(aPaymentTaxCalculated, aShippingCostCalculated)));
+
+        final var aOrderCaptor = ArgumentCaptor.forClass(Order.class);
+        Mockito.verify(eventStore, Mockito.times(1)).foldEvents(
+                Mockito.eq(aOrderCreation.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).save(aOrderCaptor.capture(), Mockito.anyCollection());
+
+        final var aOrder = aOrderCaptor.getValue();
+        Assertions.assertEquals(OrderStatus.PAYMENT_TAX_CALCULATED, aOrder.getStatus());
+        Assertions.assertEquals(2, aOrder.getVersion());
+        Assertions.assertEquals(new BigDecimal("15.00"), aOrder.getTotalAmount());
+        Assertions.assertEquals(2, aOrder.getDomainEvents().size());
+    }
+
+    @Test
+    void givenAnEventOfAnotherOrder_whenCallHandle_thenShouldNotSave() {
+        final var aEvent = PaymentTaxCalculatedEvent.from(
+                "2",
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("12.00"),
+                OrderPaymentDetails.create("2", 1, new BigDecimal("3.00")),
+                1,
+                "123",
+                "1012323"
+        );
+
+        Mockito.when(eventStore.foldEvents(
+                        Mockito.eq("1"), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenAnswer(invocation -> Order.replay(null, OrderCreationInitiatedEvent.from(
+                        "1",
+                        OrderStatus.CREATION_INITIATED.name(),
+                        "2",
+                        BigDecimal.TEN,
+                        Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                        Fixture.address(null),
+                        null,
+                        OrderPaymentDetails.create("1", 1),
+                        OrderShippingDetails.create("Correios", "SEDEX"),
+                        0,
+                        "2",
+                        IdUtils.generateIdWithoutHyphen()
+                )));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> this.orderExternalEventsBatchHandler.handle("1", List.of(aEvent)));
+
+        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any(), Mockito.anyCollection());
+    }
+}
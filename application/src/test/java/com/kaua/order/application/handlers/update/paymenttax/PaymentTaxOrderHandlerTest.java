@@ -21,8 +21,8 @@ import org.mockito.Mockito;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 public class PaymentTaxOrderHandlerTest extends EventHandlerTest {
 
@@ -87,14 +87,23 @@ public class PaymentTaxOrderHandlerTest extends EventHandlerTest {
         aEvents.add(aOrderCreation);
         aEvents.add(aOrderShippingCostCalculated);
 
-        Mockito.when(eventStore.loadEvents(aEvent.aggregateId()))
-                .thenReturn(aEvents);
-        Mockito.doNothing().when(eventStore).save(Mockito.any());
+        Mockito.when(eventStore.foldEvents(
+                        Mockito.eq(aEvent.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    final BiFunction<Object, DomainEvent, Object> aAccumulator = invocation.getArgument(3);
+                    Object aResult = invocation.getArgument(2);
+                    for (final var aAggregateEvent : aEvents) {
+                        aResult = aAccumulator.apply(aResult, aAggregateEvent);
+                    }
+                    return aResult;
+                });
+        Mockito.doNothing().when(eventStore).save(Mockito.any(), Mockito.anyCollection());
 
         Assertions.assertDoesNotThrow(() -> this.paymentTaxOrderHandler.handle(aEvent));
 
-        Mockito.verify(eventStore, Mockito.times(1)).loadEvents(aEvent.aggregateId());
-        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).foldEvents(
+                Mockito.eq(aEvent.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any(), Mockito.anyCollection());
     }
 
     @Test
@@ -113,15 +122,17 @@ public class PaymentTaxOrderHandlerTest extends EventHandlerTest {
                 "1012323"
         );
 
-        Mockito.when(eventStore.loadEvents(aEvent.aggregateId()))
-                .thenReturn(List.of());
+        Mockito.when(eventStore.foldEvents(
+                        Mockito.eq(aEvent.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any()))
+                .thenReturn(null);
 
         final var aException = Assertions.assertThrows(NotFoundException.class,
                 () -> this.paymentTaxOrderHandler.handle(aEvent));
 
         Assertions.assertEquals("Order with id 1 was not found", aException.getMessage());
 
-        Mockito.verify(eventStore, Mockito.times(1)).loadEvents(aEvent.aggregateId());
-        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(1)).foldEvents(
+                Mockito.eq(aEvent.aggregateId()), Mockito.eq(-1L), Mockito.isNull(), Mockito.any());
+        Mockito.verify(eventStore, Mockito.times(0)).save(Mockito.any(), Mockito.anyCollection());
     }
 }
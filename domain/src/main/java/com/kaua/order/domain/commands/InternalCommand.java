@@ -13,4 +13,9 @@ public interface InternalCommand {
     String who();
 
     String traceId();
+
+    // record key of the command, commands with the same key are consumed in order
+    default String routingKey() {
+        return commandId();
+    }
 }
@@ -10,11 +10,13 @@ import com.kaua.order.domain.order.events.OrderShippingCostCalculatedEvent;
 import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
 import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
 import com.kaua.order.domain.order.identifiers.OrderId;
+import com.kaua.order.domain.order.snapshots.OrderSnapshot;
 import com.kaua.order.domain.order.validation.OrderValidation;
 import com.kaua.order.domain.order.valueobjects.OrderAddress;
 import com.kaua.order.domain.order.valueobjects.OrderCoupon;
 import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
 import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.snapshots.Snapshotable;
 import com.kaua.order.domain.validation.Error;
 import com.kaua.order.domain.validation.ValidationHandler;
 import com.kaua.order.domain.validation.handler.NotificationHandler;
@@ -24,7 +26,7 @@ import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.*;
 
-public class Order extends AggregateRoot<OrderId> {
+public class Order extends AggregateRoot<OrderId> implements Snapshotable<OrderSnapshot> {
 
     private OrderStatus status;
     private String customerId;
@@ -122,6 +124,40 @@ public class Order extends AggregateRoot<OrderId> {
         return aOrder;
     }
 
+    public static Order reconstruct(final OrderSnapshot aSnapshot, final List<DomainEvent> aEvents) {
+        if (aSnapshot == null) {
+            throw DomainException.with(new Error("cannot reconstruct order without snapshot"));
+        }
+
+        final var aOrder = new Order(
+                OrderId.from(aSnapshot.aggregateId()),
+                aSnapshot.aggregateVersion(),
+                OrderStatus.of(aSnapshot.orderStatus()).orElse(null),
+                aSnapshot.customerId(),
+                aSnapshot.items() == null ? null : new HashSet<>(aSnapshot.items()),
+                aSnapshot.shippingAddress(),
+                aSnapshot.totalAmount(),
+                aSnapshot.coupon(),
+                aSnapshot.paymentDetails(),
+                aSnapshot.shippingDetails(),
+                aSnapshot.deliveredAt()
+        );
+
+        if (aEvents != null && !aEvents.isEmpty()) {
+            aEvents.sort(Comparator.comparing(DomainEvent::aggregateVersion));
+            aEvents.forEach(aOrder::apply);
+        }
+        return aOrder;
+    }
+
+    public static Order replay(final Order aOrder, final DomainEvent aEvent) {
+        final var aCurrentOrder = aOrder == null
+                ? new Order(OrderId.from(aEvent.aggregateId()), aEvent.aggregateVersion())
+                : aOrder;
+        aCurrentOrder.apply(aEvent);
+        return aCurrentOrder;
+    }
+
     public void handle(final ShippingCostCalculatedEvent aEvent) {
         this.setVersion(aEvent.aggregateVersion());
         this.status = OrderStatus.SHIPPING_CALCULATED;
@@ -160,6 +196,15 @@ public class Order extends AggregateRoot<OrderId> {
         selfValidate();
     }
 
+    // external events read without their concrete type, like on the batch consumer, are handled by their type
+    public void handle(final DomainEvent aEvent) {
+        switch (aEvent.eventType()) {
+            case ShippingCostCalculatedEvent.EVENT_TYPE -> handle((ShippingCostCalculatedEvent) aEvent);
+            case PaymentTaxCalculatedEvent.EVENT_TYPE -> handle((PaymentTaxCalculatedEvent) aEvent);
+            default -> throw new UnknownEventReceivedException(aEvent.eventType());
+        }
+    }
+
     public void on(final OrderCreationInitiatedEvent aEvent) {
         this.setVersion(aEvent.aggregateVersion());
         this.status = OrderStatus.of(aEvent.orderStatus()).orElse(null);
@@ -211,6 +256,28 @@ public class Order extends AggregateRoot<OrderId> {
         this.totalAmount = this.totalAmount.setScale(2, RoundingMode.HALF_UP);
     }
 
+    @Override
+    public OrderSnapshot snapshot() {
+        return OrderSnapshot.from(
+                getId().getValue(),
+                getVersion(),
+                getStatus().name(),
+                getCustomerId(),
+                getTotalAmount(),
+                Set.copyOf(this.items),
+                getShippingAddress(),
+                getCoupon().orElse(null),
+                getPaymentDetails(),
+                getShippingDetails(),
+                getDeliveredAt().orElse(null)
+        );
+    }
+
+    @Override
+    public boolean isTerminal() {
+        return this.status != null && this.status.isTerminal();
+    }
+
     @Override
     public void validate(ValidationHandler aHandler) {
         new OrderValidation(this, aHandler).validate();
@@ -26,6 +26,10 @@ public enum OrderStatus {
     RETURN_REQUESTED,
     RETURNED;
 
+    public boolean isTerminal() {
+        return this == CANCELED || this == REFUNDED || this == RETURNED;
+    }
+
     public static Optional<OrderStatus> of(final String aStatus) {
         return Arrays.stream(values())
                 .filter(status -> status.name().equalsIgnoreCase(aStatus))
@@ -58,7 +58,7 @@ public record OrderCreationInitiatedEvent(
                 coupon,
                 paymentDetails,
                 shippingDetails,
-                IdUtils.generateIdWithoutHyphen(),
+                IdUtils.generateTimeOrderedIdWithoutHyphen(),
                 EVENT_TYPE,
                 OrderCreationInitiatedEvent.class.getName(),
                 InstantUtils.now(),
@@ -38,7 +38,7 @@ public record OrderPaymentTaxCalculatedEvent(
                 orderStatus,
                 totalAmount,
                 paymentDetails,
-                IdUtils.generateIdWithoutHyphen(),
+                IdUtils.generateTimeOrderedIdWithoutHyphen(),
                 EVENT_TYPE,
                 OrderPaymentTaxCalculatedEvent.class.getName(),
                 InstantUtils.now(),
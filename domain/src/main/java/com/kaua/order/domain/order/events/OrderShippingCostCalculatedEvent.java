@@ -46,7 +46,7 @@ public record OrderShippingCostCalculatedEvent(
                 shippingAddress,
                 paymentDetails,
                 shippingDetails,
-                IdUtils.generateIdWithoutHyphen(),
+                IdUtils.generateTimeOrderedIdWithoutHyphen(),
                 EVENT_TYPE,
                 OrderShippingCostCalculatedEvent.class.getName(),
                 InstantUtils.now(),
@@ -38,7 +38,7 @@ public record PaymentTaxCalculatedEvent(
                 orderStatus,
                 totalAmount,
                 paymentDetails,
-                IdUtils.generateIdWithoutHyphen(),
+                IdUtils.generateTimeOrderedIdWithoutHyphen(),
                 EVENT_TYPE,
                 PaymentTaxCalculatedEvent.class.getName(),
                 InstantUtils.now(),
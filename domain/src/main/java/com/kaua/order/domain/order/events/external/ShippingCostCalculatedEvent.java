@@ -42,7 +42,7 @@ public record ShippingCostCalculatedEvent(
                 totalAmount,
                 shippingAddress,
                 shippingDetails,
-                IdUtils.generateIdWithoutHyphen(),
+                IdUtils.generateTimeOrderedIdWithoutHyphen(),
                 EVENT_TYPE,
                 ShippingCostCalculatedEvent.class.getName(),
                 InstantUtils.now(),
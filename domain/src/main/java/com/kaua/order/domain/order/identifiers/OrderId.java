@@ -18,7 +18,7 @@ public class OrderId extends Identifier {
     }
 
     public static OrderId generate() {
-        return new OrderId(IdUtils.generateIdWithoutHyphen());
+        return new OrderId(IdUtils.generateTimeOrderedIdWithoutHyphen());
     }
 
     @Override
@@ -0,0 +1,64 @@
+package com.kaua.order.domain.order.snapshots;
+
+import com.kaua.order.domain.order.OrderItem;
+import com.kaua.order.domain.order.valueobjects.OrderAddress;
+import com.kaua.order.domain.order.valueobjects.OrderCoupon;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
+import com.kaua.order.domain.utils.InstantUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+
+public record OrderSnapshot(
+        String aggregateId,
+        long aggregateVersion,
+        String orderStatus,
+        String customerId,
+        BigDecimal totalAmount,
+        Set<OrderItem> items,
+        OrderAddress shippingAddress,
+        OrderCoupon coupon,
+        OrderPaymentDetails paymentDetails,
+        OrderShippingDetails shippingDetails,
+        Instant deliveredAt,
+        String snapshotType,
+        String snapshotClassName,
+        Instant createdAt
+) implements AggregateSnapshot {
+
+    public static final String SNAPSHOT_TYPE = "OrderSnapshot";
+
+    public static OrderSnapshot from(
+            final String orderId,
+            final long aggregateVersion,
+            final String orderStatus,
+            final String customerId,
+            final BigDecimal totalAmount,
+            final Set<OrderItem> items,
+            final OrderAddress shippingAddress,
+            final OrderCoupon coupon,
+            final OrderPaymentDetails paymentDetails,
+            final OrderShippingDetails shippingDetails,
+            final Instant deliveredAt
+    ) {
+        return new OrderSnapshot(
+                orderId,
+                aggregateVersion,
+                orderStatus,
+                customerId,
+                totalAmount,
+                items,
+                shippingAddress,
+                coupon,
+                paymentDetails,
+                shippingDetails,
+                deliveredAt,
+                SNAPSHOT_TYPE,
+                OrderSnapshot.class.getName(),
+                InstantUtils.now()
+        );
+    }
+}
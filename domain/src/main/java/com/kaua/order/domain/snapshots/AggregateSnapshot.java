@@ -0,0 +1,17 @@
+package com.kaua.order.domain.snapshots;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public interface AggregateSnapshot extends Serializable {
+
+    String aggregateId();
+
+    long aggregateVersion();
+
+    String snapshotType();
+
+    String snapshotClassName();
+
+    Instant createdAt();
+}
@@ -0,0 +1,8 @@
+package com.kaua.order.domain.snapshots;
+
+public interface Snapshotable<S extends AggregateSnapshot> {
+
+    S snapshot();
+
+    boolean isTerminal();
+}
@@ -1,9 +1,15 @@
 package com.kaua.order.domain.utils;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 public final class IdUtils {
 
+    private static final long MAX_SEQUENCE = 0xFFFL;
+
+    private static long lastTimestamp = -1L;
+    private static long sequence = 0L;
+
     private IdUtils() {}
 
     private static UUID generate() {
@@ -17,4 +23,39 @@ public final class IdUtils {
     public static String generateIdWithoutHyphen() {
         return generate().toString().replace("-", "");
     }
+
+    public static String generateTimeOrderedIdWithHyphen() {
+        return generateTimeOrdered().toString();
+    }
+
+    public static String generateTimeOrderedIdWithoutHyphen() {
+        return generateTimeOrdered().toString().replace("-", "");
+    }
+
+    // UUIDv7 (RFC 9562): 48 bits of unix millis, 12 bits of per-millisecond sequence and 62 random bits
+    private static UUID generateTimeOrdered() {
+        final long aTimestamp;
+        final long aSequence;
+
+        synchronized (IdUtils.class) {
+            final var aNow = System.currentTimeMillis();
+
+            if (aNow > lastTimestamp) {
+                lastTimestamp = aNow;
+                sequence = 0L;
+            } else if (++sequence > MAX_SEQUENCE) {
+                lastTimestamp++;
+                sequence = 0L;
+            }
+
+            aTimestamp = lastTimestamp;
+            aSequence = sequence;
+        }
+
+        final var aMostSignificantBits = (aTimestamp << 16) | 0x7000L | aSequence;
+        final var aLeastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;
+
+        return new UUID(aMostSignificantBits, aLeastSignificantBits);
+    }
 }
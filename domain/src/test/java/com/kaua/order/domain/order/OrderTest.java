@@ -10,6 +10,7 @@ import com.kaua.order.domain.order.events.OrderShippingCostCalculatedEvent;
 import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
 import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
 import com.kaua.order.domain.order.identifiers.OrderId;
+import com.kaua.order.domain.order.snapshots.OrderSnapshot;
 import com.kaua.order.domain.order.valueobjects.OrderAddress;
 import com.kaua.order.domain.order.valueobjects.OrderCoupon;
 import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
@@ -220,6 +221,34 @@ public class OrderTest extends UnitTest {
         Assertions.assertEquals(aExpectedErrorMessage, aException.getMessage());
     }
 
+    @Test
+    void givenAnNotExpectedExternalEvent_whenCallHandle_thenThrowUnknownEventReceivedException() {
+        final var aOrderId = IdUtils.generateIdWithoutHyphen();
+        final var aEvents = new ArrayList<DomainEvent>();
+        aEvents.add(OrderCreationInitiatedEvent.from(
+                aOrderId,
+                OrderStatus.CREATION_INITIATED.name(),
+                "123",
+                new BigDecimal("20.00"),
+                Set.of(OrderItem.create("sku", 2, BigDecimal.TEN)),
+                OrderAddress.create("street", "number", "complement", "city", "state", "zipCode"),
+                null,
+                OrderPaymentDetails.create("paymentMethodId", 1),
+                OrderShippingDetails.create("shippingCompany", "shippingType"),
+                0,
+                "123",
+                IdUtils.generateIdWithHyphen()
+        ));
+        final var aOrder = Order.reconstruct(aEvents);
+        final DomainEvent aEvent = new SampleEntityEvent(aOrderId);
+
+        final var aException = Assertions.assertThrows(UnknownEventReceivedException.class,
+                () -> aOrder.handle(aEvent));
+
+        Assertions.assertEquals("unknown event SampleEntityEvent received and cannot be processed", aException.getMessage());
+        Assertions.assertTrue(aOrder.getDomainEvents().isEmpty());
+    }
+
     @Test
     void givenAnNullEventsList_whenCallReconstruct_thenThrowsException() {
         final var aExpectedErrorMessage = "cannot reconstruct order without events";
@@ -628,4 +657,114 @@ public class OrderTest extends UnitTest {
                     IdUtils.generateIdWithoutHyphen());
         }
     }
+    @Test
+    void givenAValidOrder_whenCallSnapshot_thenReturnSnapshotWithCurrentState() {
+        final var aOrder = Order.newOrder(
+                "123",
+                Set.of(OrderItem.create("sku", 2, BigDecimal.TEN)),
+                OrderAddress.create("street", "number", "complement", "city", "state", "zipCode"),
+                null,
+                OrderPaymentDetails.create("paymentMethodId", 1),
+                OrderShippingDetails.create("shippingCompany", "shippingType"),
+                IdUtils.generateIdWithHyphen()
+        );
+
+        final var aSnapshot = aOrder.snapshot();
+
+        Assertions.assertEquals(aOrder.getId().getValue(), aSnapshot.aggregateId());
+        Assertions.assertEquals(aOrder.getVersion(), aSnapshot.aggregateVersion());
+        Assertions.assertEquals(aOrder.getStatus().name(), aSnapshot.orderStatus());
+        Assertions.assertEquals(aOrder.getCustomerId(), aSnapshot.customerId());
+        Assertions.assertEquals(aOrder.getTotalAmount(), aSnapshot.totalAmount());
+        Assertions.assertEquals(aOrder.getItems(), aSnapshot.items());
+        Assertions.assertEquals(OrderSnapshot.SNAPSHOT_TYPE, aSnapshot.snapshotType());
+        Assertions.assertEquals(OrderSnapshot.class.getName(), aSnapshot.snapshotClassName());
+        Assertions.assertNotNull(aSnapshot.createdAt());
+        Assertions.assertFalse(aOrder.isTerminal());
+    }
+
+    @Test
+    void givenAValidSnapshotAndNewerEvents_whenCallReconstruct_thenOrderIsReconstructedFromSnapshot() {
+        final var aOrder = Order.newOrder(
+                "123",
+                Set.of(OrderItem.create("sku", 2, BigDecimal.TEN)),
+                OrderAddress.create("street", "number", "complement", "city", "state", "zipCode"),
+                null,
+                OrderPaymentDetails.create("paymentMethodId", 1),
+                OrderShippingDetails.create("shippingCompany", "shippingType"),
+                IdUtils.generateIdWithHyphen()
+        );
+        final var aSnapshot = aOrder.snapshot();
+
+        final var aOrderShippingCostCalculatedEvent = OrderShippingCostCalculatedEvent.from(
+                aOrder.getId().getValue(),
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("22.00"),
+                aOrder.getShippingAddress(),
+                aOrder.getPaymentDetails(),
+                OrderShippingDetails.create("shippingCompany", "shippingType", new BigDecimal("2.00")),
+                1,
+                "123",
+                IdUtils.generateIdWithHyphen()
+        );
+        final var aEvents = new ArrayList<DomainEvent>();
+        aEvents.add(aOrderShippingCostCalculatedEvent);
+
+        final var aReconstructedOrder = Order.reconstruct(aSnapshot, aEvents);
+
+        Assertions.assertEquals(aOrder.getId(), aReconstructedOrder.getId());
+        Assertions.assertEquals(1, aReconstructedOrder.getVersion());
+        Assertions.assertEquals(OrderStatus.SHIPPING_CALCULATED, aReconstructedOrder.getStatus());
+        Assertions.assertEquals(new BigDecimal("22.00"), aReconstructedOrder.getTotalAmount());
+        Assertions.assertEquals(aOrder.getItems(), aReconstructedOrder.getItems());
+        Assertions.assertEquals(aOrder.getCustomerId(), aReconstructedOrder.getCustomerId());
+        Assertions.assertTrue(aReconstructedOrder.getDomainEvents().isEmpty());
+    }
+
+    @Test
+    void givenAnNullSnapshot_whenCallReconstruct_thenThrowsException() {
+        final var aEvents = new ArrayList<DomainEvent>();
+
+        final var aException = Assertions.assertThrows(DomainException.class,
+                () -> Order.reconstruct(null, aEvents));
+
+        Assertions.assertEquals("cannot reconstruct order without snapshot", aException.getErrors().get(0).message());
+    }
+    @Test
+    void givenOrderedEvents_whenCallReplay_thenOrderIsBuiltIncrementally() {
+        final var aOrder = Order.newOrder(
+                "123",
+                Set.of(OrderItem.create("sku", 2, BigDecimal.TEN)),
+                OrderAddress.create("street", "number", "complement", "city", "state", "zipCode"),
+                null,
+                OrderPaymentDetails.create("paymentMethodId", 1),
+                OrderShippingDetails.create("shippingCompany", "shippingType"),
+                IdUtils.generateIdWithHyphen()
+        );
+        final var aOrderShippingCostCalculatedEvent = OrderShippingCostCalculatedEvent.from(
+                aOrder.getId().getValue(),
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("22.00"),
+                aOrder.getShippingAddress(),
+                aOrder.getPaymentDetails(),
+                OrderShippingDetails.create("shippingCompany", "shippingType", new BigDecimal("2.00")),
+                1,
+                "123",
+                IdUtils.generateIdWithHyphen()
+        );
+
+        final var aFirstReplay = Order.replay(null, aOrder.getDomainEvents().get(0));
+
+        Assertions.assertEquals(aOrder.getId(), aFirstReplay.getId());
+        Assertions.assertEquals(0, aFirstReplay.getVersion());
+        Assertions.assertEquals(OrderStatus.CREATION_INITIATED, aFirstReplay.getStatus());
+
+        final var aSecondReplay = Order.replay(aFirstReplay, aOrderShippingCostCalculatedEvent);
+
+        Assertions.assertSame(aFirstReplay, aSecondReplay);
+        Assertions.assertEquals(1, aSecondReplay.getVersion());
+        Assertions.assertEquals(OrderStatus.SHIPPING_CALCULATED, aSecondReplay.getStatus());
+        Assertions.assertEquals(new BigDecimal("22.00"), aSecondReplay.getTotalAmount());
+        Assertions.assertTrue(aSecondReplay.getDomainEvents().isEmpty());
+    }
 }
@@ -4,6 +4,9 @@ import com.kaua.order.domain.UnitTest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.UUID;
+
 public class IdUtilsTest extends UnitTest {
 
     @Test
@@ -22,4 +25,34 @@ public class IdUtilsTest extends UnitTest {
         Assertions.assertNotNull(id);
         Assertions.assertTrue(id.matches("[a-z0-9]{32}"));
     }
+
+    @Test
+    void testCallIdUtilsGenerateTimeOrderedIdWithHyphen() {
+        final var id = IdUtils.generateTimeOrderedIdWithHyphen();
+
+        Assertions.assertNotNull(id);
+        Assertions.assertTrue(
+                id.matches("[a-f0-9]{8}-[a-f0-9]{4}-7[a-f0-9]{3}-[89ab][a-f0-9]{3}-[a-f0-9]{12}"));
+        Assertions.assertEquals(7, UUID.fromString(id).version());
+    }
+
+    @Test
+    void testCallIdUtilsGenerateTimeOrderedIdWithoutHyphen() {
+        final var id = IdUtils.generateTimeOrderedIdWithoutHyphen();
+
+        Assertions.assertNotNull(id);
+        Assertions.assertTrue(id.matches("[a-f0-9]{12}7[a-f0-9]{3}[89ab][a-f0-9]{15}"));
+    }
+
+    @Test
+    void testCallIdUtilsGenerateTimeOrderedIdManyTimes_shouldBeStrictlyIncreasing() {
+        final var ids = new ArrayList<String>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(IdUtils.generateTimeOrderedIdWithoutHyphen());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            Assertions.assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.kaua.order.infrastructure.api;
 
+import com.kaua.order.infrastructure.models.OrderAcceptedResponse;
+import com.kaua.order.infrastructure.models.OrderCommandStatusResponse;
 import com.kaua.order.infrastructure.models.OrderCreateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -7,10 +9,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Order API", description = "Order API for managing orders")
 @RequestMapping(value = "v1/orders")
 public interface OrderAPI {
@@ -19,11 +25,24 @@ public interface OrderAPI {
             produces = MediaType.APPLICATION_JSON_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE
     )
-    @Operation(summary = "Create a new order")
+    @Operation(summary = "Accept a new order, the order is created asynchronously")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "202", description = "Order accepted, Location points to the command status"),
             @ApiResponse(responseCode = "422", description = "Invalid order data"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Order command could not be dispatched")
+    })
+    CompletableFuture<ResponseEntity<OrderAcceptedResponse>> createOrder(@RequestBody OrderCreateRequest orderCreateRequest);
+
+    @GetMapping(
+            value = "commands/{commandId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Get the processing status of an order command")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Command status, PENDING until the order is created, FAILED once the command reached a DLT or was parked"),
+            @ApiResponse(responseCode = "404", description = "Command never accepted or already purged"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    ResponseEntity<?> createOrder(@RequestBody OrderCreateRequest orderCreateRequest);
+    ResponseEntity<OrderCommandStatusResponse> getCommandStatus(@PathVariable("commandId") String commandId);
 }
@@ -1,6 +1,8 @@
 package com.kaua.order.infrastructure.api.controllers;
 
 import com.kaua.order.domain.exceptions.DomainException;
+import com.kaua.order.infrastructure.exceptions.CommandBusException;
+import com.kaua.order.infrastructure.exceptions.EventStoreConcurrencyException;
 import com.kaua.order.infrastructure.exceptions.EventStoreException;
 import com.kaua.order.infrastructure.utils.ApiError;
 import org.slf4j.Logger;
@@ -20,12 +22,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ApiError.from(ex));
     }
 
+    @ExceptionHandler(EventStoreConcurrencyException.class)
+    public ResponseEntity<ApiError> handleEventStoreConcurrencyException(final EventStoreConcurrencyException ex) {
+        log.warn("Concurrency conflict in event store: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiError.from(ex.getMessage()));
+    }
+
     @ExceptionHandler(EventStoreException.class)
     public ResponseEntity<ApiError> handleEventStoreException(final EventStoreException ex) {
         log.error("Internal server error, in event store", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiError.from("Internal server error"));
     }
 
+    @ExceptionHandler(CommandBusException.class)
+    public ResponseEntity<ApiError> handleCommandBusException(final CommandBusException ex) {
+        log.warn("Command could not be dispatched: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiError.from("Service unavailable"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleException(final Exception ex) {
         log.error("Internal server error", ex);
@@ -5,6 +5,10 @@ import com.kaua.order.application.handlers.commands.CreateOrderItemCommand;
 import com.kaua.order.domain.utils.IdUtils;
 import com.kaua.order.infrastructure.api.OrderAPI;
 import com.kaua.order.infrastructure.commands.CommandBus;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
+import com.kaua.order.infrastructure.models.OrderAcceptedResponse;
+import com.kaua.order.infrastructure.models.OrderCommandStatusResponse;
 import com.kaua.order.infrastructure.models.OrderCreateRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,8 +16,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,13 +31,21 @@ public class OrderController implements OrderAPI {
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
     private final CommandBus commandBus;
+    private final InboxJdbcRepository inboxJdbcRepository;
+    private final CommandStatusJdbcRepository commandStatusJdbcRepository;
 
-    public OrderController(final CommandBus commandBus) {
+    public OrderController(
+            final CommandBus commandBus,
+            final InboxJdbcRepository inboxJdbcRepository,
+            final CommandStatusJdbcRepository commandStatusJdbcRepository
+    ) {
         this.commandBus = Objects.requireNonNull(commandBus);
+        this.inboxJdbcRepository = Objects.requireNonNull(inboxJdbcRepository);
+        this.commandStatusJdbcRepository = Objects.requireNonNull(commandStatusJdbcRepository);
     }
 
     @Override
-    public ResponseEntity<?> createOrder(OrderCreateRequest orderCreateRequest) {
+    public CompletableFuture<ResponseEntity<OrderAcceptedResponse>> createOrder(OrderCreateRequest orderCreateRequest) {
         log.debug("Received a request to create an order: {}", orderCreateRequest);
         final var aCommandItems = orderCreateRequest.items()
                 .stream().map(it -> CreateOrderItemCommand.with(it.sku(), it.quantity()))
@@ -49,11 +63,38 @@ public class OrderController implements OrderAPI {
                 IdUtils.generateIdWithoutHyphen() // in future use x-idempotency-key or x-request-id
         );
 
-        this.commandBus.dispatch(aCommand, PLACE_ORDER_COMMAND_TOPIC);
+        // built on the request thread, the dispatch completes on a producer thread without the request context
+        final var aStatusLocation = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/v1/orders/commands/{commandId}")
+                .buildAndExpand(aCommand.commandId())
+                .toUri();
 
-        log.info("Order command dispatched: {}", aCommand);
+        // recorded before the dispatch, a fast consumer may process the command before the broker acknowledges it
+        this.commandStatusJdbcRepository.accepted(aCommand.commandId());
 
-        // and check to return body or no body
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        // the request thread is released while the broker acknowledges the command
+        return this.commandBus.dispatchAsync(aCommand, PLACE_ORDER_COMMAND_TOPIC)
+                .thenApply(it -> {
+                    log.info("Order command dispatched: {}", aCommand);
+                    return ResponseEntity.status(HttpStatus.ACCEPTED)
+                            .location(aStatusLocation)
+                            .body(OrderAcceptedResponse.with(aCommand.commandId()));
+                });
+    }
+
+    @Override
+    public ResponseEntity<OrderCommandStatusResponse> getCommandStatus(final String commandId) {
+        log.debug("Received a request to get the status of command {}", commandId);
+
+        // the inbox row is written with the order events, so its presence means the order was created,
+        // even when an earlier delivery of the command failed
+        return this.inboxJdbcRepository.findAggregateId(commandId)
+                .map(aOrderId -> OrderCommandStatusResponse.processed(commandId, aOrderId))
+                .or(() -> this.commandStatusJdbcRepository.findById(commandId)
+                        .map(aStatus -> aStatus.isFailed()
+                                ? OrderCommandStatusResponse.failed(commandId, aStatus.reason())
+                                : OrderCommandStatusResponse.pending(commandId)))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
@@ -2,7 +2,11 @@ package com.kaua.order.infrastructure.commands;
 
 import com.kaua.order.domain.commands.InternalCommand;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface CommandBus {
 
     <T extends InternalCommand> void dispatch(T aCommand, String aDestination);
+
+    <T extends InternalCommand> CompletableFuture<Void> dispatchAsync(T aCommand, String aDestination);
 }
@@ -0,0 +1,18 @@
+package com.kaua.order.infrastructure.commands;
+
+import java.time.Instant;
+
+public record CommandStatus(
+        String commandId,
+        String status,
+        String reason,
+        Instant updatedAt
+) {
+
+    public static final String PENDING = "PENDING";
+    public static final String FAILED = "FAILED";
+
+    public boolean isFailed() {
+        return FAILED.equals(this.status);
+    }
+}
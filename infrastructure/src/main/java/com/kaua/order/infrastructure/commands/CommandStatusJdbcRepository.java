@@ -0,0 +1,106 @@
+package com.kaua.order.infrastructure.commands;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Status of the commands accepted by the API. A row is written as PENDING when
+ * the command is dispatched and moved to FAILED when the command reaches a
+ * DLT or is parked. Processed commands are answered from the inbox, whose row
+ * is stored with the order events, so no row here is updated on success.
+ */
+@Component
+public class CommandStatusJdbcRepository {
+
+    private static final String INSERT_COMMAND_STATUS_QUERY = "INSERT INTO command_status (command_id, status, reason, updated_at) VALUES (:command_id, :status, :reason, :updated_at)";
+    private static final String UPDATE_COMMAND_STATUS_QUERY = "UPDATE command_status SET status = :status, reason = :reason, updated_at = :updated_at WHERE command_id = :command_id";
+    private static final String SELECT_BY_ID_QUERY = "SELECT * FROM command_status WHERE command_id = :command_id";
+    private static final String SELECT_PURGEABLE_QUERY = "SELECT command_id FROM command_status WHERE updated_at < :updated_before ORDER BY updated_at LIMIT :limit";
+    private static final String DELETE_BY_IDS_QUERY = "DELETE FROM command_status WHERE command_id IN (:command_ids)";
+
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(CommandStatusJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CommandStatusJdbcRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    public void accepted(final String commandId) {
+        this.jdbcTemplate.update(INSERT_COMMAND_STATUS_QUERY, parameters(commandId, CommandStatus.PENDING, null));
+        log.debug("Command {} accepted", commandId);
+    }
+
+    // commands published by other producers have no PENDING row, the failure is inserted for them
+    public void failed(final String commandId, final String reason) {
+        final var aParameters = parameters(commandId, CommandStatus.FAILED, truncate(reason));
+
+        if (this.jdbcTemplate.update(UPDATE_COMMAND_STATUS_QUERY, aParameters) == 0) {
+            this.jdbcTemplate.update(INSERT_COMMAND_STATUS_QUERY, aParameters);
+        }
+        log.debug("Command {} failed: {}", commandId, reason);
+    }
+
+    public Optional<CommandStatus> findById(final String commandId) {
+        return this.jdbcTemplate.query(
+                SELECT_BY_ID_QUERY,
+                new MapSqlParameterSource("command_id", commandId),
+                commandStatusMapper()
+        ).stream().findFirst();
+    }
+
+    public int purgeUpdatedBefore(final Instant updatedBefore, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("updated_before", LocalDateTime.ofInstant(updatedBefore, ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        final var aCommandIds = this.jdbcTemplate.queryForList(SELECT_PURGEABLE_QUERY, aParameters, String.class);
+        if (aCommandIds.isEmpty()) {
+            return 0;
+        }
+
+        final var aDeleted = this.jdbcTemplate.update(
+                DELETE_BY_IDS_QUERY,
+                new MapSqlParameterSource("command_ids", aCommandIds)
+        );
+        log.debug("Purged {} command status entries updated before {}", aDeleted, updatedBefore);
+        return aDeleted;
+    }
+
+    private static MapSqlParameterSource parameters(final String commandId, final String status, final String reason) {
+        return new MapSqlParameterSource()
+                .addValue("command_id", commandId)
+                .addValue("status", status)
+                .addValue("reason", reason)
+                .addValue("updated_at", LocalDateTime.ofInstant(InstantUtils.now(), ZoneOffset.UTC));
+    }
+
+    private static String truncate(final String reason) {
+        if (reason == null || reason.length() <= MAX_REASON_LENGTH) {
+            return reason;
+        }
+        return reason.substring(0, MAX_REASON_LENGTH);
+    }
+
+    private static RowMapper<CommandStatus> commandStatusMapper() {
+        return (rs, rowNum) -> new CommandStatus(
+                rs.getString("command_id"),
+                rs.getString("status"),
+                rs.getString("reason"),
+                rs.getObject("updated_at", LocalDateTime.class).toInstant(ZoneOffset.UTC)
+        );
+    }
+}
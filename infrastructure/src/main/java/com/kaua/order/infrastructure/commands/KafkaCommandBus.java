@@ -2,27 +2,47 @@ package com.kaua.order.infrastructure.commands;
 
 import com.kaua.order.domain.commands.InternalCommand;
 import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.configurations.properties.kafka.CommandBusProperties;
 import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.exceptions.CommandBusException;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+/**
+ * Dispatches commands without waiting on the broker. At most
+ * kafka.command-bus.max-in-flight sends are pending at a time, a caller
+ * waits up to acquire-timeout for a slot and is rejected after that, so a
+ * slow broker pushes back on the callers instead of growing the producer
+ * buffer without bound.
+ */
 @Component
 public class KafkaCommandBus implements CommandBus {
 
     private static final Logger log = LoggerFactory.getLogger(KafkaCommandBus.class);
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CommandBusProperties commandBusProperties;
+    private final Semaphore inFlight;
 
-    public KafkaCommandBus(final KafkaTemplate<String, Object> kafkaTemplate) {
+    public KafkaCommandBus(
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final CommandBusProperties commandBusProperties
+    ) {
         this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate);
+        this.commandBusProperties = Objects.requireNonNull(commandBusProperties);
+        this.inFlight = new Semaphore(Math.max(1, commandBusProperties.getMaxInFlight()));
     }
 
     @Override
@@ -31,21 +51,96 @@ public class KafkaCommandBus implements CommandBus {
             final String aDestination
     ) {
         try {
-            log.debug("Dispatching command {} to destination {}", aCommand, aDestination);
-            final var aCommandSerialized = Json.writeValueAsString(aCommand);
-            final var aProducerRecord = new ProducerRecord<String, Object>(aDestination, aCommandSerialized);
-            aProducerRecord.headers().add(HeadersConstants.COMMAND_ID, aCommand.commandId().getBytes());
-            aProducerRecord.headers().add(HeadersConstants.COMMAND_TYPE, aCommand.commandType().getBytes());
-            aProducerRecord.headers().add(HeadersConstants.COMMAND_OCCURRED_ON, aCommand.occurredOn().toString().getBytes());
-            aProducerRecord.headers().add(HeadersConstants.WHO, aCommand.who().getBytes());
-            aProducerRecord.headers().add(HeadersConstants.TRACE_ID, aCommand.traceId().getBytes());
+            dispatchAsync(aCommand, aDestination).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof CommandBusException aCommandBusException) {
+                throw aCommandBusException;
+            }
+            throw CommandBusException.with(e.getCause() != null ? e.getCause() : e);
+        }
+    }
 
+    @Override
+    public <T extends InternalCommand> CompletableFuture<Void> dispatchAsync(
+            final T aCommand,
+            final String aDestination
+    ) {
+        if (!acquire()) {
+            log.warn("Command {} rejected, {} commands already in flight",
+                    aCommand.commandId(), this.commandBusProperties.getMaxInFlight());
+            return CompletableFuture.failedFuture(CommandBusException.with(
+                    "Too many commands in flight, command %s rejected".formatted(aCommand.commandId())));
+        }
+
+        final CompletableFuture<SendResult<String, Object>> aSend;
+        try {
             log.debug("Sending command {} to destination {}", aCommand, aDestination);
-            this.kafkaTemplate.send(aProducerRecord).get(1, TimeUnit.MINUTES);
-            log.info("Command {} dispatched to destination {}", aCommand, aDestination);
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            aSend = this.kafkaTemplate.send(toProducerRecord(aCommand, aDestination));
+        } catch (final Exception e) {
+            this.inFlight.release();
             log.error("Error dispatching command {} to destination {}", aCommand, aDestination, e);
-//            throw CommandBusException.with(e);
+            return CompletableFuture.failedFuture(CommandBusException.with(e));
+        }
+
+        return aSend
+                .orTimeout(this.commandBusProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((aResult, aError) -> {
+                    this.inFlight.release();
+
+                    if (aError != null) {
+                        log.error("Error dispatching command {} to destination {}", aCommand, aDestination, aError);
+                        throw toException(aCommand, aError);
+                    }
+                    log.info("Command {} dispatched to destination {}", aCommand, aDestination);
+                    return null;
+                });
+    }
+
+    public int availableSlots() {
+        return this.inFlight.availablePermits();
+    }
+
+    private boolean acquire() {
+        try {
+            return this.inFlight.tryAcquire(
+                    this.commandBusProperties.getAcquireTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS
+            );
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static <T extends InternalCommand> ProducerRecord<String, Object> toProducerRecord(
+            final T aCommand,
+            final String aDestination
+    ) {
+        final var aCommandSerialized = Json.writeValueAsString(aCommand);
+        final var aProducerRecord = new ProducerRecord<String, Object>(
+                aDestination,
+                aCommand.routingKey(),
+                aCommandSerialized
+        );
+        aProducerRecord.headers().add(HeadersConstants.COMMAND_ID, aCommand.commandId().getBytes());
+        aProducerRecord.headers().add(HeadersConstants.COMMAND_TYPE, aCommand.commandType().getBytes());
+        aProducerRecord.headers().add(HeadersConstants.COMMAND_OCCURRED_ON, aCommand.occurredOn().toString().getBytes());
+        aProducerRecord.headers().add(HeadersConstants.WHO, aCommand.who().getBytes());
+        aProducerRecord.headers().add(HeadersConstants.TRACE_ID, aCommand.traceId().getBytes());
+        return aProducerRecord;
+    }
+
+    private static <T extends InternalCommand> CommandBusException toException(
+            final T aCommand,
+            final Throwable aError
+    ) {
+        final var aCause = aError instanceof CompletionException || aError instanceof ExecutionException
+                ? Objects.requireNonNullElse(aError.getCause(), aError)
+                : aError;
+
+        if (aCause instanceof TimeoutException) {
+            return CommandBusException.with("Timeout dispatching command %s".formatted(aCommand.commandId()));
         }
+        return CommandBusException.with(aCause);
     }
 }
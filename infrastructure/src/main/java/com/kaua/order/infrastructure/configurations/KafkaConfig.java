@@ -1,6 +1,12 @@
 package com.kaua.order.infrastructure.configurations;
 
+import com.kaua.order.infrastructure.configurations.kafka.PayloadSerializer;
+import com.kaua.order.infrastructure.configurations.kafka.TypedPayloadDeserializer;
 import com.kaua.order.infrastructure.configurations.properties.kafka.KafkaProperties;
+import com.kaua.order.infrastructure.configurations.properties.kafka.KafkaTransactionProperties;
+import com.kaua.order.infrastructure.configurations.properties.kafka.ParallelConsumerProperties;
+import com.kaua.order.infrastructure.listeners.KeyOrderedRecordProcessor;
+import com.kaua.order.infrastructure.listeners.MessageHandlerRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -22,9 +28,20 @@ import java.util.Objects;
 public class KafkaConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final KafkaTransactionProperties kafkaTransactionProperties;
 
-    public KafkaConfig(final KafkaProperties kafkaProperties) {
+    public KafkaConfig(
+            final KafkaProperties kafkaProperties,
+            final KafkaTransactionProperties kafkaTransactionProperties,
+            final ParallelConsumerProperties parallelConsumerProperties
+    ) {
         this.kafkaProperties = Objects.requireNonNull(kafkaProperties);
+        this.kafkaTransactionProperties = Objects.requireNonNull(kafkaTransactionProperties);
+
+        // the transactional republish commits the offset with the consumer, which cannot be used from a worker thread
+        if (kafkaTransactionProperties.isEnabled() && parallelConsumerProperties.isEnabled()) {
+            throw new IllegalStateException("kafka.transactions.enabled cannot be combined with kafka.parallel.enabled");
+        }
     }
 
     @Bean
@@ -32,21 +49,45 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, PayloadSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        final var factory = new DefaultKafkaProducerFactory<String, Object>(configProps);
+        if (kafkaTransactionProperties.isEnabled()) {
+            factory.setTransactionIdPrefix(kafkaTransactionProperties.getTransactionIdPrefix());
+        }
+        return factory;
     }
 
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        final var template = new KafkaTemplate<>(producerFactory());
+        // only the listener republish runs in a transaction, the outbox and the command bus keep plain sends
+        template.setAllowNonTransactional(true);
+        return template;
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, Object>> kafkaListenerFactory(
+            final MessageHandlerRegistry messageHandlerRegistry,
+            final KeyOrderedRecordProcessor keyOrderedRecordProcessor
+    ) {
+        final var factory = new ConcurrentKafkaListenerContainerFactory<String, Object>();
+        factory.setConsumerFactory(typedConsumerFactory(messageHandlerRegistry));
+        factory.getContainerProperties().setPollTimeout(kafkaProperties.getPoolTimeout());
+        // MANUAL already queues the acknowledgments and commits the highest offsets once per poll,
+        // ackCount and ackTime only apply to the COUNT and TIME modes
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        // running records of revoked partitions finish before the container commits
+        factory.getContainerProperties().setConsumerRebalanceListener(keyOrderedRecordProcessor);
+        return factory;
     }
 
     @Bean
-    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, String>> kafkaListenerFactory() {
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, String>> kafkaBatchListenerFactory() {
         final var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
         factory.getContainerProperties().setPollTimeout(kafkaProperties.getPoolTimeout());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         return factory;
@@ -56,6 +97,17 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(consumerConfigs());
     }
 
+    private ConsumerFactory<String, Object> typedConsumerFactory(final MessageHandlerRegistry messageHandlerRegistry) {
+        if (!kafkaProperties.isTypedPayloads()) {
+            return consumerFactory();
+        }
+        return new DefaultKafkaConsumerFactory<>(
+                consumerConfigs(),
+                new StringDeserializer(),
+                new TypedPayloadDeserializer(messageHandlerRegistry.readers())
+        );
+    }
+
     private Map<String, Object> consumerConfigs() {
         final var props = new HashMap<String, Object>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
@@ -64,6 +116,10 @@ public class KafkaConfig {
         props.put(ConsumerConfig.ALLOW_AUTO_CREATE_TOPICS_CONFIG, kafkaProperties.isAutoCreateTopics());
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, kafkaProperties.isAutoCommit());
+        if (kafkaTransactionProperties.isEnabled()) {
+            // aborted republishes must not reach the retry and DLT listeners
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
         return props;
     }
 }
@@ -4,6 +4,7 @@ import com.kaua.order.application.gateways.CouponGateway;
 import com.kaua.order.application.gateways.CustomerGateway;
 import com.kaua.order.application.gateways.ProductGateway;
 import com.kaua.order.application.handlers.create.AsyncCreateOrderHandler;
+import com.kaua.order.application.handlers.update.batch.OrderExternalEventsBatchHandler;
 import com.kaua.order.application.handlers.update.paymenttax.PaymentTaxOrderHandler;
 import com.kaua.order.application.handlers.update.shippingcost.ShippingCostOrderHandler;
 import com.kaua.order.application.repositories.EventStore;
@@ -51,4 +52,9 @@ public class OrderHandlersConfig {
     public PaymentTaxOrderHandler paymentTaxOrderHandler() {
         return new PaymentTaxOrderHandler(eventStore);
     }
+
+    @Bean
+    public OrderExternalEventsBatchHandler orderExternalEventsBatchHandler() {
+        return new OrderExternalEventsBatchHandler(eventStore);
+    }
 }
@@ -3,6 +3,7 @@ package com.kaua.order.infrastructure.configurations.json;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
@@ -20,6 +21,10 @@ public enum Json {
         return INSTANCE.mapper.copy();
     }
 
+    public static ObjectReader readerFor(final Class<?> clazz) {
+        return INSTANCE.mapper.readerFor(clazz);
+    }
+
     public static String writeValueAsString(final Object obj) {
         return invoke(() -> INSTANCE.mapper.writeValueAsString(obj));
     }
@@ -0,0 +1,27 @@
+package com.kaua.order.infrastructure.configurations.kafka;
+
+import com.kaua.order.infrastructure.configurations.json.Json;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes String payloads as they are and encodes anything else as JSON, so
+ * records consumed as typed payloads can be republished to retry and DLT topics.
+ */
+public class PayloadSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(final String topic, final Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] aBytes) {
+            return aBytes;
+        }
+        if (data instanceof String aString) {
+            return aString.getBytes(StandardCharsets.UTF_8);
+        }
+        return Json.writeValueAsString(data).getBytes(StandardCharsets.UTF_8);
+    }
+}
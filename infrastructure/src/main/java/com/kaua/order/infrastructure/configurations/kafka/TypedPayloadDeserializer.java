@@ -0,0 +1,69 @@
+package com.kaua.order.infrastructure.configurations.kafka;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads the raw value straight into the command or event named by the type
+ * header, using the readers of the handler registry, so listeners receive the
+ * typed payload without decoding it to a String first. Unknown types and
+ * unreadable payloads are kept as a String, the listeners still route them to
+ * the invalid DLT or the retry topics.
+ */
+public class TypedPayloadDeserializer implements Deserializer<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(TypedPayloadDeserializer.class);
+
+    private final Map<String, ObjectReader> readers;
+
+    public TypedPayloadDeserializer(final Map<String, ObjectReader> readers) {
+        this.readers = Map.copyOf(Objects.requireNonNull(readers));
+    }
+
+    @Override
+    public Object deserialize(final String topic, final byte[] data) {
+        return data == null ? null : new String(data, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object deserialize(final String topic, final Headers headers, final byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        final var aType = typeOf(headers);
+        final var aReader = aType == null ? null : this.readers.get(aType);
+        if (aReader == null) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+
+        try {
+            return aReader.readValue(data);
+        } catch (final IOException e) {
+            log.warn("Could not read payload of type {} from topic {}, keeping it as text", aType, topic, e);
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String typeOf(final Headers headers) {
+        if (headers == null) {
+            return null;
+        }
+
+        Header aHeader = headers.lastHeader(HeadersConstants.COMMAND_TYPE);
+        if (aHeader == null) {
+            aHeader = headers.lastHeader(HeadersConstants.EVENT_TYPE);
+        }
+        return aHeader == null || aHeader.value() == null ? null : new String(aHeader.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,6 @@
+package com.kaua.order.infrastructure.configurations.properties.eventstore;
+
+public enum EventStoreAppendMode {
+    LOCKING,
+    OPTIMISTIC
+}
@@ -0,0 +1,148 @@
+package com.kaua.order.infrastructure.configurations.properties.eventstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "event-store")
+public class EventStoreProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStoreProperties.class);
+
+    private boolean snapshotEnabled = true;
+    private int snapshotEveryEvents = 10;
+    private boolean snapshotOnTerminalStatus = true;
+    private EventStoreAppendMode appendMode = EventStoreAppendMode.LOCKING;
+    private int replayFetchSize = 100;
+    private boolean aggregateCacheEnabled = true;
+    private int aggregateCacheMaxSize = 10_000;
+    private Duration aggregateCacheTtl = Duration.ofMinutes(5);
+    private boolean groupCommitEnabled = false;
+    private int groupCommitMaxBatchSize = 64;
+    private Duration groupCommitWindow = Duration.ofMillis(2);
+    private Duration groupCommitWriteTimeout = Duration.ofSeconds(30);
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "EventStoreProperties{" +
+                "snapshotEnabled=" + snapshotEnabled +
+                ", snapshotEveryEvents=" + snapshotEveryEvents +
+                ", snapshotOnTerminalStatus=" + snapshotOnTerminalStatus +
+                ", appendMode=" + appendMode +
+                ", replayFetchSize=" + replayFetchSize +
+                ", aggregateCacheEnabled=" + aggregateCacheEnabled +
+                ", aggregateCacheMaxSize=" + aggregateCacheMaxSize +
+                ", aggregateCacheTtl=" + aggregateCacheTtl +
+                ", groupCommitEnabled=" + groupCommitEnabled +
+                ", groupCommitMaxBatchSize=" + groupCommitMaxBatchSize +
+                ", groupCommitWindow=" + groupCommitWindow +
+                ", groupCommitWriteTimeout=" + groupCommitWriteTimeout +
+                '}';
+    }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public void setSnapshotEnabled(boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    public int getSnapshotEveryEvents() {
+        return snapshotEveryEvents;
+    }
+
+    public void setSnapshotEveryEvents(int snapshotEveryEvents) {
+        this.snapshotEveryEvents = snapshotEveryEvents;
+    }
+
+    public boolean isSnapshotOnTerminalStatus() {
+        return snapshotOnTerminalStatus;
+    }
+
+    public void setSnapshotOnTerminalStatus(boolean snapshotOnTerminalStatus) {
+        this.snapshotOnTerminalStatus = snapshotOnTerminalStatus;
+    }
+
+    public EventStoreAppendMode getAppendMode() {
+        return appendMode;
+    }
+
+    public void setAppendMode(EventStoreAppendMode appendMode) {
+        this.appendMode = appendMode;
+    }
+
+    public int getReplayFetchSize() {
+        return replayFetchSize;
+    }
+
+    public void setReplayFetchSize(int replayFetchSize) {
+        this.replayFetchSize = replayFetchSize;
+    }
+
+    public boolean isAggregateCacheEnabled() {
+        return aggregateCacheEnabled;
+    }
+
+    public void setAggregateCacheEnabled(boolean aggregateCacheEnabled) {
+        this.aggregateCacheEnabled = aggregateCacheEnabled;
+    }
+
+    public int getAggregateCacheMaxSize() {
+        return aggregateCacheMaxSize;
+    }
+
+    public void setAggregateCacheMaxSize(int aggregateCacheMaxSize) {
+        this.aggregateCacheMaxSize = aggregateCacheMaxSize;
+    }
+
+    public Duration getAggregateCacheTtl() {
+        return aggregateCacheTtl;
+    }
+
+    public void setAggregateCacheTtl(Duration aggregateCacheTtl) {
+        this.aggregateCacheTtl = aggregateCacheTtl;
+    }
+
+    public boolean isGroupCommitEnabled() {
+        return groupCommitEnabled;
+    }
+
+    public void setGroupCommitEnabled(boolean groupCommitEnabled) {
+        this.groupCommitEnabled = groupCommitEnabled;
+    }
+
+    public int getGroupCommitMaxBatchSize() {
+        return groupCommitMaxBatchSize;
+    }
+
+    public void setGroupCommitMaxBatchSize(int groupCommitMaxBatchSize) {
+        this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+    }
+
+    public Duration getGroupCommitWindow() {
+        return groupCommitWindow;
+    }
+
+    public void setGroupCommitWindow(Duration groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+    }
+
+    public Duration getGroupCommitWriteTimeout() {
+        return groupCommitWriteTimeout;
+    }
+
+    public void setGroupCommitWriteTimeout(Duration groupCommitWriteTimeout) {
+        this.groupCommitWriteTimeout = groupCommitWriteTimeout;
+    }
+}
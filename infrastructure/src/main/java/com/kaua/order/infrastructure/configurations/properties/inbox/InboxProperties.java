@@ -0,0 +1,138 @@
+package com.kaua.order.infrastructure.configurations.properties.inbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "inbox")
+public class InboxProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxProperties.class);
+
+    private boolean filterEnabled = true;
+    private int filterExpectedMessages = 100_000;
+    private double filterFalsePositiveRate = 0.01;
+    private int recentCapacity = 10_000;
+    private Duration warmupWindow = Duration.ofHours(1);
+    private boolean retentionEnabled = false;
+    private Duration retention = Duration.ofDays(8);
+    private Duration retentionInterval = Duration.ofHours(1);
+    private int retentionBatchSize = 1_000;
+    private Duration retentionBatchPause = Duration.ofMillis(100);
+    private int retentionMaxBatchesPerRun = 1_000;
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "InboxProperties{" +
+                "filterEnabled=" + filterEnabled +
+                ", filterExpectedMessages=" + filterExpectedMessages +
+                ", filterFalsePositiveRate=" + filterFalsePositiveRate +
+                ", recentCapacity=" + recentCapacity +
+                ", warmupWindow=" + warmupWindow +
+                ", retentionEnabled=" + retentionEnabled +
+                ", retention=" + retention +
+                ", retentionInterval=" + retentionInterval +
+                ", retentionBatchSize=" + retentionBatchSize +
+                ", retentionBatchPause=" + retentionBatchPause +
+                ", retentionMaxBatchesPerRun=" + retentionMaxBatchesPerRun +
+                '}';
+    }
+
+    public boolean isFilterEnabled() {
+        return filterEnabled;
+    }
+
+    public void setFilterEnabled(boolean filterEnabled) {
+        this.filterEnabled = filterEnabled;
+    }
+
+    public int getFilterExpectedMessages() {
+        return filterExpectedMessages;
+    }
+
+    public void setFilterExpectedMessages(int filterExpectedMessages) {
+        this.filterExpectedMessages = filterExpectedMessages;
+    }
+
+    public double getFilterFalsePositiveRate() {
+        return filterFalsePositiveRate;
+    }
+
+    public void setFilterFalsePositiveRate(double filterFalsePositiveRate) {
+        this.filterFalsePositiveRate = filterFalsePositiveRate;
+    }
+
+    public int getRecentCapacity() {
+        return recentCapacity;
+    }
+
+    public void setRecentCapacity(int recentCapacity) {
+        this.recentCapacity = recentCapacity;
+    }
+
+    public Duration getWarmupWindow() {
+        return warmupWindow;
+    }
+
+    public void setWarmupWindow(Duration warmupWindow) {
+        this.warmupWindow = warmupWindow;
+    }
+
+    public boolean isRetentionEnabled() {
+        return retentionEnabled;
+    }
+
+    public void setRetentionEnabled(boolean retentionEnabled) {
+        this.retentionEnabled = retentionEnabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getRetentionInterval() {
+        return retentionInterval;
+    }
+
+    public void setRetentionInterval(Duration retentionInterval) {
+        this.retentionInterval = retentionInterval;
+    }
+
+    public int getRetentionBatchSize() {
+        return retentionBatchSize;
+    }
+
+    public void setRetentionBatchSize(int retentionBatchSize) {
+        this.retentionBatchSize = retentionBatchSize;
+    }
+
+    public Duration getRetentionBatchPause() {
+        return retentionBatchPause;
+    }
+
+    public void setRetentionBatchPause(Duration retentionBatchPause) {
+        this.retentionBatchPause = retentionBatchPause;
+    }
+
+    public int getRetentionMaxBatchesPerRun() {
+        return retentionMaxBatchesPerRun;
+    }
+
+    public void setRetentionMaxBatchesPerRun(int retentionMaxBatchesPerRun) {
+        this.retentionMaxBatchesPerRun = retentionMaxBatchesPerRun;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kaua.order.infrastructure.configurations.properties.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "kafka.command-bus")
+public class CommandBusProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandBusProperties.class);
+
+    private int maxInFlight = 1_000;
+    private Duration acquireTimeout = Duration.ofMillis(100);
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "CommandBusProperties{" +
+                "maxInFlight=" + maxInFlight +
+                ", acquireTimeout=" + acquireTimeout +
+                ", sendTimeout=" + sendTimeout +
+                '}';
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+}
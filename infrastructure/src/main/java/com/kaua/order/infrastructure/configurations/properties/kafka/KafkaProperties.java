@@ -16,6 +16,7 @@ public class KafkaProperties implements InitializingBean {
     private int poolTimeout;
     private boolean autoCreateTopics;
     private boolean autoCommit;
+    private boolean typedPayloads;
 
     @Override
     public void afterPropertiesSet() {
@@ -29,6 +30,7 @@ public class KafkaProperties implements InitializingBean {
                 ", poolTimeout=" + poolTimeout +
                 ", autoCreateTopics=" + autoCreateTopics +
                 ", autoCommit=" + autoCommit +
+                ", typedPayloads=" + typedPayloads +
                 '}';
     }
 
@@ -63,4 +65,12 @@ public class KafkaProperties implements InitializingBean {
     public void setAutoCommit(boolean autoCommit) {
         this.autoCommit = autoCommit;
     }
+
+    public boolean isTypedPayloads() {
+        return typedPayloads;
+    }
+
+    public void setTypedPayloads(boolean typedPayloads) {
+        this.typedPayloads = typedPayloads;
+    }
 }
@@ -0,0 +1,46 @@
+package com.kaua.order.infrastructure.configurations.properties.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "kafka.transactions")
+public class KafkaTransactionProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaTransactionProperties.class);
+
+    private boolean enabled = false;
+    private String transactionIdPrefix = "order-tx-";
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "KafkaTransactionProperties{" +
+                "enabled=" + enabled +
+                ", transactionIdPrefix='" + transactionIdPrefix + '\'' +
+                '}';
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getTransactionIdPrefix() {
+        return transactionIdPrefix;
+    }
+
+    public void setTransactionIdPrefix(String transactionIdPrefix) {
+        this.transactionIdPrefix = transactionIdPrefix;
+    }
+}
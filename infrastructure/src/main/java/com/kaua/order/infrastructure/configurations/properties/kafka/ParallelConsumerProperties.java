@@ -0,0 +1,98 @@
+package com.kaua.order.infrastructure.configurations.properties.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "kafka.parallel")
+public class ParallelConsumerProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelConsumerProperties.class);
+
+    private boolean enabled = false;
+    private int maxInFlight = 512;
+    private boolean virtualThreads = true;
+    private int workerThreads = 32;
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+    private Duration revokeTimeout = Duration.ofSeconds(10);
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelConsumerProperties{" +
+                "enabled=" + enabled +
+                ", maxInFlight=" + maxInFlight +
+                ", virtualThreads=" + virtualThreads +
+                ", workerThreads=" + workerThreads +
+                ", shutdownTimeout=" + shutdownTimeout +
+                ", acquireTimeout=" + acquireTimeout +
+                ", revokeTimeout=" + revokeTimeout +
+                '}';
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public Duration getRevokeTimeout() {
+        return revokeTimeout;
+    }
+
+    public void setRevokeTimeout(Duration revokeTimeout) {
+        this.revokeTimeout = revokeTimeout;
+    }
+}
@@ -0,0 +1,298 @@
+package com.kaua.order.infrastructure.configurations.properties.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxProperties.class);
+
+    private boolean relayEnabled = false;
+    private String topic = "order-events-topic";
+    private int minBatchSize = 50;
+    private int maxBatchSize = 500;
+    private Duration minPollInterval = Duration.ofMillis(50);
+    private Duration maxPollInterval = Duration.ofSeconds(2);
+    private Duration sendTimeout = Duration.ofSeconds(30);
+    private int maxSendAttempts = 20;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+    private boolean leaseEnabled = false;
+    private String instanceId = "1";
+    private int bucketCount = 64;
+    private Duration leaseDuration = Duration.ofSeconds(15);
+    private Duration leaseRenewInterval = Duration.ofSeconds(5);
+    private boolean immediatePublishEnabled = false;
+    private int publishQueueCapacity = 10_000;
+    private Duration sweepStaleAfter = Duration.ofSeconds(30);
+    private int publishLanes = 8;
+    private boolean retentionEnabled = false;
+    private Duration retention = Duration.ofDays(7);
+    private Duration retentionInterval = Duration.ofHours(1);
+    private int retentionBatchSize = 1_000;
+    private Duration retentionBatchPause = Duration.ofMillis(100);
+    private int retentionMaxBatchesPerRun = 1_000;
+    private boolean retentionPartitionsEnabled = false;
+    private int retentionPartitionsAhead = 3;
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxProperties{" +
+                "relayEnabled=" + relayEnabled +
+                ", topic='" + topic + '\'' +
+                ", minBatchSize=" + minBatchSize +
+                ", maxBatchSize=" + maxBatchSize +
+                ", minPollInterval=" + minPollInterval +
+                ", maxPollInterval=" + maxPollInterval +
+                ", sendTimeout=" + sendTimeout +
+                ", maxSendAttempts=" + maxSendAttempts +
+                ", retryBackoff=" + retryBackoff +
+                ", maxRetryBackoff=" + maxRetryBackoff +
+                ", leaseEnabled=" + leaseEnabled +
+                ", instanceId='" + instanceId + '\'' +
+                ", bucketCount=" + bucketCount +
+                ", leaseDuration=" + leaseDuration +
+                ", leaseRenewInterval=" + leaseRenewInterval +
+                ", immediatePublishEnabled=" + immediatePublishEnabled +
+                ", publishQueueCapacity=" + publishQueueCapacity +
+                ", sweepStaleAfter=" + sweepStaleAfter +
+                ", publishLanes=" + publishLanes +
+                ", retentionEnabled=" + retentionEnabled +
+                ", retention=" + retention +
+                ", retentionInterval=" + retentionInterval +
+                ", retentionBatchSize=" + retentionBatchSize +
+                ", retentionBatchPause=" + retentionBatchPause +
+                ", retentionMaxBatchesPerRun=" + retentionMaxBatchesPerRun +
+                ", retentionPartitionsEnabled=" + retentionPartitionsEnabled +
+                ", retentionPartitionsAhead=" + retentionPartitionsAhead +
+                '}';
+    }
+
+    public boolean isRelayEnabled() {
+        return relayEnabled;
+    }
+
+    public void setRelayEnabled(boolean relayEnabled) {
+        this.relayEnabled = relayEnabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public void setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getMinPollInterval() {
+        return minPollInterval;
+    }
+
+    public void setMinPollInterval(Duration minPollInterval) {
+        this.minPollInterval = minPollInterval;
+    }
+
+    public Duration getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public void setMaxPollInterval(Duration maxPollInterval) {
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+
+    public int getMaxSendAttempts() {
+        return maxSendAttempts;
+    }
+
+    public void setMaxSendAttempts(int maxSendAttempts) {
+        this.maxSendAttempts = maxSendAttempts;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public Duration getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    public boolean isLeaseEnabled() {
+        return leaseEnabled;
+    }
+
+    public void setLeaseEnabled(boolean leaseEnabled) {
+        this.leaseEnabled = leaseEnabled;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public void setBucketCount(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public Duration getLeaseRenewInterval() {
+        return leaseRenewInterval;
+    }
+
+    public void setLeaseRenewInterval(Duration leaseRenewInterval) {
+        this.leaseRenewInterval = leaseRenewInterval;
+    }
+
+    public boolean isImmediatePublishEnabled() {
+        return immediatePublishEnabled;
+    }
+
+    public void setImmediatePublishEnabled(boolean immediatePublishEnabled) {
+        this.immediatePublishEnabled = immediatePublishEnabled;
+    }
+
+    public int getPublishQueueCapacity() {
+        return publishQueueCapacity;
+    }
+
+    public void setPublishQueueCapacity(int publishQueueCapacity) {
+        this.publishQueueCapacity = publishQueueCapacity;
+    }
+
+    public Duration getSweepStaleAfter() {
+        return sweepStaleAfter;
+    }
+
+    public void setSweepStaleAfter(Duration sweepStaleAfter) {
+        this.sweepStaleAfter = sweepStaleAfter;
+    }
+
+    public int getPublishLanes() {
+        return publishLanes;
+    }
+
+    public void setPublishLanes(int publishLanes) {
+        this.publishLanes = publishLanes;
+    }
+
+    public boolean isRetentionEnabled() {
+        return retentionEnabled;
+    }
+
+    public void setRetentionEnabled(boolean retentionEnabled) {
+        this.retentionEnabled = retentionEnabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getRetentionInterval() {
+        return retentionInterval;
+    }
+
+    public void setRetentionInterval(Duration retentionInterval) {
+        this.retentionInterval = retentionInterval;
+    }
+
+    public int getRetentionBatchSize() {
+        return retentionBatchSize;
+    }
+
+    public void setRetentionBatchSize(int retentionBatchSize) {
+        this.retentionBatchSize = retentionBatchSize;
+    }
+
+    public Duration getRetentionBatchPause() {
+        return retentionBatchPause;
+    }
+
+    public void setRetentionBatchPause(Duration retentionBatchPause) {
+        this.retentionBatchPause = retentionBatchPause;
+    }
+
+    public int getRetentionMaxBatchesPerRun() {
+        return retentionMaxBatchesPerRun;
+    }
+
+    public void setRetentionMaxBatchesPerRun(int retentionMaxBatchesPerRun) {
+        this.retentionMaxBatchesPerRun = retentionMaxBatchesPerRun;
+    }
+
+    public boolean isRetentionPartitionsEnabled() {
+        return retentionPartitionsEnabled;
+    }
+
+    public void setRetentionPartitionsEnabled(boolean retentionPartitionsEnabled) {
+        this.retentionPartitionsEnabled = retentionPartitionsEnabled;
+    }
+
+    public int getRetentionPartitionsAhead() {
+        return retentionPartitionsAhead;
+    }
+
+    public void setRetentionPartitionsAhead(int retentionPartitionsAhead) {
+        this.retentionPartitionsAhead = retentionPartitionsAhead;
+    }
+}
@@ -0,0 +1,88 @@
+package com.kaua.order.infrastructure.configurations.properties.parked;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "parked-messages")
+public class ParkedMessagesProperties implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ParkedMessagesProperties.class);
+
+    private boolean replayEnabled = true;
+    private Duration replayInterval = Duration.ofSeconds(30);
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 100;
+    private Duration expireAfter = Duration.ofDays(7);
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    @Override
+    public void afterPropertiesSet() {
+        log.debug(toString());
+    }
+
+    @Override
+    public String toString() {
+        return "ParkedMessagesProperties{" +
+                "replayEnabled=" + replayEnabled +
+                ", replayInterval=" + replayInterval +
+                ", batchSize=" + batchSize +
+                ", maxBatchesPerRun=" + maxBatchesPerRun +
+                ", expireAfter=" + expireAfter +
+                ", sendTimeout=" + sendTimeout +
+                '}';
+    }
+
+    public boolean isReplayEnabled() {
+        return replayEnabled;
+    }
+
+    public void setReplayEnabled(boolean replayEnabled) {
+        this.replayEnabled = replayEnabled;
+    }
+
+    public Duration getReplayInterval() {
+        return replayInterval;
+    }
+
+    public void setReplayInterval(Duration replayInterval) {
+        this.replayInterval = replayInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxBatchesPerRun() {
+        return maxBatchesPerRun;
+    }
+
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    public void setExpireAfter(Duration expireAfter) {
+        this.expireAfter = expireAfter;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+}
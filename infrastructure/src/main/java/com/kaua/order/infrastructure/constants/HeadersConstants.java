@@ -10,6 +10,9 @@ public final class HeadersConstants {
     public static final String EVENT_TYPE = "event_type";
     public static final String EVENT_OCCURRED_ON = "event_occurred_on";
 
+    public static final String AGGREGATE_ID = "aggregate_id";
+    public static final String AGGREGATE_VERSION = "aggregate_version";
+
     public static final String TRACE_ID = "trace_id";
     public static final String WHO = "who";
 
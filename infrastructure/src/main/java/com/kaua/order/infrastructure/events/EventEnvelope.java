@@ -0,0 +1,29 @@
+package com.kaua.order.infrastructure.events;
+
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.infrastructure.configurations.json.Json;
+
+import java.time.Instant;
+
+public record EventEnvelope(
+        String eventId,
+        String eventType,
+        String eventClassName,
+        String aggregateId,
+        long aggregateVersion,
+        Instant occurredOn,
+        String payload
+) {
+
+    public static EventEnvelope from(final DomainEvent aEvent) {
+        return new EventEnvelope(
+                aEvent.eventId(),
+                aEvent.eventType(),
+                aEvent.eventClassName(),
+                aEvent.aggregateId(),
+                aEvent.aggregateVersion(),
+                aEvent.occurredOn(),
+                Json.writeValueAsString(aEvent)
+        );
+    }
+}
@@ -3,20 +3,29 @@ package com.kaua.order.infrastructure.events;
 import com.kaua.order.application.repositories.EventStore;
 import com.kaua.order.domain.AggregateRoot;
 import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
+import com.kaua.order.domain.snapshots.Snapshotable;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreAppendMode;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import com.kaua.order.infrastructure.events.persistence.EventsJdbcRepository;
 import com.kaua.order.infrastructure.events.persistence.EventsJpaEntity;
 import com.kaua.order.infrastructure.events.persistence.EventsJpaRepository;
+import com.kaua.order.infrastructure.events.persistence.EventTypeRegistry;
 import com.kaua.order.infrastructure.exceptions.EventStoreException;
-import com.kaua.order.infrastructure.outbox.OutboxJpaEntity;
-import com.kaua.order.infrastructure.outbox.OutboxJpaRepository;
-import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.snapshots.AggregateSnapshotCache;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaEntity;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Component
@@ -27,75 +36,228 @@ public class EventStoreRepositoryImpl implements EventStore {
     private static final Logger log = LoggerFactory.getLogger(EventStoreRepositoryImpl.class);
 
     private final EventsJpaRepository eventsRepository;
-    private final OutboxJpaRepository outboxRepository;
-    private final TransactionManager transactionManager;
+    private final EventsJdbcRepository eventsJdbcRepository;
+    private final SnapshotsJpaRepository snapshotsRepository;
+    private final EventStoreWriter eventStoreWriter;
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EventStoreProperties eventStoreProperties;
+    private final EventTypeRegistry eventTypeRegistry;
+    private final AggregateSnapshotCache aggregateSnapshotCache;
 
     public EventStoreRepositoryImpl(
             final EventsJpaRepository eventsRepository,
-            final OutboxJpaRepository outboxRepository,
-            final TransactionManager transactionManager, NamedParameterJdbcTemplate jdbcTemplate
+            final EventsJdbcRepository eventsJdbcRepository,
+            final SnapshotsJpaRepository snapshotsRepository,
+            final EventStoreWriter eventStoreWriter, NamedParameterJdbcTemplate jdbcTemplate,
+            final EventStoreProperties eventStoreProperties,
+            final EventTypeRegistry eventTypeRegistry,
+            final AggregateSnapshotCache aggregateSnapshotCache
     ) {
         this.eventsRepository = Objects.requireNonNull(eventsRepository);
-        this.outboxRepository = Objects.requireNonNull(outboxRepository);
-        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.eventsJdbcRepository = Objects.requireNonNull(eventsJdbcRepository);
+        this.snapshotsRepository = Objects.requireNonNull(snapshotsRepository);
+        this.eventStoreWriter = Objects.requireNonNull(eventStoreWriter);
         this.jdbcTemplate = jdbcTemplate;
+        this.eventStoreProperties = Objects.requireNonNull(eventStoreProperties);
+        this.eventTypeRegistry = Objects.requireNonNull(eventTypeRegistry);
+        this.aggregateSnapshotCache = Objects.requireNonNull(aggregateSnapshotCache);
     }
 
-    private <T extends DomainEvent> void store(List<T> events) {
+    private <T extends DomainEvent> void store(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<T> events,
+            final AggregateSnapshot snapshot,
+            final Collection<String> messageIds
+    ) {
         log.debug("Storing {} events", events.size());
 
-        final var aTransactionResult = this.transactionManager.execute(() -> {
-            log.debug("Creating events and outbox entities");
-
-            final var aEventsJpaEntity = events.stream()
-                    .map(EventsJpaEntity::with)
-                    .toList();
-            final var aOutboxJpaEntity = events.stream()
-                    .map(OutboxJpaEntity::create)
-                    .toList();
-
-            log.debug("Saving events and outbox entities");
-            this.eventsRepository.saveAll(aEventsJpaEntity);
-            this.outboxRepository.saveAll(aOutboxJpaEntity);
-            log.info("Events {} and outbox {} entities stored", aEventsJpaEntity.size(), aOutboxJpaEntity.size());
-            return true;
-        });
-
-        if (aTransactionResult.isFailure()) {
-            log.error("Error storing events");
-            throw EventStoreException.with(aTransactionResult.getErrorResult().message());
-        }
+        final var aEnvelopes = events.stream()
+                .map(EventEnvelope::from)
+                .toList();
+
+        this.eventStoreWriter.write(aggregateId, expectedVersion, aEnvelopes, snapshot, messageIds);
     }
 
     @Override
     public <T extends AggregateRoot<?>> void save(T aggregate) {
+        save(aggregate, List.of());
+    }
+
+    @Override
+    public <T extends AggregateRoot<?>> void save(T aggregate, Collection<String> messageIds) {
         log.debug("Storing events for aggregate {} and version {}",
                 aggregate.getId().getValue(), aggregate.getVersion());
 
-        if (aggregate.getVersion() > 0) {
-            log.debug("Handling concurrency for aggregate {}, actual version {}",
-                    aggregate.getId().getValue(), aggregate.getVersion());
-            this.handleConcurrency(aggregate.getId().getValue());
+        final var aEvents = aggregate.getDomainEvents();
+        final var aExpectedVersion = aEvents.stream()
+                .mapToLong(DomainEvent::aggregateVersion)
+                .min()
+                .orElse(aggregate.getVersion() + 1) - 1;
+
+        final var aSnapshot = takeSnapshotIfNeeded(aggregate);
+
+        try {
+            this.append(aggregate.getId().getValue(), aExpectedVersion, aEvents, aSnapshot, messageIds);
+        } catch (final EventStoreException e) {
+            this.aggregateSnapshotCache.invalidate(aggregate.getId().getValue());
+            throw e;
         }
 
-        this.store(aggregate.getDomainEvents());
-        // todo: check to store snapshot
+        cacheSnapshot(aggregate, aSnapshot);
 
         log.info("Aggregate {} stored {}", aggregate.getId().getValue(), aggregate);
     }
 
+    @Override
+    public <T extends DomainEvent> void append(String aggregateId, long expectedVersion, List<T> events) {
+        for (int i = 0; i < events.size(); i++) {
+            final var aEvent = events.get(i);
+            if (!Objects.equals(aggregateId, aEvent.aggregateId())
+                    || aEvent.aggregateVersion() != expectedVersion + 1 + i) {
+                throw EventStoreException.with("Event %s does not follow expected version %d of aggregate %s"
+                        .formatted(aEvent.eventId(), expectedVersion, aggregateId));
+            }
+        }
+
+        try {
+            this.append(aggregateId, expectedVersion, events, null, List.of());
+        } finally {
+            this.aggregateSnapshotCache.invalidate(aggregateId);
+        }
+    }
+
+    private <T extends DomainEvent> void append(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<T> events,
+            final AggregateSnapshot snapshot,
+            final Collection<String> messageIds
+    ) {
+        // grouped writes are checked by the unique aggregate version index, a row lock would serialize the group
+        if (this.eventStoreProperties.getAppendMode() == EventStoreAppendMode.LOCKING
+                && expectedVersion >= 0
+                && !this.eventStoreWriter.isRunning()) {
+            log.debug("Handling concurrency for aggregate {}, expected version {}", aggregateId, expectedVersion);
+            this.handleConcurrency(aggregateId);
+        }
+
+        this.store(aggregateId, expectedVersion, events, snapshot, messageIds);
+    }
+
     @Override
     public <T extends DomainEvent> List<T> loadEvents(String aggregateId) {
-        // TODO: in future we can use snapshot to load events
         log.debug("Loading events for aggregate {}", aggregateId);
         final var aEvents = this.eventsRepository.findByAggregateId(aggregateId)
-                .stream().map(it -> (T) it.toDomainEvent())
+                .stream().map(this::<T>decode)
                 .collect(Collectors.toList());
         log.info("Events {} for aggregate {} loaded", aEvents.size(), aggregateId);
         return aEvents;
     }
 
+    @Override
+    public <T extends DomainEvent> List<T> loadEvents(String aggregateId, long afterVersion) {
+        log.debug("Loading events for aggregate {} after version {}", aggregateId, afterVersion);
+        final var aEvents = this.eventsRepository
+                .findByAggregateIdAndAggregateVersionGreaterThan(aggregateId, afterVersion)
+                .stream().map(this::<T>decode)
+                .collect(Collectors.toList());
+        log.info("Events {} for aggregate {} after version {} loaded", aEvents.size(), aggregateId, afterVersion);
+        return aEvents;
+    }
+
+    @Override
+    public <S> S foldEvents(
+            String aggregateId,
+            long afterVersion,
+            S seed,
+            BiFunction<S, DomainEvent, S> accumulator
+    ) {
+        log.debug("Folding events for aggregate {} after version {}", aggregateId, afterVersion);
+        final var aResult = this.eventsJdbcRepository.fold(
+                aggregateId,
+                afterVersion,
+                this.eventStoreProperties.getReplayFetchSize(),
+                seed,
+                accumulator
+        );
+        log.info("Events for aggregate {} after version {} folded", aggregateId, afterVersion);
+        return aResult;
+    }
+
+    @Override
+    public <T extends AggregateSnapshot> Optional<T> loadSnapshot(String aggregateId) {
+        if (!this.eventStoreProperties.isSnapshotEnabled()) {
+            return Optional.empty();
+        }
+
+        log.debug("Loading snapshot for aggregate {}", aggregateId);
+        final var aEntity = this.snapshotsRepository.findById(aggregateId);
+        log.debug("Snapshot for aggregate {} found: {}", aggregateId, aEntity.isPresent());
+
+        // a snapshot that no longer decodes is only a shortcut, database failures still reach the caller
+        try {
+            return aEntity.map(SnapshotsJpaEntity::toAggregateSnapshot);
+        } catch (final EventStoreException e) {
+            log.warn("Error decoding snapshot for aggregate {}, falling back to full replay", aggregateId, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public <T extends AggregateSnapshot> Optional<T> loadCachedSnapshot(String aggregateId, long expectedVersion) {
+        return this.aggregateSnapshotCache.get(aggregateId, expectedVersion);
+    }
+
+    private <T extends AggregateRoot<?>> void cacheSnapshot(final T aggregate, final AggregateSnapshot aSnapshot) {
+        if (!this.eventStoreProperties.isAggregateCacheEnabled()
+                || !(aggregate instanceof Snapshotable<?> aSnapshotable)) {
+            return;
+        }
+
+        this.aggregateSnapshotCache.put(aSnapshot != null ? aSnapshot : aSnapshotable.snapshot());
+    }
+
+    private <T extends DomainEvent> T decode(final EventsJpaEntity aEntity) {
+        return this.eventTypeRegistry.decode(
+                aEntity.getEventType(),
+                aEntity.getEventClassName(),
+                aEntity.getPayload()
+        );
+    }
+
+    private <T extends AggregateRoot<?>> AggregateSnapshot takeSnapshotIfNeeded(final T aggregate) {
+        if (!this.eventStoreProperties.isSnapshotEnabled()
+                || !(aggregate instanceof Snapshotable<?> aSnapshotable)
+                || aggregate.getDomainEvents().isEmpty()) {
+            return null;
+        }
+
+        final var aTerminal = this.eventStoreProperties.isSnapshotOnTerminalStatus() && aSnapshotable.isTerminal();
+
+        if (aTerminal || crossedSnapshotThreshold(aggregate)) {
+            log.debug("Taking snapshot for aggregate {} at version {}",
+                    aggregate.getId().getValue(), aggregate.getVersion());
+            return aSnapshotable.snapshot();
+        }
+        return null;
+    }
+
+    private <T extends AggregateRoot<?>> boolean crossedSnapshotThreshold(final T aggregate) {
+        final var aEveryEvents = this.eventStoreProperties.getSnapshotEveryEvents();
+
+        if (aEveryEvents <= 0) {
+            return false;
+        }
+
+        final var aFirstNewVersion = aggregate.getDomainEvents().stream()
+                .mapToLong(DomainEvent::aggregateVersion)
+                .min()
+                .orElse(aggregate.getVersion());
+
+        return Math.floorDiv(aggregate.getVersion(), aEveryEvents) > Math.floorDiv(aFirstNewVersion - 1, aEveryEvents);
+    }
+
     private void handleConcurrency(final String aggregateId) {
         try {
             log.debug("Locking aggregateId {}", aggregateId);
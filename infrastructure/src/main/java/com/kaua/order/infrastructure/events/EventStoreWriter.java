@@ -0,0 +1,430 @@
+package com.kaua.order.infrastructure.events;
+
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreAppendMode;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import com.kaua.order.infrastructure.events.persistence.EventsJdbcRepository;
+import com.kaua.order.infrastructure.exceptions.EventStoreConcurrencyException;
+import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
+import com.kaua.order.infrastructure.inbox.InboxEntry;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
+import com.kaua.order.infrastructure.outbox.OutboxEntriesStoredEvent;
+import com.kaua.order.infrastructure.outbox.OutboxEntry;
+import com.kaua.order.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaEntity;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaRepository;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Writes inbox entries, event envelopes, outbox entries and snapshots in one
+ * transaction.
+ * When group commit is enabled, writes submitted concurrently are coalesced
+ * by a single flusher thread into one transaction per window, and every
+ * caller gets its own result. A caller of write waits at most
+ * event-store.group-commit-write-timeout for it.
+ */
+@Component
+public class EventStoreWriter implements InitializingBean, DisposableBean {
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    private static final String AGGREGATE_VERSION_CONSTRAINT = "uk_events_aggregate_id_and_aggregate_version";
+    private static final int MYSQL_DUPLICATE_ENTRY_ERROR_CODE = 1062;
+
+    private static final Logger log = LoggerFactory.getLogger(EventStoreWriter.class);
+
+    private final TransactionManager transactionManager;
+    private final EventsJdbcRepository eventsJdbcRepository;
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final InboxJdbcRepository inboxJdbcRepository;
+    private final SnapshotsJpaRepository snapshotsRepository;
+    private final EventStoreProperties eventStoreProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BlockingQueue<PendingWrite> pendingWrites;
+
+    private volatile Thread flusher;
+
+    public EventStoreWriter(
+            final TransactionManager transactionManager,
+            final EventsJdbcRepository eventsJdbcRepository,
+            final OutboxJdbcRepository outboxJdbcRepository,
+            final InboxJdbcRepository inboxJdbcRepository,
+            final SnapshotsJpaRepository snapshotsRepository,
+            final EventStoreProperties eventStoreProperties,
+            final ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.eventsJdbcRepository = Objects.requireNonNull(eventsJdbcRepository);
+        this.outboxJdbcRepository = Objects.requireNonNull(outboxJdbcRepository);
+        this.inboxJdbcRepository = Objects.requireNonNull(inboxJdbcRepository);
+        this.snapshotsRepository = Objects.requireNonNull(snapshotsRepository);
+        this.eventStoreProperties = Objects.requireNonNull(eventStoreProperties);
+        this.applicationEventPublisher = Objects.requireNonNull(applicationEventPublisher);
+        this.pendingWrites = new LinkedBlockingQueue<>();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.eventStoreProperties.isGroupCommitEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+
+        this.flusher = new Thread(this::flushLoop, "event-store-group-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+        log.info("Event store group commit started with window {} and max batch size {}",
+                this.eventStoreProperties.getGroupCommitWindow(),
+                this.eventStoreProperties.getGroupCommitMaxBatchSize());
+
+        // a row lock per aggregate would serialize the group, appends fall back to the unique aggregate version index
+        if (this.eventStoreProperties.getAppendMode() == EventStoreAppendMode.LOCKING) {
+            log.warn("Event store append mode {} is ignored while group commit is running, appends are checked as {}",
+                    EventStoreAppendMode.LOCKING, EventStoreAppendMode.OPTIMISTIC);
+        }
+    }
+
+    public synchronized void stop() {
+        final var aFlusher = this.flusher;
+        this.flusher = null;
+
+        if (aFlusher == null) {
+            return;
+        }
+
+        aFlusher.interrupt();
+        try {
+            aFlusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        final var aRemaining = new ArrayList<PendingWrite>();
+        this.pendingWrites.drainTo(aRemaining);
+        aRemaining.forEach(this::writeIndividually);
+        log.info("Event store group commit stopped, {} pending writes flushed", aRemaining.size());
+    }
+
+    public boolean isRunning() {
+        return this.flusher != null;
+    }
+
+    public void write(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<EventEnvelope> envelopes,
+            final AggregateSnapshot snapshot
+    ) {
+        write(aggregateId, expectedVersion, envelopes, snapshot, List.of());
+    }
+
+    public void write(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<EventEnvelope> envelopes,
+            final AggregateSnapshot snapshot,
+            final Collection<String> messageIds
+    ) {
+        rethrow(submit(aggregateId, expectedVersion, envelopes, snapshot, messageIds));
+    }
+
+    public CompletableFuture<Void> submit(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<EventEnvelope> envelopes,
+            final AggregateSnapshot snapshot
+    ) {
+        return submit(aggregateId, expectedVersion, envelopes, snapshot, List.of());
+    }
+
+    public CompletableFuture<Void> submit(
+            final String aggregateId,
+            final long expectedVersion,
+            final List<EventEnvelope> envelopes,
+            final AggregateSnapshot snapshot,
+            final Collection<String> messageIds
+    ) {
+        final var aPendingWrite = new PendingWrite(
+                aggregateId,
+                expectedVersion,
+                envelopes,
+                snapshot,
+                List.copyOf(messageIds)
+        );
+
+        // a caller already inside a transaction must write on it, the flusher thread would not join it
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !enqueue(aPendingWrite)) {
+            writeIndividually(aPendingWrite);
+        }
+        return aPendingWrite.result();
+    }
+
+    // checked under the lock of stop, so nothing is enqueued after stop drained the queue
+    private synchronized boolean enqueue(final PendingWrite aPendingWrite) {
+        if (!isRunning()) {
+            return false;
+        }
+        this.pendingWrites.add(aPendingWrite);
+        return true;
+    }
+
+    private void flushLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<PendingWrite> aBatch = List.of();
+            try {
+                aBatch = nextBatch();
+                if (!aBatch.isEmpty()) {
+                    flush(aBatch);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final Throwable e) {
+                // the callers of the batch must not wait for writes the flusher gave up on
+                log.error("Unexpected error on event store group commit flusher", e);
+                final var aException = EventStoreException.with("Group commit failed: " + e.getMessage());
+                aBatch.forEach(aPendingWrite -> aPendingWrite.result().completeExceptionally(aException));
+            }
+        }
+    }
+
+    private List<PendingWrite> nextBatch() throws InterruptedException {
+        final var aBatch = new ArrayList<PendingWrite>();
+        final var aFirst = this.pendingWrites.take();
+        aBatch.add(aFirst);
+
+        final var aMaxBatchSize = Math.max(1, this.eventStoreProperties.getGroupCommitMaxBatchSize());
+        final var aDeadline = System.nanoTime() + this.eventStoreProperties.getGroupCommitWindow().toNanos();
+
+        while (aBatch.size() < aMaxBatchSize) {
+            final var aRemaining = aDeadline - System.nanoTime();
+            if (aRemaining <= 0) {
+                this.pendingWrites.drainTo(aBatch, aMaxBatchSize - aBatch.size());
+                break;
+            }
+
+            try {
+                final var aNext = this.pendingWrites.poll(aRemaining, TimeUnit.NANOSECONDS);
+                if (aNext == null) {
+                    break;
+                }
+                aBatch.add(aNext);
+            } catch (final InterruptedException e) {
+                // the writes already taken must still be flushed before the flusher exits
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return aBatch;
+    }
+
+    private void flush(final List<PendingWrite> aBatch) {
+        if (aBatch.size() == 1) {
+            writeIndividually(aBatch.get(0));
+            return;
+        }
+
+        log.debug("Flushing group commit of {} writes", aBatch.size());
+
+        final var aTransactionResult = this.transactionManager.execute(() -> {
+            store(aBatch);
+            return true;
+        });
+
+        if (!aTransactionResult.isFailure()) {
+            aBatch.forEach(aPendingWrite -> aPendingWrite.result().complete(null));
+            log.info("Group commit of {} writes stored", aBatch.size());
+            return;
+        }
+
+        log.warn("Group commit of {} writes failed, retrying each write on its own transaction: {}",
+                aBatch.size(), aTransactionResult.getErrorResult().message());
+        aBatch.forEach(this::writeIndividually);
+    }
+
+    private void writeIndividually(final PendingWrite aPendingWrite) {
+        final var aTransactionResult = this.transactionManager.execute(() -> {
+            store(List.of(aPendingWrite));
+            return true;
+        });
+
+        if (!aTransactionResult.isFailure()) {
+            aPendingWrite.result().complete(null);
+            return;
+        }
+
+        aPendingWrite.result().completeExceptionally(toException(aPendingWrite, aTransactionResult));
+    }
+
+    private void store(final List<PendingWrite> aPendingWrites) {
+        storeInbox(aPendingWrites);
+
+        final var aEnvelopes = aPendingWrites.stream()
+                .flatMap(aPendingWrite -> aPendingWrite.envelopes().stream())
+                .toList();
+
+        log.debug("Saving events and outbox entries");
+        this.eventsJdbcRepository.insertAll(aEnvelopes);
+        this.outboxJdbcRepository.insertAll(aEnvelopes);
+        log.info("Events and outbox entries {} stored", aEnvelopes.size());
+
+        // delivered to the immediate outbox publisher only after this transaction commits
+        this.applicationEventPublisher.publishEvent(new OutboxEntriesStoredEvent(aEnvelopes.stream()
+                .map(OutboxEntry::from)
+                .toList()));
+
+        aPendingWrites.stream()
+                .map(PendingWrite::snapshot)
+                .filter(Objects::nonNull)
+                .forEach(aSnapshot -> {
+                    this.snapshotsRepository.save(SnapshotsJpaEntity.with(aSnapshot));
+                    log.info("Snapshot for aggregate {} stored at version {}",
+                            aSnapshot.aggregateId(), aSnapshot.aggregateVersion());
+                });
+    }
+
+    private void storeInbox(final List<PendingWrite> aPendingWrites) {
+        final var aProcessedAt = InstantUtils.now();
+        final var aEntries = aPendingWrites.stream()
+                .flatMap(aPendingWrite -> aPendingWrite.messageIds().stream()
+                        .map(aMessageId -> new InboxEntry(aMessageId, aPendingWrite.aggregateId(), aProcessedAt)))
+                .toList();
+
+        try {
+            this.inboxJdbcRepository.insertAll(aEntries);
+        } catch (final DuplicateKeyException e) {
+            // the failed insert is rolled back alone, the transaction can still tell which ids were processed
+            final var aProcessed = this.inboxJdbcRepository.findProcessed(aEntries.stream()
+                    .map(InboxEntry::messageId)
+                    .toList());
+            if (aProcessed.isEmpty()) {
+                throw e;
+            }
+            throw InboxDuplicateMessageException.with(aProcessed);
+        }
+    }
+
+    private static EventStoreException toException(
+            final PendingWrite aPendingWrite,
+            final TransactionResult<?> aTransactionResult
+    ) {
+        final var aDuplicateMessage = aTransactionResult.getErrorCause()
+                .filter(InboxDuplicateMessageException.class::isInstance)
+                .map(InboxDuplicateMessageException.class::cast);
+        if (aDuplicateMessage.isPresent()) {
+            log.info("Messages {} of aggregate {} were already processed",
+                    aDuplicateMessage.get().getMessageIds(), aPendingWrite.aggregateId());
+            return aDuplicateMessage.get();
+        }
+        if (aTransactionResult.getErrorCause().filter(EventStoreWriter::isAggregateVersionConflict).isPresent()) {
+            log.warn("Concurrency conflict storing events for aggregate {} at expected version {}",
+                    aPendingWrite.aggregateId(), aPendingWrite.expectedVersion());
+            return EventStoreConcurrencyException.with(aPendingWrite.aggregateId(), aPendingWrite.expectedVersion());
+        }
+        log.error("Error storing events");
+        return EventStoreException.with(aTransactionResult.getErrorResult().message());
+    }
+
+    // on timeout the write may still be committed later, a retry of the caller then fails on the aggregate version
+    private void rethrow(final CompletableFuture<Void> aResult) {
+        final var aTimeout = this.eventStoreProperties.getGroupCommitWriteTimeout();
+        try {
+            aResult.get(aTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException aRuntimeException) {
+                throw aRuntimeException;
+            }
+            throw EventStoreException.with(e.getMessage());
+        } catch (final TimeoutException e) {
+            throw EventStoreException.with("Write not stored after " + aTimeout);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EventStoreException.with("Interrupted waiting for the write to be stored");
+        }
+    }
+
+    // only the aggregate version key means another writer stored the version first, any other duplicate is a plain failure
+    private static boolean isAggregateVersionConflict(final Throwable aThrowable) {
+        return isDuplicateKey(aThrowable) && mentionsAggregateVersionConstraint(aThrowable);
+    }
+
+    private static boolean mentionsAggregateVersionConstraint(final Throwable aThrowable) {
+        Throwable aCurrent = aThrowable;
+        while (aCurrent != null) {
+            if (aCurrent.getMessage() != null
+                    && aCurrent.getMessage().toLowerCase(Locale.ROOT).contains(AGGREGATE_VERSION_CONSTRAINT)) {
+                return true;
+            }
+            aCurrent = aCurrent.getCause() == aCurrent ? null : aCurrent.getCause();
+        }
+        return false;
+    }
+
+    private static boolean isDuplicateKey(final Throwable aThrowable) {
+        Throwable aCurrent = aThrowable;
+        while (aCurrent != null) {
+            if (aCurrent instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (aCurrent instanceof SQLException aSqlException
+                    && (aSqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY_ERROR_CODE
+                    || UNIQUE_VIOLATION_SQL_STATE.equals(aSqlException.getSQLState()))) {
+                return true;
+            }
+            aCurrent = aCurrent.getCause() == aCurrent ? null : aCurrent.getCause();
+        }
+        return false;
+    }
+
+    private record PendingWrite(
+            String aggregateId,
+            long expectedVersion,
+            List<EventEnvelope> envelopes,
+            AggregateSnapshot snapshot,
+            List<String> messageIds,
+            CompletableFuture<Void> result
+    ) {
+
+        private PendingWrite(
+                final String aggregateId,
+                final long expectedVersion,
+                final List<EventEnvelope> envelopes,
+                final AggregateSnapshot snapshot,
+                final List<String> messageIds
+        ) {
+            this(aggregateId, expectedVersion, envelopes, snapshot, messageIds, new CompletableFuture<>());
+        }
+    }
+}
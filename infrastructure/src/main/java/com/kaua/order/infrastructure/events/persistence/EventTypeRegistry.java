@@ -0,0 +1,93 @@
+package com.kaua.order.infrastructure.events.persistence;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class EventTypeRegistry {
+
+    private static final String EVENTS_BASE_PACKAGE = "com.kaua.order.domain.order.events";
+    private static final String EVENT_TYPE_FIELD = "EVENT_TYPE";
+
+    private static final Logger log = LoggerFactory.getLogger(EventTypeRegistry.class);
+
+    private final Map<String, ObjectReader> readersByEventType;
+    private final Map<String, ObjectReader> readersByClassName = new ConcurrentHashMap<>();
+
+    public EventTypeRegistry() {
+        this.readersByEventType = Map.copyOf(scan(EVENTS_BASE_PACKAGE));
+        log.info("Event type registry initialized with types {}", this.readersByEventType.keySet());
+    }
+
+    public <T extends DomainEvent> T decode(final String eventType, final String eventClassName, final String payload) {
+        final var aReader = this.readersByEventType.containsKey(eventType)
+                ? this.readersByEventType.get(eventType)
+                : this.readersByClassName.computeIfAbsent(eventClassName, EventTypeRegistry::readerForClassName);
+
+        try {
+            return aReader.readValue(payload);
+        } catch (final IOException e) {
+            throw EventStoreException.with("Error while trying to deserialize event %s".formatted(e.getMessage()));
+        }
+    }
+
+    public Set<String> registeredTypes() {
+        return this.readersByEventType.keySet();
+    }
+
+    private static ObjectReader readerForClassName(final String aEventClassName) {
+        try {
+            log.warn("Event class {} is not registered by type, resolving by class name", aEventClassName);
+            return Json.readerFor(Class.forName(aEventClassName));
+        } catch (final ClassNotFoundException e) {
+            throw EventStoreException.with("Error while trying to deserialize event %s".formatted(
+                    e.getMessage()));
+        }
+    }
+
+    private static Map<String, ObjectReader> scan(final String aBasePackage) {
+        final var aScanner = new ClassPathScanningCandidateComponentProvider(false);
+        aScanner.addIncludeFilter(new AssignableTypeFilter(DomainEvent.class));
+
+        final var aReaders = new HashMap<String, ObjectReader>();
+
+        for (final var aCandidate : aScanner.findCandidateComponents(aBasePackage)) {
+            final var aEventClass = ClassUtils.resolveClassName(
+                    aCandidate.getBeanClassName(),
+                    EventTypeRegistry.class.getClassLoader()
+            );
+            final var aEventType = eventTypeOf(aEventClass);
+
+            if (aReaders.putIfAbsent(aEventType, Json.readerFor(aEventClass)) != null) {
+                throw new IllegalStateException("Duplicated event type %s in %s".formatted(
+                        aEventType, aEventClass.getName()));
+            }
+            log.debug("Registered event type {} for class {}", aEventType, aEventClass.getName());
+        }
+
+        return aReaders;
+    }
+
+    private static String eventTypeOf(final Class<?> aEventClass) {
+        try {
+            return (String) aEventClass.getField(EVENT_TYPE_FIELD).get(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Event class %s must declare a public static %s".formatted(
+                    aEventClass.getName(), EVENT_TYPE_FIELD), e);
+        }
+    }
+}
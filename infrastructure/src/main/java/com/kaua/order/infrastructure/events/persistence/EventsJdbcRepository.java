@@ -0,0 +1,102 @@
+package com.kaua.order.infrastructure.events.persistence;
+
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.infrastructure.events.EventEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+@Component
+public class EventsJdbcRepository {
+
+    private static final String INSERT_EVENT_QUERY = "INSERT INTO events (event_id, event_type, event_class_name, aggregate_id, aggregate_version, occurred_on, payload) VALUES (:event_id, :event_type, :event_class_name, :aggregate_id, :aggregate_version, :occurred_on, :payload)";
+
+    private static final String FOLD_EVENTS_QUERY = "SELECT event_type, event_class_name, payload FROM events WHERE aggregate_id = ? AND aggregate_version > ? ORDER BY aggregate_version";
+
+    private static final Logger log = LoggerFactory.getLogger(EventsJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EventTypeRegistry eventTypeRegistry;
+
+    public EventsJdbcRepository(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final EventTypeRegistry eventTypeRegistry
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.eventTypeRegistry = Objects.requireNonNull(eventTypeRegistry);
+    }
+
+    public void insertAll(final List<EventEnvelope> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final var aParameters = events.stream()
+                .map(EventsJdbcRepository::toParameters)
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(INSERT_EVENT_QUERY, aParameters);
+        log.debug("Batch inserted {} events", aParameters.length);
+    }
+
+    public <S> S fold(
+            final String aggregateId,
+            final long afterVersion,
+            final int fetchSize,
+            final S seed,
+            final BiFunction<S, DomainEvent, S> accumulator
+    ) {
+        final PreparedStatementCreator aStatementCreator = connection -> {
+            final var aStatement = connection.prepareStatement(
+                    FOLD_EVENTS_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            aStatement.setFetchSize(fetchSize);
+            aStatement.setString(1, aggregateId);
+            aStatement.setLong(2, afterVersion);
+            return aStatement;
+        };
+
+        final var aState = new AtomicReference<>(seed);
+        final var aRows = new AtomicInteger();
+
+        this.jdbcTemplate.getJdbcTemplate().query(aStatementCreator, (RowCallbackHandler) rs -> {
+            final DomainEvent aEvent = this.eventTypeRegistry.decode(
+                    rs.getString("event_type"),
+                    rs.getString("event_class_name"),
+                    rs.getString("payload")
+            );
+            aState.set(accumulator.apply(aState.get(), aEvent));
+            aRows.incrementAndGet();
+        });
+
+        log.debug("Folded {} events for aggregate {} after version {}", aRows.get(), aggregateId, afterVersion);
+        return aState.get();
+    }
+
+    private static SqlParameterSource toParameters(final EventEnvelope aEvent) {
+        return new MapSqlParameterSource()
+                .addValue("event_id", aEvent.eventId())
+                .addValue("event_type", aEvent.eventType())
+                .addValue("event_class_name", aEvent.eventClassName())
+                .addValue("aggregate_id", aEvent.aggregateId())
+                .addValue("aggregate_version", aEvent.aggregateVersion())
+                .addValue("occurred_on", LocalDateTime.ofInstant(aEvent.occurredOn(), ZoneOffset.UTC))
+                .addValue("payload", aEvent.payload());
+    }
+}
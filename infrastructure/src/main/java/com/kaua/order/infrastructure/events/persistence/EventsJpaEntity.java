@@ -1,8 +1,7 @@
 package com.kaua.order.infrastructure.events.persistence;
 
 import com.kaua.order.domain.events.DomainEvent;
-import com.kaua.order.infrastructure.configurations.json.Json;
-import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import com.kaua.order.infrastructure.events.EventEnvelope;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -57,25 +56,19 @@ public class EventsJpaEntity {
     }
 
     public static EventsJpaEntity with(final DomainEvent aEvent) {
-        return new EventsJpaEntity(
-                aEvent.eventId(),
-                aEvent.eventType(),
-                aEvent.eventClassName(),
-                aEvent.aggregateId(),
-                aEvent.aggregateVersion(),
-                aEvent.occurredOn(),
-                Json.writeValueAsString(aEvent)
-        );
+        return with(EventEnvelope.from(aEvent));
     }
 
-    public <T extends DomainEvent> T toDomainEvent() {
-        try {
-            // noinspection unchecked
-            return Json.readValue(getPayload(), (Class<T>) Class.forName(getEventClassName()));
-        } catch (final ClassNotFoundException e) {
-            throw EventStoreException.with("Error while trying to deserialize event %s".formatted(
-                    e.getMessage()));
-        }
+    public static EventsJpaEntity with(final EventEnvelope aEnvelope) {
+        return new EventsJpaEntity(
+                aEnvelope.eventId(),
+                aEnvelope.eventType(),
+                aEnvelope.eventClassName(),
+                aEnvelope.aggregateId(),
+                aEnvelope.aggregateVersion(),
+                aEnvelope.occurredOn(),
+                aEnvelope.payload()
+        );
     }
 
     public String getEventId() {
@@ -7,4 +7,6 @@ import java.util.List;
 public interface EventsJpaRepository extends JpaRepository<EventsJpaEntity, String> {
 
     List<EventsJpaEntity> findByAggregateId(String aggregateId);
+
+    List<EventsJpaEntity> findByAggregateIdAndAggregateVersionGreaterThan(String aggregateId, long aggregateVersion);
 }
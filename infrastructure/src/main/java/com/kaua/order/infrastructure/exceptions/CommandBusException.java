@@ -0,0 +1,18 @@
+package com.kaua.order.infrastructure.exceptions;
+
+import com.kaua.order.domain.exceptions.NoStackTraceException;
+
+public class CommandBusException extends NoStackTraceException {
+
+    private CommandBusException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+    public static CommandBusException with(final String message) {
+        return new CommandBusException(message, null);
+    }
+
+    public static CommandBusException with(final Throwable cause) {
+        return new CommandBusException(cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.kaua.order.infrastructure.exceptions;
+
+public class EventStoreConcurrencyException extends EventStoreException {
+
+    private EventStoreConcurrencyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public static EventStoreConcurrencyException with(final String aggregateId, final long expectedVersion) {
+        return new EventStoreConcurrencyException(
+                "Concurrency conflict on aggregate %s, expected version %d is no longer current"
+                        .formatted(aggregateId, expectedVersion),
+                null
+        );
+    }
+}
@@ -4,7 +4,7 @@ import com.kaua.order.domain.exceptions.NoStackTraceException;
 
 public class EventStoreException extends NoStackTraceException {
 
-    private EventStoreException(String message, Throwable cause) {
+    protected EventStoreException(String message, Throwable cause) {
         super(message, cause);
     }
 
@@ -0,0 +1,24 @@
+package com.kaua.order.infrastructure.exceptions;
+
+import java.util.List;
+
+public class InboxDuplicateMessageException extends EventStoreException {
+
+    private final List<String> messageIds;
+
+    private InboxDuplicateMessageException(String message, List<String> messageIds) {
+        super(message, null);
+        this.messageIds = messageIds;
+    }
+
+    public static InboxDuplicateMessageException with(final List<String> messageIds) {
+        return new InboxDuplicateMessageException(
+                "Messages %s were already processed".formatted(messageIds),
+                List.copyOf(messageIds)
+        );
+    }
+
+    public List<String> getMessageIds() {
+        return messageIds;
+    }
+}
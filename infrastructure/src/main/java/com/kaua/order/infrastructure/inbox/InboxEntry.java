@@ -0,0 +1,10 @@
+package com.kaua.order.infrastructure.inbox;
+
+import java.time.Instant;
+
+public record InboxEntry(
+        String messageId,
+        String aggregateId,
+        Instant processedAt
+) {
+}
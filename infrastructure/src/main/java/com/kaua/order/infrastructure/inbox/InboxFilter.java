@@ -0,0 +1,108 @@
+package com.kaua.order.infrastructure.inbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.inbox.InboxProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In memory front of the inbox table. Ids recently processed are answered
+ * from a bounded recent id cache, and a bloom filter lets the common not seen
+ * case skip the database lookup. Only a bloom filter hit, which may be a false
+ * positive, reads the inbox table. A miss is always safe: the inbox row is
+ * written in the same transaction as the events, so a duplicate that slips
+ * through is rejected by the inbox primary key.
+ */
+@Component
+public class InboxFilter implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxFilter.class);
+
+    private final InboxJdbcRepository inboxJdbcRepository;
+    private final InboxProperties inboxProperties;
+    private final RotatingBloomFilter bloomFilter;
+    private final Map<String, Boolean> recentIds;
+
+    public InboxFilter(
+            final InboxJdbcRepository inboxJdbcRepository,
+            final InboxProperties inboxProperties
+    ) {
+        this.inboxJdbcRepository = Objects.requireNonNull(inboxJdbcRepository);
+        this.inboxProperties = Objects.requireNonNull(inboxProperties);
+        this.bloomFilter = new RotatingBloomFilter(
+                inboxProperties.getFilterExpectedMessages(),
+                inboxProperties.getFilterFalsePositiveRate()
+        );
+        this.recentIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > inboxProperties.getRecentCapacity();
+            }
+        };
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!this.inboxProperties.isFilterEnabled()) {
+            return;
+        }
+
+        // ids redelivered after a rebalance are usually recent, seed the filter with them
+        try {
+            final var aProcessedAfter = InstantUtils.now().minus(this.inboxProperties.getWarmupWindow());
+            final var aMessageIds = this.inboxJdbcRepository.findProcessedAfter(
+                    aProcessedAfter,
+                    this.inboxProperties.getFilterExpectedMessages()
+            );
+            aMessageIds.forEach(this.bloomFilter::put);
+            log.info("Inbox filter warmed up with {} ids processed after {}", aMessageIds.size(), aProcessedAfter);
+        } catch (final Exception e) {
+            log.warn("Error warming up inbox filter, starting empty", e);
+        }
+    }
+
+    public boolean isProcessed(final String messageId) {
+        if (!this.inboxProperties.isFilterEnabled()) {
+            return this.inboxJdbcRepository.existsById(messageId);
+        }
+
+        synchronized (this.recentIds) {
+            if (this.recentIds.containsKey(messageId)) {
+                log.debug("Message {} found on recent inbox ids", messageId);
+                return true;
+            }
+        }
+
+        if (!this.bloomFilter.mightContain(messageId)) {
+            return false;
+        }
+
+        final var aProcessed = this.inboxJdbcRepository.existsById(messageId);
+        if (aProcessed) {
+            remember(messageId);
+        }
+        log.debug("Message {} may be processed, inbox table returned {}", messageId, aProcessed);
+        return aProcessed;
+    }
+
+    public void markProcessed(final String messageId) {
+        if (!this.inboxProperties.isFilterEnabled()) {
+            return;
+        }
+
+        this.bloomFilter.put(messageId);
+        remember(messageId);
+    }
+
+    private void remember(final String messageId) {
+        synchronized (this.recentIds) {
+            this.recentIds.put(messageId, Boolean.TRUE);
+        }
+    }
+}
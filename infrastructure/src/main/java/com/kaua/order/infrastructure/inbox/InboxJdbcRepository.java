@@ -0,0 +1,108 @@
+package com.kaua.order.infrastructure.inbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+public class InboxJdbcRepository {
+
+    private static final String INSERT_INBOX_QUERY = "INSERT INTO inbox (message_id, aggregate_id, processed_at) VALUES (:message_id, :aggregate_id, :processed_at)";
+    private static final String EXISTS_BY_ID_QUERY = "SELECT COUNT(*) FROM inbox WHERE message_id = :message_id";
+    private static final String SELECT_AGGREGATE_ID_QUERY = "SELECT aggregate_id FROM inbox WHERE message_id = :message_id";
+    private static final String SELECT_PROCESSED_QUERY = "SELECT message_id FROM inbox WHERE message_id IN (:message_ids)";
+    private static final String SELECT_PROCESSED_AFTER_QUERY = "SELECT message_id FROM inbox WHERE processed_at >= :processed_after ORDER BY processed_at DESC LIMIT :limit";
+    private static final String SELECT_PURGEABLE_QUERY = "SELECT message_id FROM inbox WHERE processed_at < :processed_before ORDER BY processed_at LIMIT :limit";
+    private static final String DELETE_BY_IDS_QUERY = "DELETE FROM inbox WHERE message_id IN (:message_ids)";
+
+    private static final Logger log = LoggerFactory.getLogger(InboxJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public InboxJdbcRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    public void insertAll(final List<InboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final var aParameters = entries.stream()
+                .map(aEntry -> new MapSqlParameterSource()
+                        .addValue("message_id", aEntry.messageId())
+                        .addValue("aggregate_id", aEntry.aggregateId())
+                        .addValue("processed_at", LocalDateTime.ofInstant(aEntry.processedAt(), ZoneOffset.UTC)))
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(INSERT_INBOX_QUERY, aParameters);
+        log.debug("Batch inserted {} inbox entries", aParameters.length);
+    }
+
+    public boolean existsById(final String messageId) {
+        final var aCount = this.jdbcTemplate.queryForObject(
+                EXISTS_BY_ID_QUERY,
+                new MapSqlParameterSource("message_id", messageId),
+                Long.class
+        );
+        return aCount != null && aCount > 0;
+    }
+
+    public Optional<String> findAggregateId(final String messageId) {
+        return this.jdbcTemplate.queryForList(
+                SELECT_AGGREGATE_ID_QUERY,
+                new MapSqlParameterSource("message_id", messageId),
+                String.class
+        ).stream().findFirst();
+    }
+
+    public List<String> findProcessed(final Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return List.of();
+        }
+
+        return this.jdbcTemplate.queryForList(
+                SELECT_PROCESSED_QUERY,
+                new MapSqlParameterSource("message_ids", messageIds),
+                String.class
+        );
+    }
+
+    public List<String> findProcessedAfter(final Instant processedAfter, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("processed_after", LocalDateTime.ofInstant(processedAfter, ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        return this.jdbcTemplate.queryForList(SELECT_PROCESSED_AFTER_QUERY, aParameters, String.class);
+    }
+
+    public int purgeProcessedBefore(final Instant processedBefore, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("processed_before", LocalDateTime.ofInstant(processedBefore, ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        // ids first so the delete only locks the rows of the batch, DELETE ... LIMIT is not portable
+        final var aMessageIds = this.jdbcTemplate.queryForList(SELECT_PURGEABLE_QUERY, aParameters, String.class);
+        if (aMessageIds.isEmpty()) {
+            return 0;
+        }
+
+        final var aDeleted = this.jdbcTemplate.update(
+                DELETE_BY_IDS_QUERY,
+                new MapSqlParameterSource("message_ids", aMessageIds)
+        );
+        log.debug("Purged {} inbox entries processed before {}", aDeleted, processedBefore);
+        return aDeleted;
+    }
+}
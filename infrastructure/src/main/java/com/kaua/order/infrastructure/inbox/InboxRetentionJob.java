@@ -0,0 +1,140 @@
+package com.kaua.order.infrastructure.inbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
+import com.kaua.order.infrastructure.configurations.properties.inbox.InboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Removes inbox rows processed longer ago than inbox.retention, in small
+ * throttled batches like the outbox purge. A message can only be redelivered
+ * while the broker still keeps it, so the retention has to cover the topic
+ * retention plus the longest retry delay, 8 days by default for the 7 days
+ * Kafka keeps records. Command status rows go with the same retention, a
+ * status left behind an inbox row would report a processed command as pending.
+ */
+@Component
+public class InboxRetentionJob implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InboxRetentionJob.class);
+
+    private final InboxJdbcRepository inboxJdbcRepository;
+    private final CommandStatusJdbcRepository commandStatusJdbcRepository;
+    private final TransactionManager transactionManager;
+    private final InboxProperties inboxProperties;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public InboxRetentionJob(
+            final InboxJdbcRepository inboxJdbcRepository,
+            final CommandStatusJdbcRepository commandStatusJdbcRepository,
+            final TransactionManager transactionManager,
+            final InboxProperties inboxProperties
+    ) {
+        this.inboxJdbcRepository = Objects.requireNonNull(inboxJdbcRepository);
+        this.commandStatusJdbcRepository = Objects.requireNonNull(commandStatusJdbcRepository);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.inboxProperties = Objects.requireNonNull(inboxProperties);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.inboxProperties.isRetentionEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("inbox-retention-"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::purgeSafely,
+                this.inboxProperties.getRetentionInterval().toMillis(),
+                this.inboxProperties.getRetentionInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        log.info("Inbox retention started keeping processed messages for {}", this.inboxProperties.getRetention());
+    }
+
+    public synchronized void stop() {
+        final var aScheduler = this.scheduler;
+        this.scheduler = null;
+
+        if (aScheduler == null) {
+            return;
+        }
+
+        aScheduler.shutdownNow();
+        log.info("Inbox retention stopped");
+    }
+
+    public int purge() {
+        final var aProcessedBefore = InstantUtils.now().minus(this.inboxProperties.getRetention());
+
+        final var aPurged = purge("inbox", aProcessedBefore, this.inboxJdbcRepository::purgeProcessedBefore)
+                + purge("command status", aProcessedBefore, this.commandStatusJdbcRepository::purgeUpdatedBefore);
+
+        log.info("Inbox retention purged {} entries processed before {}", aPurged, aProcessedBefore);
+        return aPurged;
+    }
+
+    private int purge(final String aName, final Instant aBefore, final BiFunction<Instant, Integer, Integer> aBatch) {
+        final var aBatchSize = this.inboxProperties.getRetentionBatchSize();
+        final var aPause = this.inboxProperties.getRetentionBatchPause().toMillis();
+
+        var aPurged = 0;
+        for (int i = 0; i < this.inboxProperties.getRetentionMaxBatchesPerRun(); i++) {
+            final var aResult = this.transactionManager.execute(() -> aBatch.apply(aBefore, aBatchSize));
+
+            if (aResult.isFailure()) {
+                log.error("Error purging {} entries: {}", aName, aResult.getErrorResult().message());
+                break;
+            }
+
+            aPurged += aResult.getSuccessResult();
+            if (aResult.getSuccessResult() < aBatchSize || !sleep(aPause)) {
+                break;
+            }
+        }
+        return aPurged;
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (final Exception e) {
+            log.error("Unexpected error on inbox retention", e);
+        }
+    }
+
+    private static boolean sleep(final long aMillis) {
+        try {
+            Thread.sleep(aMillis);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
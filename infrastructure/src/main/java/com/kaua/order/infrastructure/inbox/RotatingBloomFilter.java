@@ -0,0 +1,82 @@
+package com.kaua.order.infrastructure.inbox;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+/**
+ * Bloom filter kept in two generations so its memory stays bounded: once the
+ * current generation holds the expected number of ids it becomes the previous
+ * one and the oldest generation is dropped. Lookups check both generations.
+ */
+final class RotatingBloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int expectedInsertions;
+    private final int bitCount;
+    private final int hashCount;
+
+    private BitSet current;
+    private BitSet previous;
+    private int currentInsertions;
+
+    RotatingBloomFilter(final int expectedInsertions, final double falsePositiveRate) {
+        this.expectedInsertions = Math.max(1, expectedInsertions);
+
+        final var aRate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        final var aBits = Math.ceil(-this.expectedInsertions * Math.log(aRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 1, Math.max(64, aBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / this.expectedInsertions * Math.log(2)));
+
+        this.current = new BitSet(this.bitCount);
+        this.previous = new BitSet(this.bitCount);
+    }
+
+    synchronized void put(final String value) {
+        if (this.currentInsertions >= this.expectedInsertions) {
+            this.previous = this.current;
+            this.current = new BitSet(this.bitCount);
+            this.currentInsertions = 0;
+        }
+
+        final var aHash = hash(value);
+        for (int i = 0; i < this.hashCount; i++) {
+            this.current.set(index(aHash, i));
+        }
+        this.currentInsertions++;
+    }
+
+    synchronized boolean mightContain(final String value) {
+        final var aHash = hash(value);
+        return contains(this.current, aHash) || contains(this.previous, aHash);
+    }
+
+    private boolean contains(final BitSet aBits, final long aHash) {
+        for (int i = 0; i < this.hashCount; i++) {
+            if (!aBits.get(index(aHash, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // double hashing over the two halves of one 64 bit hash
+    private int index(final long aHash, final int aRound) {
+        final var aCombined = (int) aHash + aRound * (int) (aHash >>> 32);
+        return Math.floorMod(aCombined, this.bitCount);
+    }
+
+    private static long hash(final String value) {
+        var aHash = FNV_OFFSET_BASIS;
+        for (final var aByte : value.getBytes(StandardCharsets.UTF_8)) {
+            aHash ^= aByte & 0xff;
+            aHash *= FNV_PRIME;
+        }
+        // final avalanche so both halves are well mixed
+        aHash ^= aHash >>> 33;
+        aHash *= 0xff51afd7ed558ccdL;
+        aHash ^= aHash >>> 33;
+        return aHash;
+    }
+}
@@ -1,16 +1,28 @@
 package com.kaua.order.infrastructure.listeners;
 
 import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
 import com.kaua.order.infrastructure.exceptions.KafkaHeadersException;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessage;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
+import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
 import org.springframework.kafka.support.Acknowledgment;
 
+import java.math.BigInteger;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -19,36 +31,148 @@ import java.util.concurrent.TimeoutException;
 
 public abstract class EventListener {
 
+    private static final String RETRY_TOPIC_SUFFIX = "-retry-";
+
+    // the first @Backoff delay of the listeners
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(2);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ParkedMessageJdbcRepository parkedMessageJdbcRepository;
 
     protected EventListener(final KafkaTemplate<String, Object> kafkaTemplate) {
+        this(kafkaTemplate, null);
+    }
+
+    protected EventListener(
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final ParkedMessageJdbcRepository parkedMessageJdbcRepository
+    ) {
         this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate);
+        this.parkedMessageJdbcRepository = parkedMessageJdbcRepository;
     }
 
-    Instant getOccurredOnHeaderValue(final ConsumerRecord<String, String> message, final String headerName) {
+    Instant getOccurredOnHeaderValue(final ConsumerRecord<String, ?> message, final String headerName) {
         final var aOccurredOnHeader = getHeader(message, headerName);
         final var aOccurredOnString = new String(aOccurredOnHeader);
         return InstantUtils.fromString(aOccurredOnString).orElse(null);
     }
 
-    String getTypeHeaderValue(final ConsumerRecord<String, String> message, final String headerName) {
+    String getTypeHeaderValue(final ConsumerRecord<String, ?> message, final String headerName) {
         final var aEventTypeHeader = getHeader(message, headerName);
         return new String(aEventTypeHeader);
     }
 
-    String getIdHeaderValue(final ConsumerRecord<String, String> message, final String headerName) {
+    String getIdHeaderValue(final ConsumerRecord<String, ?> message, final String headerName) {
         final var aEventIdHeader = getHeader(message, headerName);
         return new String(aEventIdHeader);
     }
 
-    ProducerRecord<String, Object> createProducerRecordWithHeaders(final ConsumerRecord<String, String> message, final String topic) {
-        final var aProducerRecord = new ProducerRecord<String, Object>(topic, message.value());
+    ProducerRecord<String, Object> createProducerRecordWithHeaders(final ConsumerRecord<String, ?> message, final String topic) {
+        final var aProducerRecord = new ProducerRecord<String, Object>(topic, message.key(), message.value());
         message.headers().forEach(aProducerRecord.headers()::add);
         return aProducerRecord;
     }
 
+    // used off the consumer thread and by the batch listener, whose offsets are only acknowledged for the whole batch,
+    // so the record is sent without its offset
+    boolean publishToTopic(final ConsumerRecord<String, ?> message, final String topic, final Logger log) {
+        return send(createProducerRecordWithHeaders(message, topic), log);
+    }
+
+    // with a transactional producer on the consumer thread the republish and the consumed offset commit together,
+    // a crash in between can no longer publish the record again on redelivery. The offset is sent with the group
+    // metadata of the consumer, so a member fenced by a rebalance cannot commit it. Transactions are rejected with
+    // parallel processing at startup, only the consumer thread passes its consumer
+    void republish(final ConsumerRecord<String, ?> message, final String topic, final Consumer<?, ?> consumer)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final var aProducerRecord = createProducerRecordWithHeaders(message, topic);
+
+        if (!kafkaTemplate.isTransactional() || consumer == null) {
+            kafkaTemplate.send(aProducerRecord).get(1, TimeUnit.MINUTES);
+            return;
+        }
+
+        final var aGroupMetadata = consumer.groupMetadata();
+
+        try {
+            kafkaTemplate.executeInTransaction(it -> {
+                it.send(aProducerRecord);
+                it.sendOffsetsToTransaction(
+                        Map.of(
+                                new TopicPartition(message.topic(), message.partition()),
+                                new OffsetAndMetadata(message.offset() + 1)
+                        ),
+                        aGroupMetadata
+                );
+                return null;
+            });
+        } catch (final KafkaException | org.springframework.kafka.KafkaException e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    // the inbox row is stored with the events, a message already processed is acknowledged without handling it again
+    boolean skipIfProcessed(
+            final InboxFilter inboxFilter,
+            final String messageType,
+            final String messageId,
+            final Acknowledgment ack,
+            final Logger log
+    ) {
+        if (!inboxFilter.isProcessed(messageId)) {
+            return false;
+        }
+
+        log.info("{} {} already processed, skipping it", messageType, messageId);
+        ack.acknowledge();
+        return true;
+    }
+
+    // another delivery of the same message was stored first, its inbox row rejected this one
+    void skipDuplicate(
+            final InboxFilter inboxFilter,
+            final InboxDuplicateMessageException ex,
+            final Acknowledgment ack,
+            final Logger log
+    ) {
+        ex.getMessageIds().forEach(inboxFilter::markProcessed);
+        log.info("Messages {} already processed, skipping them", ex.getMessageIds());
+        ack.acknowledge();
+    }
+
+    boolean isRetryTopic(final ConsumerRecord<String, ?> message) {
+        return message.topic().contains(RETRY_TOPIC_SUFFIX);
+    }
+
+    // worker threads cannot rethrow into the retry topic error handler, so a failed record is published to the first retry topic
+    // with the headers its recoverer would add, the retry topic then waits the first backoff before consuming it. When the
+    // publish fails the record is nacked and the processor runs it again
+    void processOrPublishToRetryTopic(
+            final ConsumerRecord<String, ?> message,
+            final Acknowledgment ack,
+            final java.util.function.Consumer<Acknowledgment> process,
+            final Logger log
+    ) {
+        try {
+            process.accept(ack);
+        } catch (final Exception ex) {
+            final var aRetryTopic = message.topic() + RETRY_TOPIC_SUFFIX + "0";
+            log.error("Error processing message [topic:{}] [partition:{}] [offset:{}], sending to retry topic {}",
+                    message.topic(), message.partition(), message.offset(), aRetryTopic, ex);
+
+            final var aProducerRecord = createProducerRecordWithHeaders(message, aRetryTopic);
+            addFirstRetryHeaders(aProducerRecord, message);
+
+            if (send(aProducerRecord, log)) {
+                ack.acknowledge();
+            } else {
+                ack.nack(Duration.ofSeconds(5));
+            }
+        }
+    }
+
     void handlePublishMessageTimeout(
-            final ConsumerRecord<String, String> message,
+            final ConsumerRecord<String, ?> message,
             final String topic,
             final Acknowledgment ack,
             final Exception ex,
@@ -59,15 +183,16 @@ public abstract class EventListener {
     }
 
     void handlePublishMessageToRetryTopic(
-            final ConsumerRecord<String, String> message,
+            final ConsumerRecord<String, ?> message,
             final String topic,
             final Acknowledgment ack,
+            final Consumer<?, ?> consumer,
             final Logger log,
             final String typeHeader,
             final String idHeader
     ) {
         try {
-            kafkaTemplate.send(createProducerRecordWithHeaders(message, topic)).get(1, TimeUnit.MINUTES);
+            republish(message, topic, consumer);
             ack.acknowledge();
             final var aMessageType = getTypeHeaderValue(message, typeHeader);
             final var aMessageId = getIdHeaderValue(message, idHeader);
@@ -83,15 +208,16 @@ public abstract class EventListener {
     }
 
     void handleMessagingNotContainsHeaders(
-            final ConsumerRecord<String, String> message,
+            final ConsumerRecord<String, ?> message,
             final String topic,
             final Acknowledgment ack,
+            final Consumer<?, ?> consumer,
             final Logger log,
             final String errorMessage
     ) {
         message.headers().add("error_message", errorMessage.getBytes());
         try {
-            kafkaTemplate.send(createProducerRecordWithHeaders(message, topic)).get(1, TimeUnit.MINUTES);
+            republish(message, topic, consumer);
             ack.acknowledge();
             log.warn("Event sent to DLT topic: {}, because: {}, payload: {}",
                     topic,
@@ -104,9 +230,10 @@ public abstract class EventListener {
     }
 
     void handleMessagingErrorAndSendToDlt(
-            final ConsumerRecord<String, String> message,
+            final ConsumerRecord<String, ?> message,
             final String topic,
             final Acknowledgment ack,
+            final Consumer<?, ?> consumer,
             final Logger log,
             final String errorMessage,
             final String typeHeader,
@@ -114,7 +241,7 @@ public abstract class EventListener {
     ) {
         try {
             message.headers().add("error_message", errorMessage.getBytes());
-            kafkaTemplate.send(createProducerRecordWithHeaders(message, topic)).get(1, TimeUnit.MINUTES);
+            republish(message, topic, consumer);
             ack.acknowledge();
 
             final var aMessageType = getTypeHeaderValue(message, typeHeader);
@@ -132,10 +259,11 @@ public abstract class EventListener {
     }
 
     void handleMessagingTypeNotSupported(
-            final ConsumerRecord<String, String> message,
+            final ConsumerRecord<String, ?> message,
             final String messageType,
             final String dltTopic,
             final Acknowledgment ack,
+            final Consumer<?, ?> consumer,
             final Logger log,
             final String occurredOnHeader,
             final String typeHeader,
@@ -150,18 +278,91 @@ public abstract class EventListener {
                     message,
                     dltTopic,
                     ack,
+                    consumer,
                     log,
                     "Message type not supported after " + aDuration.toDays() + " days, type: " + messageType,
                     typeHeader,
                     idHeader
             );
-        } else {
+        } else if (!park(message, messageType, dltTopic, aOccurredOn, log)) {
             log.warn("Message type not supported: {}", messageType);
             ack.nack(Duration.ofSeconds(5));
+        } else {
+            ack.acknowledge();
+        }
+    }
+
+    // batch listeners acknowledge the whole batch, false tells the caller to nack the batch from this record
+    boolean parkOrSendToDlt(
+            final ConsumerRecord<String, ?> message,
+            final String messageType,
+            final String dltTopic,
+            final Logger log,
+            final String occurredOnHeader
+    ) {
+        final var aOccurredOn = getOccurredOnHeaderValue(message, occurredOnHeader);
+        final var aDuration = Duration.between(aOccurredOn, InstantUtils.now());
+
+        if (aDuration.toDays() < 7) {
+            return park(message, messageType, dltTopic, aOccurredOn, log);
+        }
+
+        final var aErrorMessage = "Message type not supported after " + aDuration.toDays() + " days, type: " + messageType;
+        message.headers().add("error_message", aErrorMessage.getBytes());
+        if (!publishToTopic(message, dltTopic, log)) {
+            return false;
         }
+        log.warn("Message with type {} not supported after {} days, sent to DLT: {}", messageType, aDuration.toDays(), dltTopic);
+        return true;
+    }
+
+    // a nack re-seeks the partition and holds every record behind this one, the parked record is replayed once its type has a handler
+    private boolean park(
+            final ConsumerRecord<String, ?> message,
+            final String messageType,
+            final String dltTopic,
+            final Instant occurredOn,
+            final Logger log
+    ) {
+        if (this.parkedMessageJdbcRepository == null) {
+            return false;
+        }
+
+        try {
+            this.parkedMessageJdbcRepository.park(ParkedMessage.from(message, messageType, dltTopic, occurredOn));
+            log.warn("Message type not supported, parked [type:{}] [topic:{}] [partition:{}] [offset:{}]",
+                    messageType, message.topic(), message.partition(), message.offset());
+            return true;
+        } catch (final DataAccessException e) {
+            log.error("Error parking message of type {}", messageType, e);
+            return false;
+        }
+    }
+
+    private boolean send(final ProducerRecord<String, Object> record, final Logger log) {
+        try {
+            kafkaTemplate.send(record).get(1, TimeUnit.MINUTES);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted sending message to topic {}: {}", record.topic(), record, e);
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Error on sending message to topic {}: {}", record.topic(), record, e);
+            return false;
+        }
+    }
+
+    // same encoding as the DeadLetterPublishingRecoverer of the retry topics, the record counts as its second attempt
+    private static void addFirstRetryHeaders(final ProducerRecord<String, Object> record, final ConsumerRecord<String, ?> message) {
+        final var aBackoffTimestamp = InstantUtils.now().plus(FIRST_RETRY_DELAY).toEpochMilli();
+
+        record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS, BigInteger.valueOf(2).toByteArray());
+        record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP, BigInteger.valueOf(aBackoffTimestamp).toByteArray());
+        record.headers().add(RetryTopicHeaders.DEFAULT_HEADER_ORIGINAL_TIMESTAMP, BigInteger.valueOf(message.timestamp()).toByteArray());
     }
 
-    private byte[] getHeader(final ConsumerRecord<String, String> message, final String headerName) {
+    private byte[] getHeader(final ConsumerRecord<String, ?> message, final String headerName) {
         return Optional.ofNullable(message.headers().lastHeader(headerName))
                 .map(Header::value)
                 .orElseThrow(() -> KafkaHeadersException.with("%s header not found".formatted(headerName)));
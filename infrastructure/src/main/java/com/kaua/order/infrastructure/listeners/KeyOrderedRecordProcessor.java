@@ -0,0 +1,251 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.kaua.order.infrastructure.configurations.properties.kafka.ParallelConsumerProperties;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fans records of a partition out to a worker pool, virtual threads when the
+ * runtime has them, while records with the same key still run one after the
+ * other in offset order. Records without key are ordered by partition. The
+ * acknowledgment handed to the task only marks the record as completed, the
+ * container is acknowledged through {@link PartitionWatermark}, so a commit
+ * never covers a record that is still running, and a nack or an unexpected
+ * error runs the record again on its worker. At most kafka.parallel.max-in-flight records are queued
+ * or running, after that the consumer thread waits up to acquire-timeout and
+ * then nacks the record so the container polls it again. When partitions are
+ * revoked their running records get up to revoke-timeout to finish before the
+ * container commits, then their state is dropped.
+ */
+@Component
+public class KeyOrderedRecordProcessor implements ConsumerAwareRebalanceListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedRecordProcessor.class);
+
+    private static final Duration BUSY_NACK_SLEEP = Duration.ofSeconds(1);
+    private static final Duration ERROR_NACK_SLEEP = Duration.ofSeconds(1);
+
+    private final ParallelConsumerProperties parallelConsumerProperties;
+    private final Map<TaskKey, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, PartitionWatermark> watermarks = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+
+    private volatile ExecutorService workers;
+
+    public KeyOrderedRecordProcessor(final ParallelConsumerProperties parallelConsumerProperties) {
+        this.parallelConsumerProperties = Objects.requireNonNull(parallelConsumerProperties);
+        this.inFlight = new Semaphore(Math.max(1, parallelConsumerProperties.getMaxInFlight()));
+    }
+
+    @Override
+    public void destroy() {
+        final var aWorkers = this.workers;
+        this.workers = null;
+
+        if (aWorkers == null) {
+            return;
+        }
+
+        aWorkers.shutdown();
+        try {
+            if (!aWorkers.awaitTermination(this.parallelConsumerProperties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                aWorkers.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            aWorkers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Key ordered record processor stopped");
+    }
+
+    public boolean isEnabled() {
+        return this.parallelConsumerProperties.isEnabled();
+    }
+
+    public void submit(
+            final ConsumerRecord<String, ?> record,
+            final Acknowledgment ack,
+            final Consumer<Acknowledgment> task
+    ) {
+        try {
+            // bounded well below max.poll.interval.ms, stuck workers must not get the consumer kicked out of the group
+            if (!this.inFlight.tryAcquire(this.parallelConsumerProperties.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("No worker available after {}, nack record [topic:{}] [partition:{}] [offset:{}]",
+                        this.parallelConsumerProperties.getAcquireTimeout(), record.topic(), record.partition(), record.offset());
+                ack.nack(BUSY_NACK_SLEEP);
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted waiting for a worker, nack record [topic:{}] [partition:{}] [offset:{}]",
+                    record.topic(), record.partition(), record.offset());
+            ack.nack(BUSY_NACK_SLEEP);
+            return;
+        }
+
+        final var aPartition = new TopicPartition(record.topic(), record.partition());
+        final var aWatermark = this.watermarks.computeIfAbsent(aPartition, it -> new PartitionWatermark());
+        final var aTrackedAck = aWatermark.track(record.offset(), ack);
+
+        final var aKey = new TaskKey(aPartition, record.key());
+        final var aWorkers = workers();
+
+        final var aNext = this.tails.compute(aKey, (it, aTail) -> (aTail == null
+                ? CompletableFuture.<Void>completedFuture(null)
+                : aTail).thenRunAsync(() -> run(record, aWatermark, aTrackedAck, task), aWorkers));
+
+        aNext.whenComplete((it, e) -> {
+            this.inFlight.release();
+            this.tails.remove(aKey, aNext);
+        });
+    }
+
+    long committed(final String topic, final int partition) {
+        final var aWatermark = this.watermarks.get(new TopicPartition(topic, partition));
+        return aWatermark == null ? -1 : aWatermark.committed();
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(
+            final org.apache.kafka.clients.consumer.Consumer<?, ?> consumer,
+            final Collection<TopicPartition> partitions
+    ) {
+        // runs on the consumer thread, what finishes in time is acknowledged and committed with the revoke
+        partitions.forEach(aPartition -> {
+            final var aWatermark = this.watermarks.get(aPartition);
+            if (aWatermark != null) {
+                aWatermark.closing();
+            }
+        });
+
+        final var aRunning = tailsOf(partitions).toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(aRunning)
+                    .get(this.parallelConsumerProperties.getRevokeTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            log.warn("Records of revoked partitions {} still running after {}, they will be redelivered to the new owner",
+                    partitions, this.parallelConsumerProperties.getRevokeTimeout());
+        }
+
+        close(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(
+            final org.apache.kafka.clients.consumer.Consumer<?, ?> consumer,
+            final Collection<TopicPartition> partitions
+    ) {
+        close(partitions);
+    }
+
+    private List<CompletableFuture<Void>> tailsOf(final Collection<TopicPartition> aPartitions) {
+        return this.tails.entrySet().stream()
+                .filter(aEntry -> aPartitions.contains(aEntry.getKey().partition()))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    private void close(final Collection<TopicPartition> aPartitions) {
+        aPartitions.forEach(aPartition -> {
+            final var aWatermark = this.watermarks.remove(aPartition);
+            if (aWatermark != null) {
+                aWatermark.close();
+            }
+        });
+        this.tails.keySet().removeIf(aKey -> aPartitions.contains(aKey.partition()));
+        log.debug("Dropped the in-flight state of partitions {}", aPartitions);
+    }
+
+    private void run(
+            final ConsumerRecord<String, ?> record,
+            final PartitionWatermark watermark,
+            final PartitionWatermark.TrackedAck ack,
+            final Consumer<Acknowledgment> task
+    ) {
+        try {
+            var aNacked = attempt(record, ack, task);
+            while (aNacked != null && !watermark.isClosing()) {
+                log.warn("Record [topic:{}] [partition:{}] [offset:{}] nacked, running it again in {}",
+                        record.topic(), record.partition(), record.offset(), aNacked);
+                Thread.sleep(aNacked.toMillis());
+                aNacked = attempt(record, ack, task);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // an error escaping the task is retried like a nack, holding the watermark would stall the partition until a rebalance
+    private Duration attempt(
+            final ConsumerRecord<String, ?> record,
+            final PartitionWatermark.TrackedAck ack,
+            final Consumer<Acknowledgment> task
+    ) {
+        try {
+            task.accept(ack);
+            return ack.takeNack();
+        } catch (final Throwable e) {
+            log.error("Unexpected error processing record [topic:{}] [partition:{}] [offset:{}], running it again in {}",
+                    record.topic(), record.partition(), record.offset(), ERROR_NACK_SLEEP, e);
+            ack.takeNack();
+            return ERROR_NACK_SLEEP;
+        }
+    }
+
+    private ExecutorService workers() {
+        var aWorkers = this.workers;
+        if (aWorkers == null) {
+            synchronized (this) {
+                aWorkers = this.workers;
+                if (aWorkers == null) {
+                    aWorkers = newWorkers();
+                    this.workers = aWorkers;
+                }
+            }
+        }
+        return aWorkers;
+    }
+
+    private ExecutorService newWorkers() {
+        if (this.parallelConsumerProperties.isVirtualThreads()) {
+            try {
+                final var aWorkers = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info("Key ordered record processor started on virtual threads");
+                return aWorkers;
+            } catch (final ReflectiveOperationException e) {
+                log.info("Virtual threads not available on this runtime, using platform workers");
+            }
+        }
+
+        final var aWorkerThreads = Math.max(1, this.parallelConsumerProperties.getWorkerThreads());
+        log.info("Key ordered record processor started with {} workers", aWorkerThreads);
+        return Executors.newFixedThreadPool(aWorkerThreads, new CustomizableThreadFactory("kafka-worker-"));
+    }
+
+    private record TaskKey(TopicPartition partition, String key) {
+    }
+}
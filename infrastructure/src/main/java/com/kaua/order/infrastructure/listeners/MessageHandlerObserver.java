@@ -0,0 +1,8 @@
+package com.kaua.order.infrastructure.listeners;
+
+import java.time.Duration;
+
+public interface MessageHandlerObserver {
+
+    void onHandled(String messageType, Duration elapsed, boolean succeeded);
+}
@@ -0,0 +1,87 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kaua.order.application.CommandHandler;
+import com.kaua.order.application.EventHandler;
+import com.kaua.order.domain.commands.InternalCommand;
+import com.kaua.order.domain.events.DomainEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public final class MessageHandlerRegistration<T> {
+
+    private final String messageType;
+    private final Class<T> payloadClass;
+    private final ObjectReader reader;
+    private final Consumer<T> handler;
+    private final Function<T, String> messageId;
+
+    private MessageHandlerRegistration(
+            final String messageType,
+            final Class<T> payloadClass,
+            final ObjectReader reader,
+            final Consumer<T> handler,
+            final Function<T, String> messageId
+    ) {
+        this.messageType = Objects.requireNonNull(messageType);
+        this.payloadClass = Objects.requireNonNull(payloadClass);
+        this.reader = Objects.requireNonNull(reader);
+        this.handler = Objects.requireNonNull(handler);
+        this.messageId = Objects.requireNonNull(messageId);
+    }
+
+    public static <T extends InternalCommand> MessageHandlerRegistration<T> forCommand(
+            final String commandType,
+            final Class<T> commandClass,
+            final ObjectReader reader,
+            final CommandHandler<T> handler
+    ) {
+        return new MessageHandlerRegistration<>(commandType, commandClass, reader, handler::handle, InternalCommand::commandId);
+    }
+
+    public static <T extends DomainEvent> MessageHandlerRegistration<T> forEvent(
+            final String eventType,
+            final Class<T> eventClass,
+            final ObjectReader reader,
+            final EventHandler<T> handler
+    ) {
+        return new MessageHandlerRegistration<>(eventType, eventClass, reader, handler::handle, DomainEvent::eventId);
+    }
+
+    // typed deserializer values are used as they are, plain text values are read with the pre-built reader
+    public T read(final Object payload) {
+        if (this.payloadClass.isInstance(payload)) {
+            return this.payloadClass.cast(payload);
+        }
+
+        try {
+            return this.reader.readValue(String.valueOf(payload));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Error reading %s payload".formatted(this.messageType), e);
+        }
+    }
+
+    public String messageId(final Object message) {
+        return this.messageId.apply(this.payloadClass.cast(message));
+    }
+
+    void handle(final Object message) {
+        this.handler.accept(this.payloadClass.cast(message));
+    }
+
+    public String messageType() {
+        return messageType;
+    }
+
+    public Class<T> payloadClass() {
+        return payloadClass;
+    }
+
+    public ObjectReader reader() {
+        return reader;
+    }
+}
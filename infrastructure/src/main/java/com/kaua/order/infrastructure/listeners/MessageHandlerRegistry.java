@@ -0,0 +1,150 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kaua.order.application.CommandHandler;
+import com.kaua.order.application.EventHandler;
+import com.kaua.order.domain.commands.InternalCommand;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps each command and event type to its payload class, reader and handler.
+ * Handler beans are discovered at startup, the message type is read from the
+ * COMMAND_TYPE or EVENT_TYPE constant of the handled class, so a new handler
+ * bean is enough to consume a new type. Every handled message is reported to
+ * the registered {@link MessageHandlerObserver}s with its elapsed time.
+ */
+@Component
+public class MessageHandlerRegistry {
+
+    private static final String COMMAND_TYPE_FIELD = "COMMAND_TYPE";
+    private static final String EVENT_TYPE_FIELD = "EVENT_TYPE";
+
+    private static final Logger log = LoggerFactory.getLogger(MessageHandlerRegistry.class);
+
+    private final Map<String, MessageHandlerRegistration<?>> commandRegistrations;
+    private final Map<String, MessageHandlerRegistration<?>> eventRegistrations;
+    private final List<MessageHandlerObserver> observers;
+
+    public MessageHandlerRegistry(
+            final List<CommandHandler<?>> commandHandlers,
+            final List<EventHandler<?>> eventHandlers,
+            final ObjectProvider<MessageHandlerObserver> observers
+    ) {
+        this.commandRegistrations = Map.copyOf(register(commandHandlers.stream()
+                .<MessageHandlerRegistration<?>>map(MessageHandlerRegistry::commandRegistration)
+                .toList()));
+        this.eventRegistrations = Map.copyOf(register(eventHandlers.stream()
+                .<MessageHandlerRegistration<?>>map(MessageHandlerRegistry::eventRegistration)
+                .toList()));
+        this.observers = observers.orderedStream().toList();
+        log.info("Message handler registry initialized with commands {} and events {}",
+                this.commandRegistrations.keySet(), this.eventRegistrations.keySet());
+    }
+
+    public Optional<MessageHandlerRegistration<?>> findCommand(final String commandType) {
+        return Optional.ofNullable(this.commandRegistrations.get(commandType));
+    }
+
+    public Optional<MessageHandlerRegistration<?>> findEvent(final String eventType) {
+        return Optional.ofNullable(this.eventRegistrations.get(eventType));
+    }
+
+    public Map<String, ObjectReader> readers() {
+        final var aReaders = new HashMap<String, ObjectReader>();
+        this.commandRegistrations.forEach((aType, aRegistration) -> aReaders.put(aType, aRegistration.reader()));
+        this.eventRegistrations.forEach((aType, aRegistration) -> aReaders.put(aType, aRegistration.reader()));
+        return Map.copyOf(aReaders);
+    }
+
+    public void handle(final MessageHandlerRegistration<?> registration, final Object message) {
+        final var aStart = System.nanoTime();
+        var aSucceeded = false;
+        try {
+            registration.handle(message);
+            aSucceeded = true;
+        } finally {
+            notifyObservers(registration.messageType(), Duration.ofNanos(System.nanoTime() - aStart), aSucceeded);
+        }
+    }
+
+    private void notifyObservers(final String aMessageType, final Duration aElapsed, final boolean aSucceeded) {
+        for (final var aObserver : this.observers) {
+            try {
+                aObserver.onHandled(aMessageType, aElapsed, aSucceeded);
+            } catch (final RuntimeException e) {
+                log.warn("Message handler observer {} failed for type {}", aObserver.getClass().getSimpleName(), aMessageType, e);
+            }
+        }
+    }
+
+    private static Map<String, MessageHandlerRegistration<?>> register(final List<MessageHandlerRegistration<?>> aRegistrations) {
+        final var aRegistered = new HashMap<String, MessageHandlerRegistration<?>>();
+
+        for (final var aRegistration : aRegistrations) {
+            if (aRegistered.putIfAbsent(aRegistration.messageType(), aRegistration) != null) {
+                throw new IllegalStateException("Duplicated handler for message type %s".formatted(
+                        aRegistration.messageType()));
+            }
+            log.debug("Registered handler for message type {} with payload {}",
+                    aRegistration.messageType(), aRegistration.payloadClass().getName());
+        }
+
+        return aRegistered;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends InternalCommand> MessageHandlerRegistration<T> commandRegistration(final CommandHandler<T> aHandler) {
+        final var aCommandClass = (Class<T>) payloadClassOf(aHandler, CommandHandler.class);
+        return MessageHandlerRegistration.forCommand(
+                messageTypeOf(aCommandClass, COMMAND_TYPE_FIELD),
+                aCommandClass,
+                Json.readerFor(aCommandClass),
+                aHandler
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends DomainEvent> MessageHandlerRegistration<T> eventRegistration(final EventHandler<T> aHandler) {
+        final var aEventClass = (Class<T>) payloadClassOf(aHandler, EventHandler.class);
+        return MessageHandlerRegistration.forEvent(
+                messageTypeOf(aEventClass, EVENT_TYPE_FIELD),
+                aEventClass,
+                Json.readerFor(aEventClass),
+                aHandler
+        );
+    }
+
+    private static Class<?> payloadClassOf(final Object aHandler, final Class<?> aHandlerType) {
+        final var aPayloadClass = GenericTypeResolver.resolveTypeArgument(
+                ClassUtils.getUserClass(aHandler.getClass()),
+                aHandlerType
+        );
+        if (aPayloadClass == null) {
+            throw new IllegalStateException("Could not resolve the handled type of %s".formatted(
+                    aHandler.getClass().getName()));
+        }
+        return aPayloadClass;
+    }
+
+    private static String messageTypeOf(final Class<?> aPayloadClass, final String aTypeField) {
+        try {
+            return (String) aPayloadClass.getField(aTypeField).get(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Message class %s must declare a public static %s".formatted(
+                    aPayloadClass.getName(), aTypeField), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.kaua.order.infrastructure.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class MessageHandlerTimings implements MessageHandlerObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageHandlerTimings.class);
+
+    @Override
+    public void onHandled(final String messageType, final Duration elapsed, final boolean succeeded) {
+        log.debug("Message type {} handled in {} ms, succeeded: {}", messageType, elapsed.toMillis(), succeeded);
+    }
+}
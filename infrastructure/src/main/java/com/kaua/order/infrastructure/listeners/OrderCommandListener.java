@@ -1,14 +1,17 @@
 package com.kaua.order.infrastructure.listeners;
 
-import com.kaua.order.application.handlers.commands.CreateOrderCommand;
-import com.kaua.order.application.handlers.create.AsyncCreateOrderHandler;
-import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
 import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
 import com.kaua.order.infrastructure.exceptions.KafkaHeadersException;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
+import org.springframework.dao.DataAccessException;
 import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
@@ -20,6 +23,7 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
+import java.util.Optional;
 
 @Component
 public class OrderCommandListener extends EventListener {
@@ -28,14 +32,24 @@ public class OrderCommandListener extends EventListener {
 
     private static final String ORDER_DLT_INVALID = "order-commands-dlt-invalid";
 
-    private final AsyncCreateOrderHandler asyncCreateOrderHandler;
+    private final MessageHandlerRegistry messageHandlerRegistry;
+    private final KeyOrderedRecordProcessor keyOrderedRecordProcessor;
+    private final InboxFilter inboxFilter;
+    private final CommandStatusJdbcRepository commandStatusJdbcRepository;
 
     public OrderCommandListener(
             final KafkaTemplate<String, Object> kafkaTemplate,
-            final AsyncCreateOrderHandler asyncCreateOrderHandler
+            final MessageHandlerRegistry messageHandlerRegistry,
+            final KeyOrderedRecordProcessor keyOrderedRecordProcessor,
+            final InboxFilter inboxFilter,
+            final ParkedMessageJdbcRepository parkedMessageJdbcRepository,
+            final CommandStatusJdbcRepository commandStatusJdbcRepository
     ) {
-        super(kafkaTemplate);
-        this.asyncCreateOrderHandler = Objects.requireNonNull(asyncCreateOrderHandler);
+        super(kafkaTemplate, parkedMessageJdbcRepository);
+        this.messageHandlerRegistry = Objects.requireNonNull(messageHandlerRegistry);
+        this.keyOrderedRecordProcessor = Objects.requireNonNull(keyOrderedRecordProcessor);
+        this.inboxFilter = Objects.requireNonNull(inboxFilter);
+        this.commandStatusJdbcRepository = Objects.requireNonNull(commandStatusJdbcRepository);
     }
 
     @KafkaListener(
@@ -60,64 +74,85 @@ public class OrderCommandListener extends EventListener {
             topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
     )
     public void onMessage(
-            @Payload final ConsumerRecord<String, String> record,
-            final Acknowledgment ack
+            @Payload final ConsumerRecord<String, ?> record,
+            final Acknowledgment ack,
+            final Consumer<?, ?> consumer
     ) {
         log.atLevel(Level.INFO).log("Message received from Kafka [topic:{}] [partition:{}] [offset:{}]: {}",
                 record.topic(), record.partition(), record.offset(), record.value());
 
-        try {
-            // TODO implement check inbox table to avoid processing duplicated messages
-            final var aCommandType = getTypeHeaderValue(record, HeadersConstants.COMMAND_TYPE);
+        // retry topics keep running on the consumer thread so their failures reach the retry topic error handler
+        if (!this.keyOrderedRecordProcessor.isEnabled() || isRetryTopic(record)) {
+            process(record, ack, consumer);
+            return;
+        }
 
-            final var aPayload = record.value();
+        this.keyOrderedRecordProcessor.submit(record, ack, aTrackedAck ->
+                processOrPublishToRetryTopic(record, aTrackedAck, it -> process(record, it, null), log));
+    }
 
-            switch (aCommandType) {
-                case CreateOrderCommand.COMMAND_TYPE -> {
-                    log.debug("Handling CreateOrderCommand");
-                    final var aCommand = Json.readValue(aPayload, CreateOrderCommand.class);
+    private void process(final ConsumerRecord<String, ?> record, final Acknowledgment ack, final Consumer<?, ?> consumer) {
+        try {
+            final var aCommandType = getTypeHeaderValue(record, HeadersConstants.COMMAND_TYPE);
+            final var aRegistration = this.messageHandlerRegistry.findCommand(aCommandType).orElse(null);
 
-                    log.debug("Deserialized command and handling: {}", aCommand);
-                    this.asyncCreateOrderHandler.handle(aCommand);
-                    ack.acknowledge();
-                    log.info("CreateOrderCommand processed {}", aCommand);
-                }
-                default -> handleMessagingTypeNotSupported(
+            if (aRegistration == null) {
+                markFailed(record, "Command type not supported: " + aCommandType);
+                handleMessagingTypeNotSupported(
                         record,
                         aCommandType,
                         ORDER_DLT_INVALID,
                         ack,
+                        consumer,
                         log,
                         HeadersConstants.COMMAND_OCCURRED_ON,
                         HeadersConstants.COMMAND_TYPE,
                         HeadersConstants.COMMAND_ID
                 );
+                return;
+            }
+
+            log.debug("Handling {}", aCommandType);
+            final var aCommand = aRegistration.read(record.value());
+            final var aCommandId = aRegistration.messageId(aCommand);
+
+            if (skipIfProcessed(this.inboxFilter, aCommandType, aCommandId, ack, log)) {
+                return;
             }
+
+            log.debug("Deserialized command and handling: {}", aCommand);
+            this.messageHandlerRegistry.handle(aRegistration, aCommand);
+            this.inboxFilter.markProcessed(aCommandId);
+            ack.acknowledge();
+            log.info("{} processed {}", aCommandType, aCommand);
         } catch (final KafkaHeadersException ex) {
+            markFailed(record, ex.getMessage());
             handleMessagingNotContainsHeaders(
                     record,
                     ORDER_DLT_INVALID,
                     ack,
+                    consumer,
                     log,
                     ex.getMessage()
             );
-        } catch (final Exception ex) {
-            // TODO: delete message from inbox table
-            // and retry message
-            throw ex;
+        } catch (final InboxDuplicateMessageException ex) {
+            skipDuplicate(this.inboxFilter, ex, ack, log);
         }
     }
 
     @DltHandler
     public void onDltMessage(
-            @Payload ConsumerRecord<String, String> record,
-            final Acknowledgment acknowledgment
+            @Payload ConsumerRecord<String, ?> record,
+            final Acknowledgment acknowledgment,
+            final Consumer<?, ?> consumer
     ) {
         log.atLevel(Level.WARN).log("Message received from Kafka at DLT [topic:{}] [partition:{}] [offset:{}]: {}",
                 record.topic(), record.partition(), record.offset(), record.value());
 
         final var aTopicRetry = new String(record.headers().lastHeader("kafka_original-topic").value());
 
+        markFailed(record, "Retries exhausted on " + aTopicRetry);
+
         log.debug("Retrying message from DLT [topic:{}] [partition:{}] [offset:{}]: {}",
                 aTopicRetry, record.partition(), record.offset(), record.value());
 
@@ -125,9 +160,28 @@ public class OrderCommandListener extends EventListener {
                 record,
                 aTopicRetry,
                 acknowledgment,
+                consumer,
                 log,
                 HeadersConstants.COMMAND_TYPE,
                 HeadersConstants.COMMAND_ID
         );
     }
+
+    // the status endpoint reports FAILED until a later delivery of the command reaches the inbox,
+    // recording it must not hold the record, so an error here is only logged
+    private void markFailed(final ConsumerRecord<String, ?> record, final String reason) {
+        final var aCommandId = Optional.ofNullable(record.headers().lastHeader(HeadersConstants.COMMAND_ID))
+                .map(it -> new String(it.value()))
+                .orElse(null);
+
+        if (aCommandId == null) {
+            return;
+        }
+
+        try {
+            this.commandStatusJdbcRepository.failed(aCommandId, reason);
+        } catch (final DataAccessException e) {
+            log.error("Error recording failure of command {}", aCommandId, e);
+        }
+    }
 }
@@ -0,0 +1,228 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.kaua.order.application.handlers.update.batch.OrderExternalEventsBatchHandler;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Batch mode of {@link OrderExternalEventsListener}, enabled with
+ * kafka.consumers.orders-external-events.batch-enabled. A poll batch is
+ * grouped by order and every order is loaded, updated and saved once. Failures
+ * are handled per order: failed orders are retried in process with the same
+ * backoff as the retry topics (retry topics are not available to batch
+ * listeners) and, after max-attempts, their records are parked on the retry
+ * DLT topic so the single record listener replays them once batch mode is off.
+ * Event types are resolved through the {@link MessageHandlerRegistry} and
+ * records of a type without a handler are parked like on the single record
+ * listener.
+ */
+@Component
+public class OrderExternalEventsBatchListener extends EventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExternalEventsBatchListener.class);
+
+    private static final String ORDER_DLT_INVALID = "order-external-events-dlt-invalid";
+    private static final String RETRY_DLT_SUFFIX = "-retry-dlt";
+    private static final String ORIGINAL_TOPIC_HEADER = "kafka_original-topic";
+
+    // same as the retry topics of the single record listener, delay 2 seconds, multiplier 2
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(2);
+    private static final int BACKOFF_MULTIPLIER = 2;
+
+    private final MessageHandlerRegistry messageHandlerRegistry;
+    private final OrderExternalEventsBatchHandler orderExternalEventsBatchHandler;
+    private final InboxFilter inboxFilter;
+    private final int maxAttempts;
+
+    public OrderExternalEventsBatchListener(
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final MessageHandlerRegistry messageHandlerRegistry,
+            final OrderExternalEventsBatchHandler orderExternalEventsBatchHandler,
+            final InboxFilter inboxFilter,
+            final ParkedMessageJdbcRepository parkedMessageJdbcRepository,
+            @Value("${kafka.consumers.orders-external-events.max-attempts}") final int maxAttempts
+    ) {
+        super(kafkaTemplate, Objects.requireNonNull(parkedMessageJdbcRepository));
+        this.messageHandlerRegistry = Objects.requireNonNull(messageHandlerRegistry);
+        this.orderExternalEventsBatchHandler = Objects.requireNonNull(orderExternalEventsBatchHandler);
+        this.inboxFilter = Objects.requireNonNull(inboxFilter);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @KafkaListener(
+            concurrency = "${kafka.consumers.orders-external-events.concurrency}",
+            containerFactory = "kafkaBatchListenerFactory",
+            topics = {
+                    "${kafka.consumers.orders-external-events.topics.[0]}",
+                    "${kafka.consumers.orders-external-events.topics.[1]}",
+            },
+            groupId = "${kafka.consumers.orders-external-events.group-id}",
+            // generate a random id for the consumer
+            id = "${kafka.consumers.orders-external-events.id}-batch-#{T(java.util.UUID).randomUUID().toString()}",
+            autoStartup = "${kafka.consumers.orders-external-events.batch-enabled:false}",
+            properties = {
+                    "auto.offset.reset=${kafka.consumers.orders-external-events.auto-offset-reset}"
+            }
+    )
+    public void onMessages(
+            @Payload final List<ConsumerRecord<String, String>> records,
+            final Acknowledgment ack
+    ) {
+        log.info("Batch of {} messages received from Kafka", records.size());
+
+        final var aOrders = new LinkedHashMap<String, OrderBatch>();
+
+        for (int i = 0; i < records.size(); i++) {
+            final var aRecord = records.get(i);
+            final var aIndex = i;
+
+            final DomainEvent aEvent;
+            try {
+                final var aEventType = getTypeHeaderValue(aRecord, HeadersConstants.EVENT_TYPE);
+                final var aRegistration = this.messageHandlerRegistry.findEvent(aEventType).orElse(null);
+                if (aRegistration == null) {
+                    if (!parkOrSendToDlt(aRecord, aEventType, ORDER_DLT_INVALID, log, HeadersConstants.EVENT_OCCURRED_ON)) {
+                        ack.nack(aIndex, Duration.ofSeconds(5));
+                        return;
+                    }
+                    continue;
+                }
+                // registered events are all domain events, their registration reads them with the pre-built reader
+                aEvent = (DomainEvent) aRegistration.read(aRecord.value());
+            } catch (final RuntimeException ex) {
+                // missing headers and malformed payloads fail on every delivery, only this record
+                // goes to the DLT and the rest of the batch is still handled
+                final var aErrorMessage = String.valueOf(ex.getMessage());
+                aRecord.headers().add("error_message", aErrorMessage.getBytes());
+                if (!publishToTopic(aRecord, ORDER_DLT_INVALID, log)) {
+                    ack.nack(aIndex, Duration.ofSeconds(5));
+                    return;
+                }
+                log.warn("Event sent to DLT topic: {}, because: {}, payload: {}",
+                        ORDER_DLT_INVALID, aErrorMessage, aRecord.value());
+                continue;
+            }
+
+            if (this.inboxFilter.isProcessed(aEvent.eventId())) {
+                log.info("Event {} already processed, skipping it", aEvent.eventId());
+                continue;
+            }
+            aOrders.computeIfAbsent(aEvent.aggregateId(), aOrderId -> new OrderBatch(aOrderId, aIndex))
+                    .add(aRecord, aEvent);
+        }
+
+        final var aFailed = handleWithRetries(aOrders.values());
+
+        for (final var aOrder : aFailed) {
+            for (final var aRecord : aOrder.records) {
+                final var aDltTopic = aRecord.topic() + RETRY_DLT_SUFFIX;
+                aRecord.headers().add(ORIGINAL_TOPIC_HEADER, aRecord.topic().getBytes());
+
+                if (!publishToTopic(aRecord, aDltTopic, log)) {
+                    ack.nack(aOrder.firstIndex, Duration.ofSeconds(5));
+                    return;
+                }
+            }
+            log.warn("Order {} failed after {} attempts, {} events parked on retry DLT",
+                    aOrder.orderId, this.maxAttempts, aOrder.records.size());
+        }
+
+        ack.acknowledge();
+        log.info("Batch of {} messages processed for {} orders, {} orders failed",
+                records.size(), aOrders.size(), aFailed.size());
+    }
+
+    private List<OrderBatch> handleWithRetries(final Iterable<OrderBatch> aOrders) {
+        var aPending = new ArrayList<OrderBatch>();
+        aOrders.forEach(aPending::add);
+
+        var aBackoff = INITIAL_BACKOFF;
+        for (int aAttempt = 1; aAttempt <= this.maxAttempts && !aPending.isEmpty(); aAttempt++) {
+            if (aAttempt > 1 && !sleep(aBackoff)) {
+                break;
+            }
+            if (aAttempt > 1) {
+                aBackoff = aBackoff.multipliedBy(BACKOFF_MULTIPLIER);
+            }
+
+            final var aFailed = new ArrayList<OrderBatch>();
+            for (final var aOrder : aPending) {
+                try {
+                    this.orderExternalEventsBatchHandler.handle(aOrder.orderId, List.copyOf(aOrder.events));
+                    aOrder.events.forEach(aEvent -> this.inboxFilter.markProcessed(aEvent.eventId()));
+                    log.debug("Order {} updated with {} external events", aOrder.orderId, aOrder.events.size());
+                } catch (final InboxDuplicateMessageException ex) {
+                    // the order is retried without the events another delivery already stored
+                    ex.getMessageIds().forEach(this.inboxFilter::markProcessed);
+                    aOrder.skip(ex.getMessageIds());
+                    log.info("Events {} of order {} already processed, skipping them", ex.getMessageIds(), aOrder.orderId);
+                    if (!aOrder.events.isEmpty()) {
+                        aFailed.add(aOrder);
+                    }
+                } catch (final Exception ex) {
+                    log.error("Error handling {} external events of order {} on attempt {}",
+                            aOrder.events.size(), aOrder.orderId, aAttempt, ex);
+                    aFailed.add(aOrder);
+                }
+            }
+            aPending = aFailed;
+        }
+        return aPending;
+    }
+
+    private static boolean sleep(final Duration aDuration) {
+        try {
+            Thread.sleep(aDuration.toMillis());
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class OrderBatch {
+
+        private final String orderId;
+        private final int firstIndex;
+        private final List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        private final List<DomainEvent> events = new ArrayList<>();
+
+        private OrderBatch(final String orderId, final int firstIndex) {
+            this.orderId = orderId;
+            this.firstIndex = firstIndex;
+        }
+
+        private void add(final ConsumerRecord<String, String> aRecord, final DomainEvent aEvent) {
+            this.records.add(aRecord);
+            this.events.add(aEvent);
+        }
+
+        private void skip(final Collection<String> aEventIds) {
+            for (int i = this.events.size() - 1; i >= 0; i--) {
+                if (aEventIds.contains(this.events.get(i).eventId())) {
+                    this.events.remove(i);
+                    this.records.remove(i);
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.kaua.order.infrastructure.listeners;
 
-import com.kaua.order.application.handlers.update.paymenttax.PaymentTaxOrderHandler;
-import com.kaua.order.application.handlers.update.shippingcost.ShippingCostOrderHandler;
-import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
-import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
-import com.kaua.order.infrastructure.configurations.json.Json;
 import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
 import com.kaua.order.infrastructure.exceptions.KafkaHeadersException;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,17 +29,21 @@ public class OrderExternalEventsListener extends EventListener {
 
     private static final String ORDER_DLT_INVALID = "order-external-events-dlt-invalid";
 
-    private final ShippingCostOrderHandler shippingCostOrderHandler;
-    private final PaymentTaxOrderHandler paymentTaxOrderHandler;
+    private final MessageHandlerRegistry messageHandlerRegistry;
+    private final KeyOrderedRecordProcessor keyOrderedRecordProcessor;
+    private final InboxFilter inboxFilter;
 
     public OrderExternalEventsListener(
             final KafkaTemplate<String, Object> kafkaTemplate,
-            final ShippingCostOrderHandler shippingCostOrderHandler,
-            final PaymentTaxOrderHandler paymentTaxOrderHandler
+            final MessageHandlerRegistry messageHandlerRegistry,
+            final KeyOrderedRecordProcessor keyOrderedRecordProcessor,
+            final InboxFilter inboxFilter,
+            final ParkedMessageJdbcRepository parkedMessageJdbcRepository
     ) {
-        super(kafkaTemplate);
-        this.shippingCostOrderHandler = Objects.requireNonNull(shippingCostOrderHandler);
-        this.paymentTaxOrderHandler = Objects.requireNonNull(paymentTaxOrderHandler);
+        super(kafkaTemplate, parkedMessageJdbcRepository);
+        this.messageHandlerRegistry = Objects.requireNonNull(messageHandlerRegistry);
+        this.keyOrderedRecordProcessor = Objects.requireNonNull(keyOrderedRecordProcessor);
+        this.inboxFilter = Objects.requireNonNull(inboxFilter);
     }
 
     @KafkaListener(
@@ -53,6 +56,8 @@ public class OrderExternalEventsListener extends EventListener {
             groupId = "${kafka.consumers.orders-external-events.group-id}",
             // generate a random id for the consumer
             id = "${kafka.consumers.orders-external-events.id}-#{T(java.util.UUID).randomUUID().toString()}",
+            // the batch listener consumes the same topics when batch mode is enabled
+            autoStartup = "#{!${kafka.consumers.orders-external-events.batch-enabled:false}}",
             properties = {
                     "auto.offset.reset=${kafka.consumers.orders-external-events.auto-offset-reset}"
             }
@@ -66,71 +71,75 @@ public class OrderExternalEventsListener extends EventListener {
             topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE
     )
     public void onMessage(
-            @Payload final ConsumerRecord<String, String> record,
-            final Acknowledgment ack
+            @Payload final ConsumerRecord<String, ?> record,
+            final Acknowledgment ack,
+            final Consumer<?, ?> consumer
     ) {
         log.atLevel(Level.INFO).log("Message received from Kafka [topic:{}] [partition:{}] [offset:{}]: {}",
                 record.topic(), record.partition(), record.offset(), record.value());
 
+        // retry topics keep running on the consumer thread so their failures reach the retry topic error handler
+        if (!this.keyOrderedRecordProcessor.isEnabled() || isRetryTopic(record)) {
+            process(record, ack, consumer);
+            return;
+        }
+
+        this.keyOrderedRecordProcessor.submit(record, ack, aTrackedAck ->
+                processOrPublishToRetryTopic(record, aTrackedAck, it -> process(record, it, null), log));
+    }
+
+    private void process(final ConsumerRecord<String, ?> record, final Acknowledgment ack, final Consumer<?, ?> consumer) {
         try {
-            // TODO implement check inbox table to avoid processing duplicated messages
             final var aEventType = getTypeHeaderValue(record, HeadersConstants.EVENT_TYPE);
+            final var aRegistration = this.messageHandlerRegistry.findEvent(aEventType).orElse(null);
 
-            final var aPayload = record.value();
-
-            switch (aEventType) {
-                case ShippingCostCalculatedEvent.EVENT_TYPE -> {
-                    log.debug("Handling ShippingCostCalculatedEvent");
-                    final var aEvent = Json.readValue(aPayload, ShippingCostCalculatedEvent.class);
-
-                    log.debug("Deserialized {} event and handling: {}", aEvent.eventType(), aEvent);
-                    this.shippingCostOrderHandler.handle(aEvent);
-                    ack.acknowledge();
-                    // talvez aqui mostrar algo mais atualizado ou melhor
-                    log.info("ShippingCostCalculatedEvent processed {}", aEvent);
-                }
-                case PaymentTaxCalculatedEvent.EVENT_TYPE -> {
-                    log.debug("Handling PaymentTaxCalculatedEvent");
-                    final var aEvent = Json.readValue(aPayload, PaymentTaxCalculatedEvent.class);
-
-                    // melhorar esse logs de debug
-                    log.debug("Deserialized {} event and handling: {}", aEvent.eventType(), aEvent);
-                    this.paymentTaxOrderHandler.handle(aEvent);
-                    ack.acknowledge();
-                    // talvez aqui mostrar algo mais atualizado ou melhor
-                    log.info("PaymentTaxCalculatedEvent processed {}", aEvent);
-
-                }
-                default -> handleMessagingTypeNotSupported(
+            if (aRegistration == null) {
+                handleMessagingTypeNotSupported(
                         record,
                         aEventType,
                         ORDER_DLT_INVALID,
                         ack,
+                        consumer,
                         log,
                         HeadersConstants.EVENT_OCCURRED_ON,
                         HeadersConstants.EVENT_TYPE,
                         HeadersConstants.EVENT_ID
                 );
+                return;
             }
+
+            log.debug("Handling {}", aEventType);
+            final var aEvent = aRegistration.read(record.value());
+            final var aEventId = aRegistration.messageId(aEvent);
+
+            if (skipIfProcessed(this.inboxFilter, aEventType, aEventId, ack, log)) {
+                return;
+            }
+
+            log.debug("Deserialized {} event and handling: {}", aEventType, aEvent);
+            this.messageHandlerRegistry.handle(aRegistration, aEvent);
+            this.inboxFilter.markProcessed(aEventId);
+            ack.acknowledge();
+            log.info("{} processed {}", aEventType, aEvent);
         } catch (final KafkaHeadersException ex) {
             handleMessagingNotContainsHeaders(
                     record,
                     ORDER_DLT_INVALID,
                     ack,
+                    consumer,
                     log,
                     ex.getMessage()
             );
-        } catch (final Exception ex) {
-            // TODO: delete message from inbox table
-            // and retry message
-            throw ex;
+        } catch (final InboxDuplicateMessageException ex) {
+            skipDuplicate(this.inboxFilter, ex, ack, log);
         }
     }
 
     @DltHandler
     public void onDltMessage(
-            @Payload ConsumerRecord<String, String> record,
-            final Acknowledgment acknowledgment
+            @Payload ConsumerRecord<String, ?> record,
+            final Acknowledgment acknowledgment,
+            final Consumer<?, ?> consumer
     ) {
         log.atLevel(Level.WARN).log("Message received from Kafka at DLT [topic:{}] [partition:{}] [offset:{}]: {}",
                 record.topic(), record.partition(), record.offset(), record.value());
@@ -144,6 +153,7 @@ public class OrderExternalEventsListener extends EventListener {
                 record,
                 aTopicRetry,
                 acknowledgment,
+                consumer,
                 log,
                 HeadersConstants.EVENT_TYPE,
                 HeadersConstants.EVENT_ID
@@ -0,0 +1,110 @@
+package com.kaua.order.infrastructure.listeners;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.TreeMap;
+
+/**
+ * Offsets of one partition that were handed to workers and not committed yet.
+ * Records complete in any order, but only the acknowledgment of the highest
+ * offset below the first still running record is forwarded, so the committed
+ * offset never skips a record that was not processed. Once the partition is
+ * closed, on revoke, nothing is forwarded anymore.
+ */
+class PartitionWatermark {
+
+    private final TreeMap<Long, Slot> pending = new TreeMap<>();
+
+    private long committed = -1;
+    private volatile boolean closing;
+    private boolean closed;
+
+    synchronized TrackedAck track(final long offset, final Acknowledgment ack) {
+        this.pending.put(offset, new Slot(ack));
+        return new TrackedAck(offset);
+    }
+
+    synchronized long committed() {
+        return this.committed;
+    }
+
+    synchronized int pending() {
+        return this.pending.size();
+    }
+
+    // nacked records stop retrying, completed ones are still forwarded until close
+    void closing() {
+        this.closing = true;
+    }
+
+    boolean isClosing() {
+        return this.closing;
+    }
+
+    synchronized void close() {
+        this.closing = true;
+        this.closed = true;
+        this.pending.clear();
+    }
+
+    private synchronized void complete(final long offset) {
+        final var aSlot = this.pending.get(offset);
+        if (this.closed || aSlot == null) {
+            return;
+        }
+        aSlot.done = true;
+
+        Acknowledgment aWatermark = null;
+        while (!this.pending.isEmpty() && this.pending.firstEntry().getValue().done) {
+            final var aEntry = this.pending.pollFirstEntry();
+            this.committed = aEntry.getKey();
+            aWatermark = aEntry.getValue().ack;
+        }
+
+        if (aWatermark != null) {
+            aWatermark.acknowledge();
+        }
+    }
+
+    /**
+     * Acknowledgment handed to the worker. A nack cannot seek the consumer from
+     * a worker thread, it is kept and the processor runs the record again after
+     * the sleep, like the container would redeliver it.
+     */
+    class TrackedAck implements Acknowledgment {
+
+        private final long offset;
+        private volatile Duration nacked;
+
+        private TrackedAck(final long offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public void acknowledge() {
+            complete(this.offset);
+        }
+
+        @Override
+        public void nack(final Duration sleep) {
+            this.nacked = sleep;
+        }
+
+        Duration takeNack() {
+            final var aNacked = this.nacked;
+            this.nacked = null;
+            return aNacked;
+        }
+    }
+
+    private static class Slot {
+
+        private final Acknowledgment ack;
+        private boolean done;
+
+        private Slot(final Acknowledgment ack) {
+            this.ack = ack;
+        }
+    }
+}
@@ -59,7 +59,7 @@ public record EventRequest(
                         IdUtils.generateIdWithoutHyphen() // in future use x-idempotency-key or x-request-id
                 );
                 final var aEventSerialized = Json.writeValueAsString(anEvent);
-                final var aProducerRecord = new ProducerRecord<String, Object>(topic, aEventSerialized);
+                final var aProducerRecord = new ProducerRecord<String, Object>(topic, anEvent.aggregateId(), aEventSerialized);
                 aProducerRecord.headers().add(HeadersConstants.EVENT_ID, anEvent.eventId().getBytes());
                 aProducerRecord.headers().add(HeadersConstants.EVENT_TYPE, anEvent.eventType().getBytes());
                 aProducerRecord.headers().add(HeadersConstants.EVENT_OCCURRED_ON, anEvent.occurredOn().toString().getBytes());
@@ -82,7 +82,7 @@ public record EventRequest(
                         IdUtils.generateIdWithoutHyphen() // in future use x-idempotency-key or x-request-id
                 );
                 final var aEventSerialized = Json.writeValueAsString(anEvent);
-                final var aProducerRecord = new ProducerRecord<String, Object>(topic, aEventSerialized);
+                final var aProducerRecord = new ProducerRecord<String, Object>(topic, anEvent.aggregateId(), aEventSerialized);
                 aProducerRecord.headers().add(HeadersConstants.EVENT_ID, anEvent.eventId().getBytes());
                 aProducerRecord.headers().add(HeadersConstants.EVENT_TYPE, anEvent.eventType().getBytes());
                 aProducerRecord.headers().add(HeadersConstants.EVENT_OCCURRED_ON, anEvent.occurredOn().toString().getBytes());
@@ -0,0 +1,12 @@
+package com.kaua.order.infrastructure.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record OrderAcceptedResponse(
+        @JsonProperty("command_id") String commandId
+) {
+
+    public static OrderAcceptedResponse with(final String aCommandId) {
+        return new OrderAcceptedResponse(aCommandId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.kaua.order.infrastructure.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record OrderCommandStatusResponse(
+        @JsonProperty("command_id") String commandId,
+        @JsonProperty("status") String status,
+        @JsonProperty("order_id") String orderId,
+        @JsonProperty("reason") String reason
+) {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSED = "PROCESSED";
+    public static final String FAILED = "FAILED";
+
+    public static OrderCommandStatusResponse pending(final String aCommandId) {
+        return new OrderCommandStatusResponse(aCommandId, PENDING, null, null);
+    }
+
+    public static OrderCommandStatusResponse processed(final String aCommandId, final String aOrderId) {
+        return new OrderCommandStatusResponse(aCommandId, PROCESSED, aOrderId, null);
+    }
+
+    public static OrderCommandStatusResponse failed(final String aCommandId, final String aReason) {
+        return new OrderCommandStatusResponse(aCommandId, FAILED, null, aReason);
+    }
+}
@@ -0,0 +1,6 @@
+package com.kaua.order.infrastructure.outbox;
+
+import java.util.List;
+
+public record OutboxEntriesStoredEvent(List<OutboxEntry> entries) {
+}
@@ -0,0 +1,38 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.infrastructure.events.EventEnvelope;
+
+import java.time.Instant;
+
+public record OutboxEntry(
+        String eventId,
+        String eventType,
+        String aggregateId,
+        long aggregateVersion,
+        Instant occurredOn,
+        String payload,
+        int attempts
+) {
+
+    public OutboxEntry(
+            final String eventId,
+            final String eventType,
+            final String aggregateId,
+            final long aggregateVersion,
+            final Instant occurredOn,
+            final String payload
+    ) {
+        this(eventId, eventType, aggregateId, aggregateVersion, occurredOn, payload, 0);
+    }
+
+    public static OutboxEntry from(final EventEnvelope aEnvelope) {
+        return new OutboxEntry(
+                aEnvelope.eventId(),
+                aEnvelope.eventType(),
+                aEnvelope.aggregateId(),
+                aEnvelope.aggregateVersion(),
+                aEnvelope.occurredOn(),
+                aEnvelope.payload()
+        );
+    }
+}
@@ -0,0 +1,246 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.events.EventEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class OutboxJdbcRepository {
+
+    private static final String INSERT_OUTBOX_QUERY = "INSERT INTO outbox (event_id, event_type, aggregate_id, aggregate_version, occurred_on, payload, status, bucket) VALUES (:event_id, :event_type, :aggregate_id, :aggregate_version, :occurred_on, :payload, :status, :bucket)";
+
+    // only the earliest PENDING version of an aggregate is claimed, SKIP LOCKED must never hand out a later version
+    // while an earlier one is locked by another relay or waiting for a retry
+    private static final String CLAIM_PENDING_QUERY = "SELECT o.event_id, o.event_type, o.aggregate_id, o.aggregate_version, o.occurred_on, o.payload, o.attempts FROM outbox o WHERE o.status = :status AND o.occurred_on <= :occurred_before AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= :now) AND NOT EXISTS (SELECT 1 FROM outbox b WHERE b.aggregate_id = o.aggregate_id AND b.aggregate_version < o.aggregate_version AND b.status = :status) ORDER BY o.occurred_on, o.aggregate_version LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String CLAIM_PENDING_IN_BUCKETS_QUERY = "SELECT o.event_id, o.event_type, o.aggregate_id, o.aggregate_version, o.occurred_on, o.payload, o.attempts FROM outbox o WHERE o.status = :status AND o.bucket IN (:buckets) AND o.occurred_on <= :occurred_before AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= :now) AND NOT EXISTS (SELECT 1 FROM outbox b WHERE b.aggregate_id = o.aggregate_id AND b.aggregate_version < o.aggregate_version AND b.status = :status) ORDER BY o.occurred_on, o.aggregate_version LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_WITHOUT_BUCKET_QUERY = "SELECT event_id, aggregate_id FROM outbox WHERE bucket IS NULL LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String UPDATE_BUCKET_QUERY = "UPDATE outbox SET bucket = :bucket WHERE event_id = :event_id";
+    private static final String SELECT_EARLIEST_PENDING_QUERY = "SELECT aggregate_id, MIN(aggregate_version) AS aggregate_version FROM outbox WHERE aggregate_id IN (:aggregate_ids) AND event_id NOT IN (:event_ids) AND status = :status GROUP BY aggregate_id";
+    private static final String UPDATE_STATUS_QUERY = "UPDATE outbox SET status = :status WHERE event_id IN (:event_ids)";
+    private static final String UPDATE_FAILED_ATTEMPT_QUERY = "UPDATE outbox SET status = :status, attempts = :attempts, next_attempt_at = :next_attempt_at WHERE event_id = :event_id";
+    private static final String SELECT_PURGEABLE_QUERY = "SELECT event_id FROM outbox WHERE status = :status AND occurred_on < :occurred_before ORDER BY occurred_on LIMIT :limit";
+    private static final String DELETE_BY_IDS_QUERY = "DELETE FROM outbox WHERE event_id IN (:event_ids)";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxProperties outboxProperties;
+
+    public OutboxJdbcRepository(
+            final NamedParameterJdbcTemplate jdbcTemplate,
+            final OutboxProperties outboxProperties
+    ) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+    }
+
+    public static int bucketOf(final String aggregateId, final int bucketCount) {
+        return Math.floorMod(aggregateId.hashCode(), Math.max(1, bucketCount));
+    }
+
+    public void insertAll(final List<EventEnvelope> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final var aParameters = entries.stream()
+                .map(this::toParameters)
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(INSERT_OUTBOX_QUERY, aParameters);
+        log.debug("Batch inserted {} outbox entries", aParameters.length);
+    }
+
+    public List<OutboxEntry> claimPending(final int limit, final Instant occurredBefore) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("status", OutboxStatus.PENDING.name())
+                .addValue("occurred_before", LocalDateTime.ofInstant(occurredBefore, ZoneOffset.UTC))
+                .addValue("now", LocalDateTime.ofInstant(InstantUtils.now(), ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        return claim(CLAIM_PENDING_QUERY, aParameters);
+    }
+
+    public List<OutboxEntry> claimPending(
+            final int limit,
+            final Collection<Integer> buckets,
+            final Instant occurredBefore
+    ) {
+        if (buckets.isEmpty()) {
+            return List.of();
+        }
+
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("status", OutboxStatus.PENDING.name())
+                .addValue("buckets", buckets)
+                .addValue("occurred_before", LocalDateTime.ofInstant(occurredBefore, ZoneOffset.UTC))
+                .addValue("now", LocalDateTime.ofInstant(InstantUtils.now(), ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        return claim(CLAIM_PENDING_IN_BUCKETS_QUERY, aParameters);
+    }
+
+    /**
+     * Sets the bucket of rows stored without one, by nodes that predate leases
+     * or before the bucket column existed, so they reach the lease owner of
+     * their aggregate. Returns how many rows were updated.
+     */
+    public int assignBuckets(final int limit) {
+        final var aRows = this.jdbcTemplate.queryForList(
+                SELECT_WITHOUT_BUCKET_QUERY,
+                new MapSqlParameterSource("limit", limit)
+        );
+        if (aRows.isEmpty()) {
+            return 0;
+        }
+
+        final var aParameters = aRows.stream()
+                .map(aRow -> new MapSqlParameterSource()
+                        .addValue("event_id", aRow.get("event_id"))
+                        .addValue("bucket", bucketOf((String) aRow.get("aggregate_id"), this.outboxProperties.getBucketCount())))
+                .toArray(SqlParameterSource[]::new);
+
+        this.jdbcTemplate.batchUpdate(UPDATE_BUCKET_QUERY, aParameters);
+        log.info("Assigned the bucket of {} outbox entries stored without one", aParameters.length);
+        return aParameters.length;
+    }
+
+    /**
+     * Returns, per aggregate, the lowest version still PENDING among the rows
+     * other than the given ones.
+     */
+    public Map<String, Long> earliestPendingVersions(final List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return Map.of();
+        }
+
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("aggregate_ids", entries.stream().map(OutboxEntry::aggregateId).distinct().toList())
+                .addValue("event_ids", entries.stream().map(OutboxEntry::eventId).toList())
+                .addValue("status", OutboxStatus.PENDING.name());
+
+        final var aVersions = new HashMap<String, Long>();
+        this.jdbcTemplate.query(SELECT_EARLIEST_PENDING_QUERY, aParameters, rs -> {
+            aVersions.put(rs.getString("aggregate_id"), rs.getLong("aggregate_version"));
+        });
+        return aVersions;
+    }
+
+    public int updateStatus(final List<String> eventIds, final OutboxStatus status) {
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("event_ids", eventIds);
+
+        final var aUpdated = this.jdbcTemplate.update(UPDATE_STATUS_QUERY, aParameters);
+        log.debug("Updated {} outbox entries to {}", aUpdated, status);
+        return aUpdated;
+    }
+
+    /**
+     * Records a failed send of each entry. The entry stays PENDING and is not
+     * claimed again before its backoff, outbox.retry-backoff doubled on every
+     * attempt up to outbox.max-retry-backoff, and only becomes FAILED once it
+     * reached outbox.max-send-attempts. Returns the entries that became FAILED.
+     */
+    public List<OutboxEntry> recordFailedAttempts(final List<OutboxEntry> entries, final Instant now) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        final var aExhausted = new ArrayList<OutboxEntry>();
+        final var aParameters = new SqlParameterSource[entries.size()];
+
+        for (int i = 0; i < entries.size(); i++) {
+            final var aEntry = entries.get(i);
+            final var aAttempts = aEntry.attempts() + 1;
+            final var aFailed = aAttempts >= this.outboxProperties.getMaxSendAttempts();
+            if (aFailed) {
+                aExhausted.add(aEntry);
+            }
+
+            aParameters[i] = new MapSqlParameterSource()
+                    .addValue("event_id", aEntry.eventId())
+                    .addValue("status", aFailed ? OutboxStatus.FAILED.name() : OutboxStatus.PENDING.name())
+                    .addValue("attempts", aAttempts)
+                    .addValue("next_attempt_at", LocalDateTime.ofInstant(now.plus(backoffOf(aAttempts)), ZoneOffset.UTC));
+        }
+
+        this.jdbcTemplate.batchUpdate(UPDATE_FAILED_ATTEMPT_QUERY, aParameters);
+        log.debug("Recorded a failed attempt of {} outbox entries, {} exhausted", entries.size(), aExhausted.size());
+        return aExhausted;
+    }
+
+    // FAILED rows are kept for operators to inspect and republish, only PROCESSED rows expire
+    public int purgeProcessed(final Instant occurredBefore, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("status", OutboxStatus.PROCESSED.name())
+                .addValue("occurred_before", LocalDateTime.ofInstant(occurredBefore, ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        // ids first so the delete only locks the rows of the batch, DELETE ... LIMIT is not portable
+        final var aEventIds = this.jdbcTemplate.queryForList(SELECT_PURGEABLE_QUERY, aParameters, String.class);
+        if (aEventIds.isEmpty()) {
+            return 0;
+        }
+
+        final var aDeleted = this.jdbcTemplate.update(
+                DELETE_BY_IDS_QUERY,
+                new MapSqlParameterSource("event_ids", aEventIds)
+        );
+        log.debug("Purged {} processed outbox entries older than {}", aDeleted, occurredBefore);
+        return aDeleted;
+    }
+
+    private List<OutboxEntry> claim(final String aQuery, final SqlParameterSource aParameters) {
+        final var aEntries = this.jdbcTemplate.query(aQuery, aParameters, (rs, rowNum) -> new OutboxEntry(
+                rs.getString("event_id"),
+                rs.getString("event_type"),
+                rs.getString("aggregate_id"),
+                rs.getLong("aggregate_version"),
+                rs.getObject("occurred_on", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                rs.getString("payload"),
+                rs.getInt("attempts")
+        ));
+        log.debug("Claimed {} pending outbox entries", aEntries.size());
+        return aEntries;
+    }
+
+    private Duration backoffOf(final int aAttempts) {
+        final var aMaxBackoff = this.outboxProperties.getMaxRetryBackoff();
+        final var aBackoff = this.outboxProperties.getRetryBackoff().multipliedBy(1L << Math.min(aAttempts - 1, 20));
+        return aBackoff.compareTo(aMaxBackoff) > 0 ? aMaxBackoff : aBackoff;
+    }
+
+    private SqlParameterSource toParameters(final EventEnvelope aEntry) {
+        return new MapSqlParameterSource()
+                .addValue("event_id", aEntry.eventId())
+                .addValue("event_type", aEntry.eventType())
+                .addValue("aggregate_id", aEntry.aggregateId())
+                .addValue("aggregate_version", aEntry.aggregateVersion())
+                .addValue("occurred_on", LocalDateTime.ofInstant(aEntry.occurredOn(), ZoneOffset.UTC))
+                .addValue("payload", aEntry.payload())
+                .addValue("status", OutboxStatus.PENDING.name())
+                .addValue("bucket", bucketOf(aEntry.aggregateId(), this.outboxProperties.getBucketCount()));
+    }
+}
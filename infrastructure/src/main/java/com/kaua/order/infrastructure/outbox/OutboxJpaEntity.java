@@ -1,7 +1,7 @@
 package com.kaua.order.infrastructure.outbox;
 
 import com.kaua.order.domain.events.DomainEvent;
-import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.events.EventEnvelope;
 import jakarta.persistence.*;
 
 import java.time.Instant;
@@ -54,13 +54,17 @@ public class OutboxJpaEntity {
     }
 
     public static OutboxJpaEntity create(final DomainEvent aEvent) {
+        return create(EventEnvelope.from(aEvent));
+    }
+
+    public static OutboxJpaEntity create(final EventEnvelope aEnvelope) {
         return new OutboxJpaEntity(
-                aEvent.eventId(),
-                aEvent.eventType(),
-                aEvent.aggregateId(),
-                aEvent.aggregateVersion(),
-                aEvent.occurredOn(),
-                Json.writeValueAsString(aEvent),
+                aEnvelope.eventId(),
+                aEnvelope.eventType(),
+                aEnvelope.aggregateId(),
+                aEnvelope.aggregateVersion(),
+                aEnvelope.occurredOn(),
+                aEnvelope.payload(),
                 OutboxStatus.PENDING
         );
     }
@@ -0,0 +1,199 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends outbox entries through keyed lanes. Every aggregate hashes to one
+ * single threaded lane, so lanes publish in parallel while the entries of an
+ * aggregate are always sent by the same thread, in aggregate_version order and
+ * only after the previous one was acknowledged. Once an entry of an aggregate
+ * fails, its later entries are not sent and are reported as failed too, so a
+ * consumer never sees a version before the one that precedes it.
+ */
+@Component
+public class OutboxKafkaSender implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxKafkaSender.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxProperties outboxProperties;
+    private final ExecutorService[] lanes;
+
+    public OutboxKafkaSender(
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final OutboxProperties outboxProperties
+    ) {
+        this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+
+        final var aThreadFactory = new CustomizableThreadFactory("outbox-lane-");
+        aThreadFactory.setDaemon(true);
+
+        this.lanes = new ExecutorService[Math.max(1, outboxProperties.getPublishLanes())];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(aThreadFactory);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (final var aLane : this.lanes) {
+            aLane.shutdownNow();
+        }
+    }
+
+    public int laneOf(final String aggregateId) {
+        return OutboxJdbcRepository.bucketOf(aggregateId, this.lanes.length);
+    }
+
+    /**
+     * Sends every entry through its aggregate lane and returns the ids of the
+     * entries that were not published within the send timeout.
+     */
+    public List<String> sendAll(final List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        final var aDeadline = System.nanoTime() + this.outboxProperties.getSendTimeout().toNanos();
+
+        final var aEntriesByLane = new LinkedHashMap<Integer, List<OutboxEntry>>();
+        entries.forEach(aEntry -> aEntriesByLane
+                .computeIfAbsent(laneOf(aEntry.aggregateId()), aLane -> new ArrayList<>())
+                .add(aEntry));
+
+        final var aLaneResults = new LinkedHashMap<Integer, Future<List<String>>>();
+        aEntriesByLane.forEach((aLane, aLaneEntries) -> aLaneResults.put(
+                aLane,
+                this.lanes[aLane].submit(() -> sendLane(aLaneEntries, aDeadline))
+        ));
+
+        final var aFailed = new HashSet<String>();
+        aLaneResults.forEach((aLane, aLaneResult) -> {
+            final var aLaneEntries = aEntriesByLane.get(aLane);
+            try {
+                // lanes wait for their own sends, the grace only covers the lane queue handoff
+                final var aRemaining = Math.max(0, aDeadline - System.nanoTime()) + TimeUnit.SECONDS.toNanos(1);
+                aFailed.addAll(aLaneResult.get(aRemaining, TimeUnit.NANOSECONDS));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aLaneEntries.forEach(aEntry -> aFailed.add(aEntry.eventId()));
+            } catch (final Exception e) {
+                log.error("Error waiting on outbox lane of {} entries", aLaneEntries.size(), e);
+                aLaneEntries.forEach(aEntry -> aFailed.add(aEntry.eventId()));
+            }
+        });
+
+        return entries.stream()
+                .map(OutboxEntry::eventId)
+                .filter(aFailed::contains)
+                .toList();
+    }
+
+    /**
+     * Returns the failed entries that were actually attempted, the first failed
+     * entry of each aggregate. The later ones were skipped behind it.
+     */
+    public static List<OutboxEntry> failedHeads(final List<OutboxEntry> entries, final List<String> failed) {
+        final var aHeads = new LinkedHashMap<String, OutboxEntry>();
+        entries.stream()
+                .filter(aEntry -> failed.contains(aEntry.eventId()))
+                .sorted(Comparator.comparingLong(OutboxEntry::aggregateVersion))
+                .forEach(aEntry -> aHeads.putIfAbsent(aEntry.aggregateId(), aEntry));
+        return List.copyOf(aHeads.values());
+    }
+
+    private List<String> sendLane(final List<OutboxEntry> aEntries, final long aDeadline) {
+        final var aPendingByAggregate = new LinkedHashMap<String, Deque<OutboxEntry>>();
+        aEntries.stream()
+                .sorted(Comparator.comparingLong(OutboxEntry::aggregateVersion))
+                .forEach(aEntry -> aPendingByAggregate
+                        .computeIfAbsent(aEntry.aggregateId(), aAggregateId -> new ArrayDeque<>())
+                        .add(aEntry));
+
+        final var aFailed = new ArrayList<String>();
+
+        // each round sends the next entry of every aggregate and waits for all of them
+        while (!aPendingByAggregate.isEmpty()) {
+            final var aRound = new LinkedHashMap<OutboxEntry, CompletableFuture<SendResult<String, Object>>>();
+            aPendingByAggregate.values().forEach(aPending -> {
+                final var aEntry = aPending.poll();
+                aRound.put(aEntry, send(aEntry));
+            });
+
+            aRound.forEach((aEntry, aSend) -> {
+                if (!awaitSend(aEntry, aSend, aDeadline)) {
+                    aFailed.add(aEntry.eventId());
+                    aPendingByAggregate.remove(aEntry.aggregateId())
+                            .forEach(aSkipped -> aFailed.add(aSkipped.eventId()));
+                }
+            });
+
+            aPendingByAggregate.values().removeIf(Deque::isEmpty);
+        }
+        return aFailed;
+    }
+
+    private boolean awaitSend(
+            final OutboxEntry aEntry,
+            final CompletableFuture<SendResult<String, Object>> aSend,
+            final long aDeadline
+    ) {
+        try {
+            aSend.get(Math.max(0, aDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final Exception e) {
+            log.error("Error publishing outbox entry {} of aggregate {}", aEntry.eventId(), aEntry.aggregateId(), e);
+            return false;
+        }
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(final OutboxEntry aEntry) {
+        if (Thread.currentThread().isInterrupted()) {
+            return CompletableFuture.failedFuture(new InterruptedException("Outbox lane interrupted"));
+        }
+
+        try {
+            final var aProducerRecord = new ProducerRecord<String, Object>(
+                    this.outboxProperties.getTopic(),
+                    aEntry.aggregateId(),
+                    aEntry.payload()
+            );
+            aProducerRecord.headers().add(HeadersConstants.EVENT_ID, aEntry.eventId().getBytes());
+            aProducerRecord.headers().add(HeadersConstants.EVENT_TYPE, aEntry.eventType().getBytes());
+            aProducerRecord.headers().add(HeadersConstants.EVENT_OCCURRED_ON, aEntry.occurredOn().toString().getBytes());
+            aProducerRecord.headers().add(HeadersConstants.AGGREGATE_ID, aEntry.aggregateId().getBytes());
+            aProducerRecord.headers().add(HeadersConstants.AGGREGATE_VERSION,
+                    String.valueOf(aEntry.aggregateVersion()).getBytes());
+            return this.kafkaTemplate.send(aProducerRecord);
+        } catch (final Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
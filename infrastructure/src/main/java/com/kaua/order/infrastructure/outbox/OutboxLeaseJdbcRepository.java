@@ -0,0 +1,131 @@
+package com.kaua.order.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Component
+public class OutboxLeaseJdbcRepository {
+
+    private static final String SELECT_BUCKETS_QUERY = "SELECT bucket FROM outbox_leases";
+    private static final String INSERT_BUCKET_QUERY = "INSERT INTO outbox_leases (bucket, owner_id, expires_at) VALUES (:bucket, NULL, :expires_at)";
+    private static final String UPDATE_HEARTBEAT_QUERY = "UPDATE outbox_nodes SET heartbeat_at = :heartbeat_at WHERE instance_id = :instance_id";
+    private static final String INSERT_NODE_QUERY = "INSERT INTO outbox_nodes (instance_id, heartbeat_at) VALUES (:instance_id, :heartbeat_at)";
+    private static final String DELETE_NODE_QUERY = "DELETE FROM outbox_nodes WHERE instance_id = :instance_id";
+    private static final String SELECT_LIVE_NODES_QUERY = "SELECT instance_id FROM outbox_nodes WHERE heartbeat_at > :threshold ORDER BY instance_id";
+    private static final String RENEW_LEASES_QUERY = "UPDATE outbox_leases SET expires_at = :expires_at WHERE owner_id = :owner_id";
+    private static final String SELECT_OWNED_BUCKETS_QUERY = "SELECT bucket FROM outbox_leases WHERE owner_id = :owner_id AND expires_at > :now";
+    private static final String SELECT_AVAILABLE_BUCKETS_QUERY = "SELECT bucket FROM outbox_leases WHERE expires_at <= :expired_before";
+    private static final String ACQUIRE_LEASE_QUERY = "UPDATE outbox_leases SET owner_id = :owner_id, expires_at = :expires_at WHERE bucket = :bucket AND expires_at <= :expired_before";
+    private static final String RELEASE_LEASE_QUERY = "UPDATE outbox_leases SET owner_id = NULL, expires_at = :now WHERE bucket = :bucket AND owner_id = :owner_id";
+    private static final String RELEASE_ALL_LEASES_QUERY = "UPDATE outbox_leases SET owner_id = NULL, expires_at = :now WHERE owner_id = :owner_id";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLeaseJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OutboxLeaseJdbcRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    // new buckets are stored as expired at expiredAt, so they can be acquired right away
+    public void ensureBuckets(final int bucketCount, final Instant expiredAt) {
+        final var aExisting = new HashSet<>(this.jdbcTemplate.queryForList(
+                SELECT_BUCKETS_QUERY, new MapSqlParameterSource(), Integer.class));
+
+        for (int aBucket = 0; aBucket < bucketCount; aBucket++) {
+            if (aExisting.contains(aBucket)) {
+                continue;
+            }
+            try {
+                this.jdbcTemplate.update(INSERT_BUCKET_QUERY, new MapSqlParameterSource()
+                        .addValue("bucket", aBucket)
+                        .addValue("expires_at", toDateTime(expiredAt)));
+            } catch (final DuplicateKeyException e) {
+                log.debug("Outbox lease bucket {} already created by another node", aBucket);
+            }
+        }
+    }
+
+    public void heartbeat(final String instanceId, final Instant now) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("instance_id", instanceId)
+                .addValue("heartbeat_at", toDateTime(now));
+
+        if (this.jdbcTemplate.update(UPDATE_HEARTBEAT_QUERY, aParameters) == 0) {
+            try {
+                this.jdbcTemplate.update(INSERT_NODE_QUERY, aParameters);
+            } catch (final DuplicateKeyException e) {
+                this.jdbcTemplate.update(UPDATE_HEARTBEAT_QUERY, aParameters);
+            }
+        }
+    }
+
+    public void deleteNode(final String instanceId) {
+        this.jdbcTemplate.update(DELETE_NODE_QUERY, new MapSqlParameterSource("instance_id", instanceId));
+    }
+
+    public List<String> liveNodes(final Instant threshold) {
+        return this.jdbcTemplate.queryForList(
+                SELECT_LIVE_NODES_QUERY,
+                new MapSqlParameterSource("threshold", toDateTime(threshold)),
+                String.class
+        );
+    }
+
+    public int renew(final String ownerId, final Instant expiresAt) {
+        return this.jdbcTemplate.update(RENEW_LEASES_QUERY, new MapSqlParameterSource()
+                .addValue("owner_id", ownerId)
+                .addValue("expires_at", toDateTime(expiresAt)));
+    }
+
+    public Set<Integer> ownedBuckets(final String ownerId, final Instant now) {
+        return new HashSet<>(this.jdbcTemplate.queryForList(SELECT_OWNED_BUCKETS_QUERY, new MapSqlParameterSource()
+                .addValue("owner_id", ownerId)
+                .addValue("now", toDateTime(now)), Integer.class));
+    }
+
+    public List<Integer> availableBuckets(final Instant expiredBefore) {
+        return this.jdbcTemplate.queryForList(
+                SELECT_AVAILABLE_BUCKETS_QUERY,
+                new MapSqlParameterSource("expired_before", toDateTime(expiredBefore)),
+                Integer.class
+        );
+    }
+
+    public boolean acquire(final int bucket, final String ownerId, final Instant expiredBefore, final Instant expiresAt) {
+        return this.jdbcTemplate.update(ACQUIRE_LEASE_QUERY, new MapSqlParameterSource()
+                .addValue("bucket", bucket)
+                .addValue("owner_id", ownerId)
+                .addValue("expired_before", toDateTime(expiredBefore))
+                .addValue("expires_at", toDateTime(expiresAt))) == 1;
+    }
+
+    public void release(final int bucket, final String ownerId, final Instant now) {
+        this.jdbcTemplate.update(RELEASE_LEASE_QUERY, new MapSqlParameterSource()
+                .addValue("bucket", bucket)
+                .addValue("owner_id", ownerId)
+                .addValue("now", toDateTime(now)));
+    }
+
+    public void releaseAll(final String ownerId, final Instant now) {
+        this.jdbcTemplate.update(RELEASE_ALL_LEASES_QUERY, new MapSqlParameterSource()
+                .addValue("owner_id", ownerId)
+                .addValue("now", toDateTime(now)));
+    }
+
+    private static LocalDateTime toDateTime(final Instant aInstant) {
+        return LocalDateTime.ofInstant(aInstant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,194 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the outbox into hash buckets of aggregate_id and keeps this node's
+ * share of bucket leases. Every renew round the node heartbeats, renews what
+ * it owns and moves towards ceil(buckets / live nodes): extra buckets are
+ * released when nodes join and expired or released buckets are acquired when
+ * nodes leave. A bucket has a single owner, so events of one aggregate are
+ * always published by one node and keep their order. A bucket whose lease
+ * expired or was released is only acquired outbox.send-timeout later, the
+ * sends its previous owner claimed before losing it have finished or timed
+ * out by then.
+ */
+@Component
+public class OutboxLeaseManager implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLeaseManager.class);
+
+    private final OutboxLeaseJdbcRepository outboxLeaseJdbcRepository;
+    private final TransactionManager transactionManager;
+    private final OutboxProperties outboxProperties;
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile Set<Integer> ownedBuckets = Set.of();
+    private volatile Instant validUntil = Instant.EPOCH;
+    private volatile boolean bucketsCreated = false;
+
+    public OutboxLeaseManager(
+            final OutboxLeaseJdbcRepository outboxLeaseJdbcRepository,
+            final TransactionManager transactionManager,
+            final OutboxProperties outboxProperties
+    ) {
+        this.outboxLeaseJdbcRepository = Objects.requireNonNull(outboxLeaseJdbcRepository);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.outboxProperties.isRelayEnabled() && this.outboxProperties.isLeaseEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-lease-"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::rebalanceSafely,
+                0,
+                this.outboxProperties.getLeaseRenewInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        log.info("Outbox lease manager started for instance {}", this.outboxProperties.getInstanceId());
+    }
+
+    public synchronized void stop() {
+        final var aScheduler = this.scheduler;
+        this.scheduler = null;
+
+        if (aScheduler == null) {
+            return;
+        }
+
+        aScheduler.shutdownNow();
+        release();
+    }
+
+    public void release() {
+        this.ownedBuckets = Set.of();
+        this.validUntil = Instant.EPOCH;
+
+        final var aInstanceId = this.outboxProperties.getInstanceId();
+        final var aResult = this.transactionManager.execute(() -> {
+            this.outboxLeaseJdbcRepository.releaseAll(aInstanceId, InstantUtils.now());
+            this.outboxLeaseJdbcRepository.deleteNode(aInstanceId);
+            return true;
+        });
+
+        if (aResult.isFailure()) {
+            log.warn("Error releasing outbox leases of instance {}, they will expire: {}",
+                    aInstanceId, aResult.getErrorResult().message());
+        }
+        log.info("Outbox leases of instance {} released", aInstanceId);
+    }
+
+    public boolean isEnabled() {
+        return this.outboxProperties.isLeaseEnabled();
+    }
+
+    public Set<Integer> ownedBuckets() {
+        if (InstantUtils.now().isAfter(this.validUntil)) {
+            return Set.of();
+        }
+        return this.ownedBuckets;
+    }
+
+    public Set<Integer> rebalance() {
+        final var aInstanceId = this.outboxProperties.getInstanceId();
+        final var aBucketCount = this.outboxProperties.getBucketCount();
+        final var aLeaseDuration = this.outboxProperties.getLeaseDuration();
+        final var aNow = InstantUtils.now();
+        final var aExpiresAt = aNow.plus(aLeaseDuration);
+        final var aAcquirableBefore = aNow.minus(this.outboxProperties.getSendTimeout());
+
+        final var aTransactionResult = this.transactionManager.execute(() -> {
+            if (!this.bucketsCreated) {
+                this.outboxLeaseJdbcRepository.ensureBuckets(aBucketCount, aAcquirableBefore);
+            }
+
+            this.outboxLeaseJdbcRepository.heartbeat(aInstanceId, aNow);
+            this.outboxLeaseJdbcRepository.renew(aInstanceId, aExpiresAt);
+
+            final var aLiveNodes = this.outboxLeaseJdbcRepository.liveNodes(aNow.minus(aLeaseDuration));
+            final var aFairShare = (aBucketCount + Math.max(1, aLiveNodes.size()) - 1) / Math.max(1, aLiveNodes.size());
+            final var aOwned = this.outboxLeaseJdbcRepository.ownedBuckets(aInstanceId, aNow);
+
+            if (aOwned.size() > aFairShare) {
+                aOwned.stream()
+                        .sorted(Comparator.reverseOrder())
+                        .limit(aOwned.size() - aFairShare)
+                        .toList()
+                        .forEach(aBucket -> {
+                            this.outboxLeaseJdbcRepository.release(aBucket, aInstanceId, aNow);
+                            aOwned.remove(aBucket);
+                        });
+            } else if (aOwned.size() < aFairShare) {
+                final var aCandidates = new ArrayList<>(this.outboxLeaseJdbcRepository.availableBuckets(aAcquirableBefore));
+                Collections.shuffle(aCandidates);
+
+                for (final var aBucket : aCandidates) {
+                    if (aOwned.size() >= aFairShare) {
+                        break;
+                    }
+                    if (this.outboxLeaseJdbcRepository.acquire(aBucket, aInstanceId, aAcquirableBefore, aExpiresAt)) {
+                        aOwned.add(aBucket);
+                    }
+                }
+            }
+
+            log.debug("Outbox leases of instance {}: {} buckets, {} live nodes, fair share {}",
+                    aInstanceId, aOwned.size(), aLiveNodes.size(), aFairShare);
+            return aOwned;
+        });
+
+        if (aTransactionResult.isFailure()) {
+            log.error("Error renewing outbox leases of instance {}: {}",
+                    aInstanceId, aTransactionResult.getErrorResult().message());
+            return ownedBuckets();
+        }
+
+        this.bucketsCreated = true;
+        this.ownedBuckets = Set.copyOf(aTransactionResult.getSuccessResult());
+        // stop publishing one renew round before the lease expires, so a failing renew never overlaps a new owner
+        this.validUntil = aExpiresAt.minus(this.outboxProperties.getLeaseRenewInterval());
+        return this.ownedBuckets;
+    }
+
+    private void rebalanceSafely() {
+        try {
+            rebalance();
+        } catch (final Exception e) {
+            log.error("Unexpected error on outbox lease manager", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kaua.order.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Daily RANGE COLUMNS partitions of the outbox on occurred_on, named pYYYYMMDD
+ * and holding the rows of that day. Only usable after the table was converted
+ * with db/partitioning/outbox-daily-partitions.sql (MySQL).
+ */
+@Component
+public class OutboxPartitionJdbcRepository {
+
+    private static final String SELECT_PARTITIONS_QUERY = "SELECT partition_name FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = 'outbox' AND partition_name IS NOT NULL ORDER BY partition_ordinal_position";
+    private static final String COUNT_UNPROCESSED_IN_PARTITION_QUERY = "SELECT COUNT(*) FROM outbox PARTITION (%s) WHERE status <> :status";
+    private static final String ADD_PARTITION_QUERY = "ALTER TABLE outbox REORGANIZE PARTITION pmax INTO (PARTITION %s VALUES LESS THAN ('%s 00:00:00'), PARTITION pmax VALUES LESS THAN (MAXVALUE))";
+    private static final String DROP_PARTITION_QUERY = "ALTER TABLE outbox DROP PARTITION %s";
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final Pattern PARTITION_NAME_PATTERN = Pattern.compile("^p\\d{8}$");
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPartitionJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OutboxPartitionJdbcRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    public static String partitionOf(final LocalDate day) {
+        return PARTITION_NAME_FORMAT.format(day);
+    }
+
+    public static Optional<LocalDate> dayOf(final String partition) {
+        if (partition == null || !PARTITION_NAME_PATTERN.matcher(partition).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.parse(partition, PARTITION_NAME_FORMAT));
+    }
+
+    public List<String> partitions() {
+        return this.jdbcTemplate.queryForList(SELECT_PARTITIONS_QUERY, new MapSqlParameterSource(), String.class);
+    }
+
+    public long countUnprocessed(final String partition) {
+        final var aCount = this.jdbcTemplate.queryForObject(
+                COUNT_UNPROCESSED_IN_PARTITION_QUERY.formatted(requireDailyPartition(partition)),
+                new MapSqlParameterSource("status", OutboxStatus.PROCESSED.name()),
+                Long.class
+        );
+        return aCount == null ? 0 : aCount;
+    }
+
+    public void addPartition(final LocalDate day) {
+        this.jdbcTemplate.getJdbcTemplate().execute(ADD_PARTITION_QUERY.formatted(partitionOf(day), day.plusDays(1)));
+        log.info("Added outbox partition {}", partitionOf(day));
+    }
+
+    public void dropPartition(final String partition) {
+        this.jdbcTemplate.getJdbcTemplate().execute(DROP_PARTITION_QUERY.formatted(requireDailyPartition(partition)));
+        log.info("Dropped outbox partition {}", partition);
+    }
+
+    // partition names are identifiers and cannot be bound, only our own daily names reach the DDL
+    private static String requireDailyPartition(final String partition) {
+        if (dayOf(partition).isEmpty()) {
+            throw new IllegalArgumentException("Not a daily outbox partition: " + partition);
+        }
+        return partition;
+    }
+}
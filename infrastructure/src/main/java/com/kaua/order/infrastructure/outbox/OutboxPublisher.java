@@ -0,0 +1,186 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Publishes outbox entries as soon as the transaction that stored them
+ * commits, without waiting for the next relay poll. An entry is only sent
+ * right away when this node owns its bucket lease and no earlier version of
+ * its aggregate is still pending, so it never overtakes one. Entries held back
+ * or that cannot be queued or sent stay PENDING and are swept by
+ * {@link OutboxRelay} once they are older than outbox.sweep-stale-after.
+ */
+@Component
+public class OutboxPublisher implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private final OutboxKafkaSender outboxKafkaSender;
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final OutboxLeaseManager outboxLeaseManager;
+    private final TransactionManager transactionManager;
+    private final OutboxProperties outboxProperties;
+    private final BlockingQueue<OutboxEntry> pendingEntries;
+
+    private volatile Thread publisher;
+
+    public OutboxPublisher(
+            final OutboxKafkaSender outboxKafkaSender,
+            final OutboxJdbcRepository outboxJdbcRepository,
+            final OutboxLeaseManager outboxLeaseManager,
+            final TransactionManager transactionManager,
+            final OutboxProperties outboxProperties
+    ) {
+        this.outboxKafkaSender = Objects.requireNonNull(outboxKafkaSender);
+        this.outboxJdbcRepository = Objects.requireNonNull(outboxJdbcRepository);
+        this.outboxLeaseManager = Objects.requireNonNull(outboxLeaseManager);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+        this.pendingEntries = new LinkedBlockingQueue<>(Math.max(1, outboxProperties.getPublishQueueCapacity()));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.outboxProperties.isImmediatePublishEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (isRunning()) {
+            return;
+        }
+
+        this.publisher = new Thread(this::publishLoop, "outbox-publisher");
+        this.publisher.setDaemon(true);
+        this.publisher.start();
+        log.info("Outbox immediate publisher started publishing to topic {}", this.outboxProperties.getTopic());
+    }
+
+    public synchronized void stop() {
+        final var aPublisher = this.publisher;
+        this.publisher = null;
+
+        if (aPublisher == null) {
+            return;
+        }
+
+        aPublisher.interrupt();
+        try {
+            aPublisher.join(this.outboxProperties.getSendTimeout().toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Outbox immediate publisher stopped, {} entries left to the relay", this.pendingEntries.size());
+        this.pendingEntries.clear();
+    }
+
+    public boolean isRunning() {
+        return this.publisher != null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEntriesStored(final OutboxEntriesStoredEvent event) {
+        if (!isRunning()) {
+            return;
+        }
+
+        for (final var aEntry : event.entries()) {
+            if (!this.pendingEntries.offer(aEntry)) {
+                log.warn("Outbox publish queue is full, entry {} of aggregate {} left to the relay",
+                        aEntry.eventId(), aEntry.aggregateId());
+            }
+        }
+    }
+
+    private void publishLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final var aBatch = new ArrayList<OutboxEntry>();
+                aBatch.add(this.pendingEntries.take());
+                this.pendingEntries.drainTo(aBatch, Math.max(0, this.outboxProperties.getMaxBatchSize() - 1));
+                publish(aBatch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final Exception e) {
+                log.error("Unexpected error on outbox immediate publisher", e);
+            }
+        }
+    }
+
+    private void publish(final List<OutboxEntry> aBatch) {
+        final var aPublishable = publishable(aBatch);
+        if (aPublishable.isEmpty()) {
+            log.debug("Outbox immediate publisher left {} entries to the relay", aBatch.size());
+            return;
+        }
+
+        final var aFailed = this.outboxKafkaSender.sendAll(aPublishable);
+        final var aProcessed = aPublishable.stream()
+                .map(OutboxEntry::eventId)
+                .filter(aEventId -> !aFailed.contains(aEventId))
+                .toList();
+
+        final var aResult = this.transactionManager.execute(() ->
+                this.outboxJdbcRepository.updateStatus(aProcessed, OutboxStatus.PROCESSED));
+
+        if (aResult.isFailure()) {
+            log.error("Error marking {} published outbox entries as processed: {}",
+                    aProcessed.size(), aResult.getErrorResult().message());
+            return;
+        }
+        log.debug("Outbox immediate publisher published {} entries, {} left to the relay",
+                aProcessed.size(), aBatch.size() - aProcessed.size());
+    }
+
+    private List<OutboxEntry> publishable(final List<OutboxEntry> aBatch) {
+        final var aOwned = aBatch.stream()
+                .filter(this::isOwned)
+                .toList();
+        if (aOwned.isEmpty()) {
+            return List.of();
+        }
+
+        final var aResult = this.transactionManager.execute(() ->
+                this.outboxJdbcRepository.earliestPendingVersions(aOwned));
+
+        if (aResult.isFailure()) {
+            log.error("Error looking up pending outbox entries of {} aggregates: {}",
+                    aOwned.size(), aResult.getErrorResult().message());
+            return List.of();
+        }
+
+        final var aEarliestPending = aResult.getSuccessResult();
+        return aOwned.stream()
+                .filter(aEntry -> aEntry.aggregateVersion()
+                        < aEarliestPending.getOrDefault(aEntry.aggregateId(), Long.MAX_VALUE))
+                .toList();
+    }
+
+    private boolean isOwned(final OutboxEntry aEntry) {
+        if (!this.outboxLeaseManager.isEnabled()) {
+            return true;
+        }
+        final var aBucket = OutboxJdbcRepository.bucketOf(aEntry.aggregateId(), this.outboxProperties.getBucketCount());
+        return this.outboxLeaseManager.ownedBuckets().contains(aBucket);
+    }
+}
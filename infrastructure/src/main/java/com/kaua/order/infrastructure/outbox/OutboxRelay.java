@@ -0,0 +1,188 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes pending outbox rows to Kafka. Each poll claims a batch with
+ * FOR UPDATE SKIP LOCKED, so several relays never pick the same rows, sends
+ * the rows through the keyed lanes of {@link OutboxKafkaSender} and then
+ * updates the whole batch status at once. With leases enabled only rows of the
+ * buckets leased by this node are claimed, after rows stored without a bucket
+ * got theirs. Only the earliest PENDING version of each aggregate is claimed,
+ * so a batch carries at most one event per aggregate. A row whose send fails
+ * stays PENDING and is retried with a backoff, holding back the later versions
+ * of its aggregate, until it reaches
+ * outbox.max-send-attempts and becomes FAILED. Batch size grows while the
+ * backlog keeps the batch full and the poll interval backs off while there is
+ * nothing to publish.
+ */
+@Component
+public class OutboxRelay implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final OutboxLeaseManager outboxLeaseManager;
+    private final TransactionManager transactionManager;
+    private final OutboxKafkaSender outboxKafkaSender;
+    private final OutboxProperties outboxProperties;
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile int batchSize;
+    private volatile Duration pollInterval;
+
+    public OutboxRelay(
+            final OutboxJdbcRepository outboxJdbcRepository,
+            final OutboxLeaseManager outboxLeaseManager,
+            final TransactionManager transactionManager,
+            final OutboxKafkaSender outboxKafkaSender,
+            final OutboxProperties outboxProperties
+    ) {
+        this.outboxJdbcRepository = Objects.requireNonNull(outboxJdbcRepository);
+        this.outboxLeaseManager = Objects.requireNonNull(outboxLeaseManager);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.outboxKafkaSender = Objects.requireNonNull(outboxKafkaSender);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+        this.batchSize = outboxProperties.getMinBatchSize();
+        this.pollInterval = outboxProperties.getMinPollInterval();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.outboxProperties.isRelayEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-"));
+        this.scheduler.execute(this::poll);
+        log.info("Outbox relay started publishing to topic {}", this.outboxProperties.getTopic());
+    }
+
+    public synchronized void stop() {
+        final var aScheduler = this.scheduler;
+        this.scheduler = null;
+
+        if (aScheduler == null) {
+            return;
+        }
+
+        aScheduler.shutdown();
+        try {
+            if (!aScheduler.awaitTermination(this.outboxProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                aScheduler.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            aScheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Outbox relay stopped");
+    }
+
+    public int relayBatch() {
+        final var aLimit = this.batchSize;
+
+        // rows published right after commit are only swept by the relay once they are stale
+        final var aOccurredBefore = this.outboxProperties.isImmediatePublishEnabled()
+                ? InstantUtils.now().minus(this.outboxProperties.getSweepStaleAfter())
+                : InstantUtils.now();
+
+        final var aTransactionResult = this.transactionManager.execute(() -> {
+            if (this.outboxLeaseManager.isEnabled()) {
+                this.outboxJdbcRepository.assignBuckets(aLimit);
+            }
+
+            final var aEntries = this.outboxLeaseManager.isEnabled()
+                    ? this.outboxJdbcRepository.claimPending(aLimit, this.outboxLeaseManager.ownedBuckets(), aOccurredBefore)
+                    : this.outboxJdbcRepository.claimPending(aLimit, aOccurredBefore);
+            if (aEntries.isEmpty()) {
+                return 0;
+            }
+
+            final var aFailed = this.outboxKafkaSender.sendAll(aEntries);
+            final var aProcessed = aEntries.stream()
+                    .map(OutboxEntry::eventId)
+                    .filter(aEventId -> !aFailed.contains(aEventId))
+                    .toList();
+
+            this.outboxJdbcRepository.updateStatus(aProcessed, OutboxStatus.PROCESSED);
+            this.outboxJdbcRepository
+                    .recordFailedAttempts(OutboxKafkaSender.failedHeads(aEntries, aFailed), InstantUtils.now())
+                    .forEach(aEntry -> log.error(
+                            "Outbox entry {} of aggregate {} version {} failed {} times and will not be retried",
+                            aEntry.eventId(), aEntry.aggregateId(), aEntry.aggregateVersion(), aEntry.attempts() + 1));
+            log.info("Outbox relay published {} entries, {} failed", aProcessed.size(), aFailed.size());
+            return aEntries.size();
+        });
+
+        if (aTransactionResult.isFailure()) {
+            log.error("Error relaying outbox entries: {}", aTransactionResult.getErrorResult().message());
+            adapt(0, aLimit);
+            return 0;
+        }
+
+        adapt(aTransactionResult.getSuccessResult(), aLimit);
+        return aTransactionResult.getSuccessResult();
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    private void poll() {
+        try {
+            relayBatch();
+        } catch (final Exception e) {
+            log.error("Unexpected error on outbox relay", e);
+        } finally {
+            final var aScheduler = this.scheduler;
+            if (aScheduler != null && !aScheduler.isShutdown()) {
+                aScheduler.schedule(this::poll, this.pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void adapt(final int aRelayed, final int aLimit) {
+        final var aMinInterval = this.outboxProperties.getMinPollInterval();
+        final var aMaxInterval = this.outboxProperties.getMaxPollInterval();
+
+        if (aRelayed >= aLimit) {
+            this.batchSize = Math.min(aLimit * 2, this.outboxProperties.getMaxBatchSize());
+            this.pollInterval = aMinInterval;
+        } else if (aRelayed > 0) {
+            this.pollInterval = aMinInterval;
+        } else {
+            this.batchSize = Math.max(aLimit / 2, this.outboxProperties.getMinBatchSize());
+            final var aNextInterval = this.pollInterval.multipliedBy(2);
+            this.pollInterval = aNextInterval.compareTo(aMaxInterval) > 0 ? aMaxInterval : aNextInterval;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes processed outbox rows older than outbox.retention. By
+ * default rows are deleted in small batches, each on its own short transaction
+ * and with a pause between them, so the purge never holds long locks or floods
+ * the binlog. With outbox.retention-partitions-enabled the table is expected to
+ * be partitioned by day and whole expired partitions are dropped instead, as
+ * long as every row in them is processed, and upcoming partitions are created.
+ * FAILED rows are never removed, they stay for operators to inspect.
+ */
+@Component
+public class OutboxRetentionJob implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRetentionJob.class);
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final OutboxPartitionJdbcRepository outboxPartitionJdbcRepository;
+    private final TransactionManager transactionManager;
+    private final OutboxProperties outboxProperties;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public OutboxRetentionJob(
+            final OutboxJdbcRepository outboxJdbcRepository,
+            final OutboxPartitionJdbcRepository outboxPartitionJdbcRepository,
+            final TransactionManager transactionManager,
+            final OutboxProperties outboxProperties
+    ) {
+        this.outboxJdbcRepository = Objects.requireNonNull(outboxJdbcRepository);
+        this.outboxPartitionJdbcRepository = Objects.requireNonNull(outboxPartitionJdbcRepository);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.outboxProperties = Objects.requireNonNull(outboxProperties);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.outboxProperties.isRetentionEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-retention-"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::runSafely,
+                this.outboxProperties.getRetentionInterval().toMillis(),
+                this.outboxProperties.getRetentionInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        log.info("Outbox retention started keeping processed entries for {}", this.outboxProperties.getRetention());
+    }
+
+    public synchronized void stop() {
+        final var aScheduler = this.scheduler;
+        this.scheduler = null;
+
+        if (aScheduler == null) {
+            return;
+        }
+
+        aScheduler.shutdownNow();
+        log.info("Outbox retention stopped");
+    }
+
+    public int run() {
+        return this.outboxProperties.isRetentionPartitionsEnabled()
+                ? rotatePartitions()
+                : purge();
+    }
+
+    public int purge() {
+        final var aOccurredBefore = InstantUtils.now().minus(this.outboxProperties.getRetention());
+        final var aBatchSize = this.outboxProperties.getRetentionBatchSize();
+        final var aPause = this.outboxProperties.getRetentionBatchPause().toMillis();
+
+        var aPurged = 0;
+        for (int i = 0; i < this.outboxProperties.getRetentionMaxBatchesPerRun(); i++) {
+            final var aResult = this.transactionManager.execute(() ->
+                    this.outboxJdbcRepository.purgeProcessed(aOccurredBefore, aBatchSize));
+
+            if (aResult.isFailure()) {
+                log.error("Error purging processed outbox entries: {}", aResult.getErrorResult().message());
+                break;
+            }
+
+            aPurged += aResult.getSuccessResult();
+            if (aResult.getSuccessResult() < aBatchSize || !sleep(aPause)) {
+                break;
+            }
+        }
+
+        log.info("Outbox retention purged {} processed entries older than {}", aPurged, aOccurredBefore);
+        return aPurged;
+    }
+
+    public int rotatePartitions() {
+        final var aToday = LocalDate.now(ZoneOffset.UTC);
+        final var aCutoff = InstantUtils.now().minus(this.outboxProperties.getRetention());
+        final var aPartitions = this.outboxPartitionJdbcRepository.partitions();
+
+        for (int i = 0; i <= this.outboxProperties.getRetentionPartitionsAhead(); i++) {
+            final var aDay = aToday.plusDays(i);
+            if (!aPartitions.contains(OutboxPartitionJdbcRepository.partitionOf(aDay))) {
+                this.outboxPartitionJdbcRepository.addPartition(aDay);
+            }
+        }
+
+        var aDropped = 0;
+        for (final var aPartition : aPartitions) {
+            final var aDay = OutboxPartitionJdbcRepository.dayOf(aPartition);
+            if (aDay.isEmpty() || aDay.get().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().isAfter(aCutoff)) {
+                continue;
+            }
+
+            final var aUnprocessed = this.outboxPartitionJdbcRepository.countUnprocessed(aPartition);
+            if (aUnprocessed > 0) {
+                log.warn("Outbox partition {} kept, it still has {} pending or failed entries", aPartition, aUnprocessed);
+                continue;
+            }
+
+            this.outboxPartitionJdbcRepository.dropPartition(aPartition);
+            aDropped++;
+        }
+        return aDropped;
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (final Exception e) {
+            log.error("Unexpected error on outbox retention", e);
+        }
+    }
+
+    private static boolean sleep(final long aMillis) {
+        try {
+            Thread.sleep(aMillis);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
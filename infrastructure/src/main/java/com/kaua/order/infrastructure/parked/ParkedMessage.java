@@ -0,0 +1,61 @@
+package com.kaua.order.infrastructure.parked;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+public record ParkedMessage(
+        Long id,
+        String messageType,
+        String topic,
+        String dltTopic,
+        String messageKey,
+        String payload,
+        List<ParkedHeader> headers,
+        Instant occurredOn,
+        Instant parkedAt
+) {
+
+    public static ParkedMessage from(
+            final ConsumerRecord<String, ?> record,
+            final String messageType,
+            final String dltTopic,
+            final Instant occurredOn
+    ) {
+        final var aHeaders = StreamSupport.stream(record.headers().spliterator(), false)
+                .map(it -> new ParkedHeader(it.key(), Base64.getEncoder().encodeToString(it.value())))
+                .toList();
+
+        // typed payloads are parked with the same JSON the producer wrote
+        final var aPayload = record.value() instanceof String aString
+                ? aString
+                : Json.writeValueAsString(record.value());
+
+        return new ParkedMessage(
+                null,
+                messageType,
+                record.topic(),
+                dltTopic,
+                record.key(),
+                aPayload,
+                aHeaders,
+                occurredOn,
+                InstantUtils.now()
+        );
+    }
+
+    public ProducerRecord<String, Object> toProducerRecord(final String aTopic) {
+        final var aProducerRecord = new ProducerRecord<String, Object>(aTopic, messageKey, payload);
+        headers.forEach(it -> aProducerRecord.headers().add(it.key(), Base64.getDecoder().decode(it.value())));
+        return aProducerRecord;
+    }
+
+    public record ParkedHeader(String key, String value) {
+    }
+}
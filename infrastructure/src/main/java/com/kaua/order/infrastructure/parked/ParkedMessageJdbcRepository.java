@@ -0,0 +1,99 @@
+package com.kaua.order.infrastructure.parked;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class ParkedMessageJdbcRepository {
+
+    private static final String INSERT_PARKED_MESSAGE_QUERY = "INSERT INTO parked_messages (message_type, topic, dlt_topic, message_key, payload, headers, occurred_on, parked_at) VALUES (:message_type, :topic, :dlt_topic, :message_key, :payload, :headers, :occurred_on, :parked_at)";
+    private static final String SELECT_MESSAGE_TYPES_QUERY = "SELECT DISTINCT message_type FROM parked_messages";
+    private static final String SELECT_BY_MESSAGE_TYPE_QUERY = "SELECT * FROM parked_messages WHERE message_type = :message_type ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_EXPIRED_QUERY = "SELECT * FROM parked_messages WHERE parked_at < :parked_before ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_BY_IDS_QUERY = "DELETE FROM parked_messages WHERE id IN (:ids)";
+
+    private static final TypeReference<List<ParkedMessage.ParkedHeader>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private static final Logger log = LoggerFactory.getLogger(ParkedMessageJdbcRepository.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ParkedMessageJdbcRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
+    }
+
+    public void park(final ParkedMessage message) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("message_type", message.messageType())
+                .addValue("topic", message.topic())
+                .addValue("dlt_topic", message.dltTopic())
+                .addValue("message_key", message.messageKey())
+                .addValue("payload", message.payload())
+                .addValue("headers", Json.writeValueAsString(message.headers()))
+                .addValue("occurred_on", LocalDateTime.ofInstant(message.occurredOn(), ZoneOffset.UTC))
+                .addValue("parked_at", LocalDateTime.ofInstant(message.parkedAt(), ZoneOffset.UTC));
+
+        this.jdbcTemplate.update(INSERT_PARKED_MESSAGE_QUERY, aParameters);
+        log.debug("Parked message of type {} from topic {}", message.messageType(), message.topic());
+    }
+
+    public List<String> findMessageTypes() {
+        return this.jdbcTemplate.queryForList(SELECT_MESSAGE_TYPES_QUERY, new MapSqlParameterSource(), String.class);
+    }
+
+    // claims the rows until the transaction ends, replayers of other instances skip them
+    public List<ParkedMessage> findByMessageType(final String messageType, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("message_type", messageType)
+                .addValue("limit", limit);
+
+        return this.jdbcTemplate.query(SELECT_BY_MESSAGE_TYPE_QUERY, aParameters, parkedMessageMapper());
+    }
+
+    // a message is kept parked for the expiry from the moment it was parked, however old it already was
+    public List<ParkedMessage> findExpired(final Instant parkedBefore, final int limit) {
+        final var aParameters = new MapSqlParameterSource()
+                .addValue("parked_before", LocalDateTime.ofInstant(parkedBefore, ZoneOffset.UTC))
+                .addValue("limit", limit);
+
+        return this.jdbcTemplate.query(SELECT_EXPIRED_QUERY, aParameters, parkedMessageMapper());
+    }
+
+    public int deleteAll(final Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        final var aDeleted = this.jdbcTemplate.update(DELETE_BY_IDS_QUERY, new MapSqlParameterSource("ids", ids));
+        log.debug("Deleted {} parked messages", aDeleted);
+        return aDeleted;
+    }
+
+    private static RowMapper<ParkedMessage> parkedMessageMapper() {
+        return (rs, rowNum) -> new ParkedMessage(
+                rs.getLong("id"),
+                rs.getString("message_type"),
+                rs.getString("topic"),
+                rs.getString("dlt_topic"),
+                rs.getString("message_key"),
+                rs.getString("payload"),
+                Json.readValue(rs.getString("headers"), HEADERS_TYPE),
+                rs.getObject("occurred_on", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                rs.getObject("parked_at", LocalDateTime.class).toInstant(ZoneOffset.UTC)
+        );
+    }
+}
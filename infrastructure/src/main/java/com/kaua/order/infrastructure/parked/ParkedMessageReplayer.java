@@ -0,0 +1,227 @@
+package com.kaua.order.infrastructure.parked;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.configurations.properties.parked.ParkedMessagesProperties;
+import com.kaua.order.infrastructure.listeners.MessageHandlerRegistry;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Drains the parked messages. Messages of a type that now has a handler are
+ * published back to their original topic in bulk, oldest first, and messages
+ * still unhandled parked-messages.expire-after after being parked are sent to
+ * their invalid DLT. Each batch is claimed with FOR UPDATE SKIP LOCKED and
+ * deleted in the same transaction once the broker acknowledged it, so the
+ * replayers of several instances never publish the same rows. A crash before
+ * the commit republishes them and the inbox drops the duplicates.
+ */
+@Component
+public class ParkedMessageReplayer implements InitializingBean, DisposableBean {
+
+    private static final String ERROR_MESSAGE_HEADER = "error_message";
+
+    private static final Logger log = LoggerFactory.getLogger(ParkedMessageReplayer.class);
+
+    private final ParkedMessageJdbcRepository parkedMessageJdbcRepository;
+    private final MessageHandlerRegistry messageHandlerRegistry;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionManager transactionManager;
+    private final ParkedMessagesProperties parkedMessagesProperties;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public ParkedMessageReplayer(
+            final ParkedMessageJdbcRepository parkedMessageJdbcRepository,
+            final MessageHandlerRegistry messageHandlerRegistry,
+            final KafkaTemplate<String, Object> kafkaTemplate,
+            final TransactionManager transactionManager,
+            final ParkedMessagesProperties parkedMessagesProperties
+    ) {
+        this.parkedMessageJdbcRepository = Objects.requireNonNull(parkedMessageJdbcRepository);
+        this.messageHandlerRegistry = Objects.requireNonNull(messageHandlerRegistry);
+        this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.parkedMessagesProperties = Objects.requireNonNull(parkedMessagesProperties);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (this.parkedMessagesProperties.isReplayEnabled()) {
+            start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    public synchronized void start() {
+        if (this.scheduler != null) {
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("parked-messages-"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::runSafely,
+                this.parkedMessagesProperties.getReplayInterval().toMillis(),
+                this.parkedMessagesProperties.getReplayInterval().toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+        log.info("Parked messages replay started every {}", this.parkedMessagesProperties.getReplayInterval());
+    }
+
+    public synchronized void stop() {
+        final var aScheduler = this.scheduler;
+        this.scheduler = null;
+
+        if (aScheduler == null) {
+            return;
+        }
+
+        aScheduler.shutdownNow();
+        log.info("Parked messages replay stopped");
+    }
+
+    public int run() {
+        return replay() + expire();
+    }
+
+    public int replay() {
+        var aReplayed = 0;
+        for (final var aMessageType : this.parkedMessageJdbcRepository.findMessageTypes()) {
+            if (!isHandled(aMessageType)) {
+                continue;
+            }
+
+            final var aReplayedOfType = drain(
+                    () -> this.parkedMessageJdbcRepository.findByMessageType(aMessageType, this.parkedMessagesProperties.getBatchSize()),
+                    it -> it.toProducerRecord(it.topic())
+            );
+            if (aReplayedOfType > 0) {
+                log.info("Replayed {} parked messages of type {}", aReplayedOfType, aMessageType);
+            }
+            aReplayed += aReplayedOfType;
+        }
+        return aReplayed;
+    }
+
+    public int expire() {
+        final var aParkedBefore = InstantUtils.now().minus(this.parkedMessagesProperties.getExpireAfter());
+
+        final var aExpired = drain(
+                () -> this.parkedMessageJdbcRepository.findExpired(aParkedBefore, this.parkedMessagesProperties.getBatchSize()),
+                this::toDltRecord
+        );
+        if (aExpired > 0) {
+            log.warn("Sent {} parked messages parked before {} to their DLT", aExpired, aParkedBefore);
+        }
+        return aExpired;
+    }
+
+    private boolean isHandled(final String aMessageType) {
+        return this.messageHandlerRegistry.findCommand(aMessageType).isPresent()
+                || this.messageHandlerRegistry.findEvent(aMessageType).isPresent();
+    }
+
+    private int drain(
+            final Supplier<List<ParkedMessage>> aNextBatch,
+            final Function<ParkedMessage, ProducerRecord<String, Object>> aToRecord
+    ) {
+        var aDrained = 0;
+        for (int i = 0; i < this.parkedMessagesProperties.getMaxBatchesPerRun(); i++) {
+            final var aResult = this.transactionManager.execute(() -> {
+                final var aMessages = aNextBatch.get();
+                final var aPublished = publish(aMessages, aToRecord);
+                return new DrainedBatch(aMessages.size(), aPublished.size(), this.parkedMessageJdbcRepository.deleteAll(aPublished));
+            });
+
+            if (aResult.isFailure()) {
+                log.error("Error draining parked messages: {}", aResult.getErrorResult().message());
+                break;
+            }
+
+            final var aBatch = aResult.getSuccessResult();
+            aDrained += aBatch.deleted();
+
+            // a failed send keeps its row, the next run tries again instead of spinning on it now
+            if (aBatch.published() < aBatch.claimed() || aBatch.claimed() < this.parkedMessagesProperties.getBatchSize()) {
+                break;
+            }
+        }
+        return aDrained;
+    }
+
+    private List<Long> publish(
+            final List<ParkedMessage> aMessages,
+            final Function<ParkedMessage, ProducerRecord<String, Object>> aToRecord
+    ) {
+        final var aSends = new ArrayList<CompletableFuture<SendResult<String, Object>>>(aMessages.size());
+        for (final var aMessage : aMessages) {
+            try {
+                aSends.add(this.kafkaTemplate.send(aToRecord.apply(aMessage)));
+            } catch (final Exception e) {
+                aSends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        final var aDeadline = System.nanoTime() + this.parkedMessagesProperties.getSendTimeout().toNanos();
+        final var aPublished = new ArrayList<Long>(aMessages.size());
+
+        for (int i = 0; i < aMessages.size(); i++) {
+            final var aMessage = aMessages.get(i);
+            try {
+                aSends.get(i).get(Math.max(0, aDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                aPublished.add(aMessage.id());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (final ExecutionException | TimeoutException e) {
+                log.error("Error publishing parked message {} of type {}", aMessage.id(), aMessage.messageType(), e);
+            }
+        }
+        return aPublished;
+    }
+
+    private ProducerRecord<String, Object> toDltRecord(final ParkedMessage aMessage) {
+        final var aParkedFor = Duration.between(aMessage.parkedAt(), InstantUtils.now()).toDays();
+        final var aProducerRecord = aMessage.toProducerRecord(aMessage.dltTopic());
+        aProducerRecord.headers().add(
+                ERROR_MESSAGE_HEADER,
+                ("Message type not supported after " + aParkedFor + " days parked, type: " + aMessage.messageType()).getBytes()
+        );
+        return aProducerRecord;
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (final Exception e) {
+            log.error("Unexpected error on parked messages replay", e);
+        }
+    }
+
+    private record DrainedBatch(int claimed, int published, int deleted) {
+    }
+}
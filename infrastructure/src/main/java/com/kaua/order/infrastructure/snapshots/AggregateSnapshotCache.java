@@ -0,0 +1,93 @@
+package com.kaua.order.infrastructure.snapshots;
+
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+public class AggregateSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregateSnapshotCache.class);
+
+    private final EventStoreProperties eventStoreProperties;
+    private final Map<String, CachedSnapshot> entries;
+
+    public AggregateSnapshotCache(final EventStoreProperties eventStoreProperties) {
+        this.eventStoreProperties = Objects.requireNonNull(eventStoreProperties);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedSnapshot> eldest) {
+                return size() > eventStoreProperties.getAggregateCacheMaxSize();
+            }
+        };
+    }
+
+    public <T extends AggregateSnapshot> Optional<T> get(final String aggregateId, final long expectedVersion) {
+        if (!this.eventStoreProperties.isAggregateCacheEnabled()) {
+            return Optional.empty();
+        }
+
+        final CachedSnapshot aEntry;
+        synchronized (this.entries) {
+            aEntry = this.entries.get(aggregateId);
+
+            if (aEntry != null && aEntry.isExpired(System.nanoTime())) {
+                this.entries.remove(aggregateId);
+                log.debug("Cached snapshot for aggregate {} expired", aggregateId);
+                return Optional.empty();
+            }
+        }
+
+        if (aEntry == null || aEntry.snapshot().aggregateVersion() != expectedVersion) {
+            log.debug("Cache miss for aggregate {} at version {}", aggregateId, expectedVersion);
+            return Optional.empty();
+        }
+
+        log.debug("Cache hit for aggregate {} at version {}", aggregateId, expectedVersion);
+        // noinspection unchecked
+        return Optional.of((T) aEntry.snapshot());
+    }
+
+    public void put(final AggregateSnapshot snapshot) {
+        if (!this.eventStoreProperties.isAggregateCacheEnabled()) {
+            return;
+        }
+
+        final var aExpiresAt = System.nanoTime() + this.eventStoreProperties.getAggregateCacheTtl().toNanos();
+
+        synchronized (this.entries) {
+            final var aCurrent = this.entries.get(snapshot.aggregateId());
+
+            if (aCurrent == null || aCurrent.snapshot().aggregateVersion() < snapshot.aggregateVersion()) {
+                this.entries.put(snapshot.aggregateId(), new CachedSnapshot(snapshot, aExpiresAt));
+            }
+        }
+    }
+
+    public void invalidate(final String aggregateId) {
+        synchronized (this.entries) {
+            this.entries.remove(aggregateId);
+        }
+        log.debug("Cached snapshot for aggregate {} invalidated", aggregateId);
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private record CachedSnapshot(AggregateSnapshot snapshot, long expiresAt) {
+
+        boolean isExpired(final long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.kaua.order.infrastructure.snapshots.persistence;
+
+import com.kaua.order.domain.snapshots.AggregateSnapshot;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "snapshots")
+public class SnapshotsJpaEntity {
+
+    @Id
+    @Column(name = "aggregate_id")
+    private String aggregateId;
+
+    @Column(name = "aggregate_version", nullable = false)
+    private long aggregateVersion;
+
+    @Column(name = "snapshot_type", nullable = false)
+    private String snapshotType;
+
+    @Column(name = "snapshot_class_name", nullable = false)
+    private String snapshotClassName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", columnDefinition = "DATETIME(6)", nullable = false)
+    private Instant createdAt;
+
+    public SnapshotsJpaEntity() {}
+
+    private SnapshotsJpaEntity(
+            final String aggregateId,
+            final long aggregateVersion,
+            final String snapshotType,
+            final String snapshotClassName,
+            final String payload,
+            final Instant createdAt
+    ) {
+        this.aggregateId = aggregateId;
+        this.aggregateVersion = aggregateVersion;
+        this.snapshotType = snapshotType;
+        this.snapshotClassName = snapshotClassName;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public static SnapshotsJpaEntity with(final AggregateSnapshot aSnapshot) {
+        return new SnapshotsJpaEntity(
+                aSnapshot.aggregateId(),
+                aSnapshot.aggregateVersion(),
+                aSnapshot.snapshotType(),
+                aSnapshot.snapshotClassName(),
+                Json.writeValueAsString(aSnapshot),
+                aSnapshot.createdAt()
+        );
+    }
+
+    public <T extends AggregateSnapshot> T toAggregateSnapshot() {
+        try {
+            // noinspection unchecked
+            return Json.readValue(getPayload(), (Class<T>) Class.forName(getSnapshotClassName()));
+        } catch (final ClassNotFoundException | RuntimeException e) {
+            throw EventStoreException.with("Error while trying to deserialize snapshot %s".formatted(
+                    e.getMessage()));
+        }
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public long getAggregateVersion() {
+        return aggregateVersion;
+    }
+
+    public void setAggregateVersion(long aggregateVersion) {
+        this.aggregateVersion = aggregateVersion;
+    }
+
+    public String getSnapshotType() {
+        return snapshotType;
+    }
+
+    public void setSnapshotType(String snapshotType) {
+        this.snapshotType = snapshotType;
+    }
+
+    public String getSnapshotClassName() {
+        return snapshotClassName;
+    }
+
+    public void setSnapshotClassName(String snapshotClassName) {
+        this.snapshotClassName = snapshotClassName;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotsJpaEntity(" +
+                "aggregateId='" + aggregateId + '\'' +
+                ", aggregateVersion=" + aggregateVersion +
+                ", snapshotType='" + snapshotType + '\'' +
+                ", snapshotClassName='" + snapshotClassName + '\'' +
+                ", payload='" + payload + '\'' +
+                ", createdAt=" + createdAt +
+                ')';
+    }
+}
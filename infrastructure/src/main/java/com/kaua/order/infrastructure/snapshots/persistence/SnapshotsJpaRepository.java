@@ -0,0 +1,6 @@
+package com.kaua.order.infrastructure.snapshots.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SnapshotsJpaRepository extends JpaRepository<SnapshotsJpaEntity, String> {
+}
@@ -28,7 +28,7 @@ public class TransactionManagerImpl implements TransactionManager {
             });
             return TransactionResult.success(result);
         } catch (Exception e) {
-            return TransactionResult.failure(new Error(e.getMessage()));
+            return TransactionResult.failure(new Error(e.getMessage()), e);
         }
     }
 }
@@ -2,22 +2,30 @@ package com.kaua.order.infrastructure.transaction;
 
 import com.kaua.order.domain.validation.Error;
 
+import java.util.Optional;
+
 public class TransactionResult<T> {
 
     private final T success;
     private final Error error;
+    private final Throwable cause;
 
-    private TransactionResult(T success, Error error) {
+    private TransactionResult(T success, Error error, Throwable cause) {
         this.success = success;
         this.error = error;
+        this.cause = cause;
     }
 
     public static <T> TransactionResult<T> success(T aSuccessResult) {
-        return new TransactionResult<>(aSuccessResult, null);
+        return new TransactionResult<>(aSuccessResult, null, null);
     }
 
     public static <T> TransactionResult<T> failure(Error aErrorResult) {
-        return new TransactionResult<>(null, aErrorResult);
+        return new TransactionResult<>(null, aErrorResult, null);
+    }
+
+    public static <T> TransactionResult<T> failure(Error aErrorResult, Throwable aCause) {
+        return new TransactionResult<>(null, aErrorResult, aCause);
     }
 
     public boolean isFailure() {
@@ -31,4 +39,8 @@ public class TransactionResult<T> {
     public Error getErrorResult() {
         return this.error;
     }
+
+    public Optional<Throwable> getErrorCause() {
+        return Optional.ofNullable(this.cause);
+    }
 }
@@ -0,0 +1 @@
+DROP TABLE snapshots;
\ No newline at end of file
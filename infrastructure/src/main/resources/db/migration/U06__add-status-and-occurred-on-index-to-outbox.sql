@@ -0,0 +1 @@
+DROP INDEX idx_outbox_status_and_occurred_on ON outbox;
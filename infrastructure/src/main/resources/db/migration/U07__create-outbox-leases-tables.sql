@@ -0,0 +1,6 @@
+DROP TABLE outbox_nodes;
+DROP TABLE outbox_leases;
+
+DROP INDEX idx_outbox_bucket_and_status_and_occurred_on ON outbox;
+
+ALTER TABLE outbox DROP COLUMN bucket;
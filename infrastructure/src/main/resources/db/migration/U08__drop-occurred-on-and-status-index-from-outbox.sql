@@ -0,0 +1 @@
+CREATE INDEX idx_outbox_occurred_on_and_status ON outbox (occurred_on, status);
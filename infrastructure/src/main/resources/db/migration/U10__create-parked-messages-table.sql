@@ -0,0 +1 @@
+DROP TABLE parked_messages;
\ No newline at end of file
@@ -0,0 +1,4 @@
+DROP INDEX idx_outbox_aggregate_id_and_aggregate_version ON outbox;
+
+ALTER TABLE outbox DROP COLUMN next_attempt_at;
+ALTER TABLE outbox DROP COLUMN attempts;
@@ -0,0 +1,3 @@
+UPDATE outbox SET bucket = 0 WHERE bucket IS NULL;
+
+ALTER TABLE outbox MODIFY bucket INT NOT NULL DEFAULT 0;
@@ -0,0 +1 @@
+DROP TABLE command_status;
\ No newline at end of file
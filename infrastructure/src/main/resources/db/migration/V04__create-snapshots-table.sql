@@ -0,0 +1,8 @@
+CREATE TABLE snapshots (
+    aggregate_id VARCHAR(36) PRIMARY KEY NOT NULL,
+    aggregate_version INT NOT NULL,
+    snapshot_type VARCHAR(255) NOT NULL,
+    snapshot_class_name VARCHAR(255) NOT NULL,
+    payload JSON NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
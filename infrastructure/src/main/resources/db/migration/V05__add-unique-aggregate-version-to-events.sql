@@ -0,0 +1,3 @@
+CREATE UNIQUE INDEX uk_events_aggregate_id_and_aggregate_version ON events (aggregate_id, aggregate_version);
+
+DROP INDEX idx_events_aggregate_id_and_aggregate_version ON events;
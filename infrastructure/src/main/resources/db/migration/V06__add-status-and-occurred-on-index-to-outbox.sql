@@ -0,0 +1 @@
+CREATE INDEX idx_outbox_status_and_occurred_on ON outbox (status, occurred_on);
@@ -0,0 +1,14 @@
+ALTER TABLE outbox ADD COLUMN bucket INT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_outbox_bucket_and_status_and_occurred_on ON outbox (bucket, status, occurred_on);
+
+CREATE TABLE outbox_leases (
+    bucket INT PRIMARY KEY NOT NULL,
+    owner_id VARCHAR(255),
+    expires_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE outbox_nodes (
+    instance_id VARCHAR(255) PRIMARY KEY NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1 @@
+DROP INDEX idx_outbox_occurred_on_and_status ON outbox;
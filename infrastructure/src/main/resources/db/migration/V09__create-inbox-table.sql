@@ -0,0 +1,7 @@
+CREATE TABLE inbox (
+    message_id VARCHAR(36) PRIMARY KEY NOT NULL,
+    aggregate_id VARCHAR(36) NOT NULL,
+    processed_at DATETIME(6) NOT NULL
+);
+
+CREATE INDEX idx_inbox_processed_at ON inbox (processed_at);
\ No newline at end of file
@@ -0,0 +1,14 @@
+CREATE TABLE parked_messages (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY NOT NULL,
+    message_type VARCHAR(255) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    dlt_topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255) NULL,
+    payload LONGTEXT NOT NULL,
+    headers TEXT NOT NULL,
+    occurred_on DATETIME(6) NOT NULL,
+    parked_at DATETIME(6) NOT NULL
+);
+
+CREATE INDEX idx_parked_messages_message_type ON parked_messages (message_type, id);
+CREATE INDEX idx_parked_messages_occurred_on ON parked_messages (occurred_on);
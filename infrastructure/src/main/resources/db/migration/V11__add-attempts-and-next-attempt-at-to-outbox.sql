@@ -0,0 +1,6 @@
+ALTER TABLE outbox ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE outbox ADD COLUMN next_attempt_at DATETIME(6) NULL;
+
+CREATE INDEX idx_outbox_aggregate_id_and_aggregate_version ON outbox (aggregate_id, aggregate_version);
+
+UPDATE outbox SET status = 'PENDING' WHERE status = 'FAILED';
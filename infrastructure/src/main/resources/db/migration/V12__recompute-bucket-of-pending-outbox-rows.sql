@@ -0,0 +1,3 @@
+ALTER TABLE outbox MODIFY bucket INT NULL;
+
+UPDATE outbox SET bucket = NULL WHERE status <> 'PROCESSED';
@@ -0,0 +1,8 @@
+CREATE TABLE command_status (
+    command_id VARCHAR(36) PRIMARY KEY NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    reason VARCHAR(255) NULL,
+    updated_at DATETIME(6) NOT NULL
+);
+
+CREATE INDEX idx_command_status_updated_at ON command_status (updated_at);
\ No newline at end of file
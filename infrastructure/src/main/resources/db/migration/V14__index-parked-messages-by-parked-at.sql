@@ -0,0 +1,3 @@
+DROP INDEX idx_parked_messages_occurred_on ON parked_messages;
+
+CREATE INDEX idx_parked_messages_parked_at ON parked_messages (parked_at);
\ No newline at end of file
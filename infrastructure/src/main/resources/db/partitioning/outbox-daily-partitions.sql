@@ -0,0 +1,17 @@
+-- Converts outbox to daily RANGE COLUMNS partitions on occurred_on (MySQL only).
+-- Not a Flyway migration: run it during a maintenance window, replacing the
+-- partition dates with the days still present in the table, then enable
+-- outbox.retention-partitions-enabled so the retention job adds upcoming
+-- partitions and drops expired ones instead of deleting rows.
+--
+-- MySQL requires every unique key to contain the partitioning column, so the
+-- primary key becomes (event_id, occurred_on). Partitions are named pYYYYMMDD
+-- and hold the rows of that day.
+
+ALTER TABLE outbox DROP PRIMARY KEY, ADD PRIMARY KEY (event_id, occurred_on);
+
+ALTER TABLE outbox PARTITION BY RANGE COLUMNS (occurred_on) (
+    PARTITION p20261018 VALUES LESS THAN ('2026-10-19 00:00:00'),
+    PARTITION p20261019 VALUES LESS THAN ('2026-10-20 00:00:00'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
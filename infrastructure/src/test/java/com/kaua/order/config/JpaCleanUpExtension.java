@@ -2,6 +2,7 @@ package com.kaua.order.config;
 
 import com.kaua.order.infrastructure.events.persistence.EventsJpaRepository;
 import com.kaua.order.infrastructure.outbox.OutboxJpaRepository;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaRepository;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.springframework.data.repository.CrudRepository;
@@ -18,7 +19,8 @@ public class JpaCleanUpExtension implements BeforeEachCallback {
 
         cleanUp(List.of(
                 appContext.getBean(EventsJpaRepository.class),
-                appContext.getBean(OutboxJpaRepository.class)
+                appContext.getBean(OutboxJpaRepository.class),
+                appContext.getBean(SnapshotsJpaRepository.class)
         ));
     }
 
@@ -1,6 +1,14 @@
 package com.kaua.order.infrastructure;
 
 import com.kaua.order.config.JpaCleanUpExtension;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.events.EventStoreWriter;
+import com.kaua.order.infrastructure.events.persistence.EventTypeRegistry;
+import com.kaua.order.infrastructure.events.persistence.EventsJdbcRepository;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
+import com.kaua.order.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.order.infrastructure.snapshots.AggregateSnapshotCache;
 import com.kaua.order.infrastructure.transaction.TransactionManagerImpl;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +33,17 @@ import java.lang.annotation.*;
 )
 @DataJpaTest
 @ExtendWith(JpaCleanUpExtension.class)
-@Import(TransactionManagerImpl.class)
+@Import({
+        TransactionManagerImpl.class,
+        EventStoreProperties.class,
+        EventsJdbcRepository.class,
+        EventStoreWriter.class,
+        EventTypeRegistry.class,
+        OutboxJdbcRepository.class,
+        OutboxProperties.class,
+        AggregateSnapshotCache.class,
+        InboxJdbcRepository.class
+})
 @Tag("integrationTest")
 public @interface DatabaseRepositoryTest {
 }
@@ -4,6 +4,7 @@ import com.kaua.order.application.repositories.EventStore;
 import com.kaua.order.domain.exceptions.DomainException;
 import com.kaua.order.domain.validation.Error;
 import com.kaua.order.infrastructure.ControllerTest;
+import com.kaua.order.infrastructure.exceptions.EventStoreConcurrencyException;
 import com.kaua.order.infrastructure.exceptions.EventStoreException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -64,6 +65,24 @@ public class GlobalExceptionHandlerTest {
         Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any());
     }
 
+    @Test
+    void testThrowEventStoreConcurrencyException() throws Exception {
+        final var aException = EventStoreConcurrencyException.with("123", 1);
+
+        Mockito.doThrow(aException).when(eventStore).save(Mockito.any());
+
+        final var request = MockMvcRequestBuilders.post("/v1/faker-controller")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", equalTo(aException.getMessage())));
+
+        Mockito.verify(eventStore, Mockito.times(1)).save(Mockito.any());
+    }
+
     @Test
     void testThrowUnknownException() throws Exception {
         Mockito.doThrow(new RuntimeException("Error"))
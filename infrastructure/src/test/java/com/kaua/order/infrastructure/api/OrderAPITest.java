@@ -1,12 +1,19 @@
 package com.kaua.order.infrastructure.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaua.order.application.handlers.commands.CreateOrderCommand;
 import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.utils.IdUtils;
 import com.kaua.order.infrastructure.ControllerTest;
 import com.kaua.order.infrastructure.commands.CommandBus;
+import com.kaua.order.infrastructure.commands.CommandStatus;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
+import com.kaua.order.infrastructure.exceptions.CommandBusException;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
 import com.kaua.order.infrastructure.models.OrderCreateRequest;
 import com.kaua.order.infrastructure.models.OrderItemRequest;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -16,7 +23,13 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
 
 @ControllerTest(controllers = OrderAPI.class)
 public class OrderAPITest {
@@ -30,8 +43,14 @@ public class OrderAPITest {
     @MockBean
     private CommandBus commandBus;
 
+    @MockBean
+    private InboxJdbcRepository inboxJdbcRepository;
+
+    @MockBean
+    private CommandStatusJdbcRepository commandStatusJdbcRepository;
+
     @Test
-    void givenAValidOrderCreateRequestWithCoupon_whenCallCreateOrder_thenShouldReturnCreated() throws Exception {
+    void givenAValidOrderCreateRequestWithCoupon_whenCallCreateOrder_thenShouldReturnAcceptedWithCommandId() throws Exception {
         final var aCustomerId = Fixture.customerId();
         final var aItems = OrderItemRequest.with(Fixture.itemSku(), Fixture.itemQuantity());
         final var aCouponCode = Fixture.couponCode();
@@ -50,17 +69,126 @@ public class OrderAPITest {
                 aShippingType
         );
 
-        Mockito.doNothing().when(commandBus).dispatch(Mockito.any(), Mockito.any());
+        Mockito.when(commandBus.dispatchAsync(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        final var request = MockMvcRequestBuilders.post("/v1/orders")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(aOrderCreateRequest));
+
+        final var aResult = this.mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        final var aCommandCaptor = ArgumentCaptor.forClass(CreateOrderCommand.class);
+        Mockito.verify(commandBus, Mockito.times(1)).dispatchAsync(aCommandCaptor.capture(), Mockito.any());
+        final var aCommandId = aCommandCaptor.getValue().commandId();
+        Mockito.verify(commandStatusJdbcRepository, Mockito.times(1)).accepted(aCommandId);
+
+        this.mvc.perform(MockMvcRequestBuilders.asyncDispatch(aResult))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.command_id", equalTo(aCommandId)))
+                .andExpect(MockMvcResultMatchers.header().string("Location",
+                        endsWith("/v1/orders/commands/" + aCommandId)));
+    }
+
+    @Test
+    void givenAFailedDispatch_whenCallCreateOrder_thenShouldReturnServiceUnavailable() throws Exception {
+        final var aOrderCreateRequest = new OrderCreateRequest(
+                Fixture.customerId(),
+                Set.of(OrderItemRequest.with(Fixture.itemSku(), Fixture.itemQuantity())),
+                Fixture.couponCode(),
+                "1",
+                1,
+                Fixture.shippingCompany(),
+                Fixture.shippingType()
+        );
+
+        Mockito.when(commandBus.dispatchAsync(Mockito.any(), Mockito.any()))
+                .thenReturn(CompletableFuture.failedFuture(CommandBusException.with("Too many commands in flight")));
 
         final var request = MockMvcRequestBuilders.post("/v1/orders")
                 .accept(MediaType.APPLICATION_JSON)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(mapper.writeValueAsString(aOrderCreateRequest));
 
+        final var aResult = this.mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        this.mvc.perform(MockMvcRequestBuilders.asyncDispatch(aResult))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+    @Test
+    void givenAProcessedCommandId_whenCallGetCommandStatus_thenShouldReturnProcessedWithOrderId() throws Exception {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+        final var aOrderId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.when(inboxJdbcRepository.findAggregateId(aCommandId)).thenReturn(Optional.of(aOrderId));
+
+        final var request = MockMvcRequestBuilders.get("/v1/orders/commands/{commandId}", aCommandId)
+                .accept(MediaType.APPLICATION_JSON);
+
         this.mvc.perform(request)
                 .andDo(MockMvcResultHandlers.print())
-                .andExpect(MockMvcResultMatchers.status().isCreated());
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.command_id", equalTo(aCommandId)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", equalTo("PROCESSED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.order_id", equalTo(aOrderId)));
+    }
+
+    @Test
+    void givenANotYetProcessedCommandId_whenCallGetCommandStatus_thenShouldReturnPending() throws Exception {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.when(inboxJdbcRepository.findAggregateId(aCommandId)).thenReturn(Optional.empty());
+        Mockito.when(commandStatusJdbcRepository.findById(aCommandId))
+                .thenReturn(Optional.of(new CommandStatus(aCommandId, CommandStatus.PENDING, null, Instant.now())));
+
+        final var request = MockMvcRequestBuilders.get("/v1/orders/commands/{commandId}", aCommandId)
+                .accept(MediaType.APPLICATION_JSON);
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", equalTo("PENDING")));
+    }
+
+    @Test
+    void givenAFailedCommandId_whenCallGetCommandStatus_thenShouldReturnFailedWithReason() throws Exception {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+        final var aReason = "Retries exhausted on place_order-command-topic";
 
-        Mockito.verify(commandBus, Mockito.times(1)).dispatch(Mockito.any(), Mockito.any());
+        Mockito.when(inboxJdbcRepository.findAggregateId(aCommandId)).thenReturn(Optional.empty());
+        Mockito.when(commandStatusJdbcRepository.findById(aCommandId))
+                .thenReturn(Optional.of(new CommandStatus(aCommandId, CommandStatus.FAILED, aReason, Instant.now())));
+
+        final var request = MockMvcRequestBuilders.get("/v1/orders/commands/{commandId}", aCommandId)
+                .accept(MediaType.APPLICATION_JSON);
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", equalTo("FAILED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.reason", equalTo(aReason)));
+    }
+
+    @Test
+    void givenAnUnknownCommandId_whenCallGetCommandStatus_thenShouldReturnNotFound() throws Exception {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.when(inboxJdbcRepository.findAggregateId(aCommandId)).thenReturn(Optional.empty());
+        Mockito.when(commandStatusJdbcRepository.findById(aCommandId)).thenReturn(Optional.empty());
+
+        final var request = MockMvcRequestBuilders.get("/v1/orders/commands/{commandId}", aCommandId)
+                .accept(MediaType.APPLICATION_JSON);
+
+        this.mvc.perform(request)
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 }
@@ -0,0 +1,56 @@
+package com.kaua.order.infrastructure.commands;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.IntegrationTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+
+@IntegrationTest
+public class CommandStatusJdbcRepositoryTest {
+
+    @Autowired
+    private CommandStatusJdbcRepository commandStatusJdbcRepository;
+
+    @Test
+    void givenAnAcceptedCommand_whenCallFailed_thenShouldMoveItToFailedWithReason() {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+
+        this.commandStatusJdbcRepository.accepted(aCommandId);
+        Assertions.assertEquals(CommandStatus.PENDING, this.commandStatusJdbcRepository.findById(aCommandId).orElseThrow().status());
+
+        this.commandStatusJdbcRepository.failed(aCommandId, "Retries exhausted");
+
+        final var aStatus = this.commandStatusJdbcRepository.findById(aCommandId).orElseThrow();
+        Assertions.assertTrue(aStatus.isFailed());
+        Assertions.assertEquals("Retries exhausted", aStatus.reason());
+    }
+
+    @Test
+    void givenACommandNeverAccepted_whenCallFailed_thenShouldInsertItAsFailed() {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+
+        Assertions.assertTrue(this.commandStatusJdbcRepository.findById(aCommandId).isEmpty());
+
+        this.commandStatusJdbcRepository.failed(aCommandId, "x".repeat(300));
+
+        final var aStatus = this.commandStatusJdbcRepository.findById(aCommandId).orElseThrow();
+        Assertions.assertTrue(aStatus.isFailed());
+        Assertions.assertEquals(255, aStatus.reason().length());
+    }
+
+    @Test
+    void givenAnAcceptedCommand_whenCallPurgeUpdatedBefore_thenShouldDeleteOnlyOlderRows() {
+        final var aCommandId = IdUtils.generateIdWithoutHyphen();
+        this.commandStatusJdbcRepository.accepted(aCommandId);
+
+        this.commandStatusJdbcRepository.purgeUpdatedBefore(InstantUtils.now().minus(Duration.ofDays(1)), 1000);
+        Assertions.assertTrue(this.commandStatusJdbcRepository.findById(aCommandId).isPresent());
+
+        this.commandStatusJdbcRepository.purgeUpdatedBefore(InstantUtils.now().plus(Duration.ofDays(1)), 1000);
+        Assertions.assertTrue(this.commandStatusJdbcRepository.findById(aCommandId).isEmpty());
+    }
+}
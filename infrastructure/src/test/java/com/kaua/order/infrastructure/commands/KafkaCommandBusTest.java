@@ -3,15 +3,20 @@ package com.kaua.order.infrastructure.commands;
 import com.kaua.order.application.handlers.commands.CreateOrderCommand;
 import com.kaua.order.application.handlers.commands.CreateOrderItemCommand;
 import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.kafka.CommandBusProperties;
+import com.kaua.order.infrastructure.exceptions.CommandBusException;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @UnitTest
 public class KafkaCommandBusTest {
@@ -33,7 +38,7 @@ public class KafkaCommandBusTest {
         );
         final var aTopic = "TOPIC";
 
-        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate);
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, new CommandBusProperties());
 
         CompletableFuture<SendResult<String, Object>> successFuture = new CompletableFuture<>();
         successFuture.complete(Mockito.mock(SendResult.class));
@@ -46,7 +51,7 @@ public class KafkaCommandBusTest {
     }
 
     @Test
-    void givenAValidCommandAndTopic_whenDispatch_thenShouldThrowRuntimeException() {
+    void givenAFailedSend_whenDispatch_thenShouldThrowCommandBusException() {
         final var aKafkaTemplate = Mockito.mock(KafkaTemplate.class);
 
         final var aCommand = CreateOrderCommand.with(
@@ -62,15 +67,118 @@ public class KafkaCommandBusTest {
         );
         final var aTopic = "TOPIC";
 
-        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate);
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, new CommandBusProperties());
 
         CompletableFuture<SendResult<String, Object>> successFuture = new CompletableFuture<>();
-        successFuture.completeExceptionally(new RuntimeException());
+        successFuture.completeExceptionally(new RuntimeException("broker unavailable"));
 
         Mockito.when(aKafkaTemplate.send(Mockito.any(ProducerRecord.class))).thenReturn(successFuture);
 
-        Assertions.assertDoesNotThrow(() -> kafkaCommandBus.dispatch(aCommand, aTopic));
+        final var aException = Assertions.assertThrows(CommandBusException.class,
+                () -> kafkaCommandBus.dispatch(aCommand, aTopic));
+
+        Assertions.assertEquals("broker unavailable", aException.getMessage());
 
         Mockito.verify(aKafkaTemplate, Mockito.times(1)).send(Mockito.any(ProducerRecord.class));
     }
+
+    @Test
+    void givenACreateOrderCommand_whenDispatch_thenShouldKeyRecordByCustomerId() {
+        final KafkaTemplate<String, Object> aKafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+        final var aCommand = CreateOrderCommand.with(
+                "customer-1",
+                Set.of(CreateOrderItemCommand.with("1", 1)),
+                "COUPON",
+                "1",
+                1,
+                "SHIPPING_COMPANY",
+                "SHIPPING_TYPE",
+                "1",
+                "1"
+        );
+
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, new CommandBusProperties());
+
+        Mockito.when(aKafkaTemplate.send(Mockito.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        kafkaCommandBus.dispatch(aCommand, "TOPIC");
+
+        final ArgumentCaptor<ProducerRecord<String, Object>> aRecordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(aKafkaTemplate, Mockito.times(1)).send(aRecordCaptor.capture());
+
+        Assertions.assertEquals("customer-1", aRecordCaptor.getValue().key());
+        Assertions.assertEquals("TOPIC", aRecordCaptor.getValue().topic());
+    }
+
+    @Test
+    void givenAPendingSend_whenDispatchAsync_thenShouldNotBlockAndCompleteOnAcknowledgment() {
+        final KafkaTemplate<String, Object> aKafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, new CommandBusProperties());
+
+        final var aSend = new CompletableFuture<SendResult<String, Object>>();
+        Mockito.when(aKafkaTemplate.send(Mockito.<ProducerRecord<String, Object>>any())).thenReturn(aSend);
+
+        final var aResult = kafkaCommandBus.dispatchAsync(command(), "TOPIC");
+
+        Assertions.assertFalse(aResult.isDone());
+        Assertions.assertEquals(999, kafkaCommandBus.availableSlots());
+
+        aSend.complete(Mockito.mock(SendResult.class));
+
+        Assertions.assertDoesNotThrow(aResult::join);
+        Assertions.assertEquals(1000, kafkaCommandBus.availableSlots());
+    }
+
+    @Test
+    void givenNoInFlightSlotsLeft_whenDispatchAsync_thenShouldRejectCommand() {
+        final KafkaTemplate<String, Object> aKafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        final var aProperties = new CommandBusProperties();
+        aProperties.setMaxInFlight(1);
+        aProperties.setAcquireTimeout(Duration.ofMillis(10));
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, aProperties);
+
+        Mockito.when(aKafkaTemplate.send(Mockito.<ProducerRecord<String, Object>>any()))
+                .thenReturn(new CompletableFuture<>());
+
+        final var aFirst = kafkaCommandBus.dispatchAsync(command(), "TOPIC");
+        final var aSecond = kafkaCommandBus.dispatchAsync(command(), "TOPIC");
+
+        Assertions.assertFalse(aFirst.isDone());
+        final var aException = Assertions.assertThrows(CompletionException.class, aSecond::join);
+        Assertions.assertInstanceOf(CommandBusException.class, aException.getCause());
+        Mockito.verify(aKafkaTemplate, Mockito.times(1)).send(Mockito.<ProducerRecord<String, Object>>any());
+    }
+
+    @Test
+    void givenASendNotAcknowledgedInTime_whenDispatchAsync_thenShouldFailAndReleaseSlot() {
+        final KafkaTemplate<String, Object> aKafkaTemplate = Mockito.mock(KafkaTemplate.class);
+        final var aProperties = new CommandBusProperties();
+        aProperties.setSendTimeout(Duration.ofMillis(50));
+        final var kafkaCommandBus = new KafkaCommandBus(aKafkaTemplate, aProperties);
+
+        Mockito.when(aKafkaTemplate.send(Mockito.<ProducerRecord<String, Object>>any()))
+                .thenReturn(new CompletableFuture<>());
+
+        final var aException = Assertions.assertThrows(CompletionException.class,
+                () -> kafkaCommandBus.dispatchAsync(command(), "TOPIC").join());
+
+        Assertions.assertInstanceOf(CommandBusException.class, aException.getCause());
+        Assertions.assertEquals(aProperties.getMaxInFlight(), kafkaCommandBus.availableSlots());
+    }
+
+    private static CreateOrderCommand command() {
+        return CreateOrderCommand.with(
+                "1",
+                Set.of(CreateOrderItemCommand.with("1", 1)),
+                "COUPON",
+                "1",
+                1,
+                "SHIPPING_COMPANY",
+                "SHIPPING_TYPE",
+                "1",
+                "1"
+        );
+    }
 }
@@ -0,0 +1,93 @@
+package com.kaua.order.infrastructure.configurations.kafka;
+
+import com.kaua.order.application.handlers.commands.CreateOrderCommand;
+import com.kaua.order.application.handlers.commands.CreateOrderItemCommand;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+@UnitTest
+public class TypedPayloadDeserializerTest {
+
+    private final TypedPayloadDeserializer deserializer = new TypedPayloadDeserializer(Map.of(
+            CreateOrderCommand.COMMAND_TYPE, Json.readerFor(CreateOrderCommand.class)
+    ));
+
+    @Test
+    void givenACommandTypeHeader_whenCallDeserialize_thenShouldReturnTypedCommand() {
+        final var aCommand = newCommand();
+        final var aHeaders = new RecordHeaders();
+        aHeaders.add(HeadersConstants.COMMAND_TYPE, CreateOrderCommand.COMMAND_TYPE.getBytes());
+
+        final var aPayload = this.deserializer.deserialize(
+                "place_order-command-topic",
+                aHeaders,
+                Json.writeValueAsString(aCommand).getBytes(StandardCharsets.UTF_8)
+        );
+
+        final var aResult = Assertions.assertInstanceOf(CreateOrderCommand.class, aPayload);
+        Assertions.assertEquals(aCommand.commandId(), aResult.commandId());
+        Assertions.assertEquals(aCommand.customerId(), aResult.customerId());
+    }
+
+    @Test
+    void givenAnUnknownTypeHeader_whenCallDeserialize_thenShouldReturnText() {
+        final var aHeaders = new RecordHeaders();
+        aHeaders.add(HeadersConstants.EVENT_TYPE, "UnknownEvent".getBytes());
+
+        final var aPayload = this.deserializer.deserialize(
+                "payment-tax-calculated-external-event-topic",
+                aHeaders,
+                "{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8)
+        );
+
+        Assertions.assertEquals("{\"id\":\"123\"}", aPayload);
+    }
+
+    @Test
+    void givenAnUnreadablePayload_whenCallDeserialize_thenShouldReturnText() {
+        final var aHeaders = new RecordHeaders();
+        aHeaders.add(HeadersConstants.COMMAND_TYPE, CreateOrderCommand.COMMAND_TYPE.getBytes());
+
+        final var aPayload = this.deserializer.deserialize(
+                "place_order-command-topic",
+                aHeaders,
+                "not-a-json".getBytes(StandardCharsets.UTF_8)
+        );
+
+        Assertions.assertEquals("not-a-json", aPayload);
+    }
+
+    @Test
+    void givenATypedPayload_whenCallSerialize_thenShouldWriteJson() {
+        final var aCommand = newCommand();
+
+        final var aBytes = new PayloadSerializer().serialize("place_order-command-topic", aCommand);
+
+        Assertions.assertEquals(
+                Json.writeValueAsString(aCommand),
+                new String(aBytes, StandardCharsets.UTF_8)
+        );
+    }
+
+    private static CreateOrderCommand newCommand() {
+        return CreateOrderCommand.with(
+                "customerId",
+                Set.of(CreateOrderItemCommand.with("sku", 1)),
+                "couponCode",
+                "paymentMethodId",
+                1,
+                "shippingCompany",
+                "shippingType",
+                "who",
+                "traceId"
+        );
+    }
+}
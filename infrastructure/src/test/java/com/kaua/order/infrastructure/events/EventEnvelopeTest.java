@@ -0,0 +1,42 @@
+package com.kaua.order.infrastructure.events;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.events.persistence.EventsJpaEntity;
+import com.kaua.order.infrastructure.outbox.OutboxJpaEntity;
+import com.kaua.order.infrastructure.outbox.OutboxStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+public class EventEnvelopeTest {
+
+    @Test
+    void givenAValidDomainEvent_whenCallFrom_thenShouldCopyMetadataAndSerializePayload() {
+        final var aEvent = Fixture.sampleEntityEvent(IdUtils.generateIdWithoutHyphen(), 3);
+
+        final var aEnvelope = EventEnvelope.from(aEvent);
+
+        Assertions.assertEquals(aEvent.eventId(), aEnvelope.eventId());
+        Assertions.assertEquals(aEvent.eventType(), aEnvelope.eventType());
+        Assertions.assertEquals(aEvent.eventClassName(), aEnvelope.eventClassName());
+        Assertions.assertEquals(aEvent.aggregateId(), aEnvelope.aggregateId());
+        Assertions.assertEquals(aEvent.aggregateVersion(), aEnvelope.aggregateVersion());
+        Assertions.assertEquals(aEvent.occurredOn(), aEnvelope.occurredOn());
+        Assertions.assertEquals(Json.writeValueAsString(aEvent), aEnvelope.payload());
+    }
+
+    @Test
+    void givenAnEnvelope_whenCreateEventAndOutboxEntities_thenShouldShareSamePayload() {
+        final var aEnvelope = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithoutHyphen(), 0));
+
+        final var aEventEntity = EventsJpaEntity.with(aEnvelope);
+        final var aOutboxEntity = OutboxJpaEntity.create(aEnvelope);
+
+        Assertions.assertSame(aEnvelope.payload(), aEventEntity.getPayload());
+        Assertions.assertSame(aEnvelope.payload(), aOutboxEntity.getPayload());
+        Assertions.assertEquals(OutboxStatus.PENDING, aOutboxEntity.getStatus());
+    }
+}
@@ -3,18 +3,39 @@ package com.kaua.order.infrastructure.events;
 import com.kaua.order.domain.AggregateRoot;
 import com.kaua.order.domain.Fixture;
 import com.kaua.order.domain.Identifier;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.order.Order;
+import com.kaua.order.domain.order.OrderItem;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.snapshots.OrderSnapshot;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
 import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
 import com.kaua.order.domain.validation.ValidationHandler;
 import com.kaua.order.infrastructure.DatabaseRepositoryTest;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreAppendMode;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
 import com.kaua.order.infrastructure.events.persistence.EventsJpaRepository;
+import com.kaua.order.infrastructure.exceptions.EventStoreConcurrencyException;
 import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
 import com.kaua.order.infrastructure.outbox.OutboxJpaRepository;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaEntity;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -32,6 +53,20 @@ public class EventStoreRepositoryImplTest {
     @Autowired
     private OutboxJpaRepository outboxJpaRepository;
 
+    @Autowired
+    private SnapshotsJpaRepository snapshotsJpaRepository;
+
+    @Autowired
+    private EventStoreProperties eventStoreProperties;
+
+    @Autowired
+    private InboxJdbcRepository inboxJdbcRepository;
+
+    @AfterEach
+    void resetAppendMode() {
+        this.eventStoreProperties.setAppendMode(EventStoreAppendMode.LOCKING);
+    }
+
     @Test
     void givenAValidDomainEvent_whenCallSave_thenShouldStoreEvent() {
         final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
@@ -45,6 +80,22 @@ public class EventStoreRepositoryImplTest {
         Assertions.assertEquals(1, this.outboxJpaRepository.count());
     }
 
+    @Test
+    void givenAnAlreadyProcessedMessageId_whenCallSave_thenShouldThrowInboxDuplicateMessageException() {
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+        final var aFirst = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+        final var aDuplicate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+
+        Assertions.assertDoesNotThrow(() -> this.eventStoreRepository.save(aFirst, List.of(aMessageId)));
+        Assertions.assertTrue(this.inboxJdbcRepository.existsById(aMessageId));
+
+        final var aException = Assertions.assertThrows(InboxDuplicateMessageException.class,
+                () -> this.eventStoreRepository.save(aDuplicate, List.of(aMessageId)));
+
+        Assertions.assertEquals(List.of(aMessageId), aException.getMessageIds());
+        Assertions.assertEquals(1, this.eventsJpaRepository.count());
+    }
+
     @Test
     void givenAValidAggregate_whenCallSave_thenShouldStoreEventAndHandleConcurrency() throws InterruptedException {
         final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
@@ -130,6 +181,220 @@ public class EventStoreRepositoryImplTest {
                 () -> this.eventStoreRepository.loadEvents(aAggregateId));
     }
 
+    @Test
+    void givenAValidAggregateId_whenCallLoadEventsAfterVersion_thenShouldReturnOnlyNewerEvents() {
+        final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+        final var aAggregateId = aAggregate.getId().getValue();
+        aAggregate.registerEvent(Fixture.sampleEntityEvent(aAggregateId, 1));
+        aAggregate.registerEvent(Fixture.sampleEntityEvent(aAggregateId, 2));
+
+        this.eventStoreRepository.save(aAggregate);
+
+        Assertions.assertEquals(3, this.eventsJpaRepository.count());
+
+        final var aEvents = this.eventStoreRepository.loadEvents(aAggregateId, 0);
+
+        Assertions.assertEquals(2, aEvents.size());
+        Assertions.assertTrue(aEvents.stream().allMatch(it -> it.aggregateVersion() > 0));
+    }
+
+    @Test
+    void givenANonSnapshotableAggregate_whenCallSave_thenShouldNotStoreSnapshot() {
+        final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+
+        this.eventStoreRepository.save(aAggregate);
+
+        Assertions.assertEquals(0, this.snapshotsJpaRepository.count());
+        Assertions.assertTrue(this.eventStoreRepository.loadSnapshot(aAggregate.getId().getValue()).isEmpty());
+    }
+
+    @Test
+    void givenASnapshotThatNoLongerDecodes_whenCallLoadSnapshot_thenShouldFallBackToFullReplay() {
+        final var aAggregateId = IdUtils.generateIdWithoutHyphen();
+
+        final var aEntity = new SnapshotsJpaEntity();
+        aEntity.setAggregateId(aAggregateId);
+        aEntity.setAggregateVersion(10);
+        aEntity.setSnapshotType("OrderSnapshot");
+        aEntity.setSnapshotClassName(OrderSnapshot.class.getName());
+        aEntity.setPayload("{not json");
+        aEntity.setCreatedAt(InstantUtils.now());
+        this.snapshotsJpaRepository.save(aEntity);
+
+        Assertions.assertTrue(this.eventStoreRepository.loadSnapshot(aAggregateId).isEmpty());
+    }
+
+    @Test
+    void givenAnOrderCrossingSnapshotThreshold_whenCallSave_thenShouldStoreSnapshotWithEvents() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+
+        this.eventStoreRepository.save(aOrder);
+
+        Assertions.assertEquals(0, this.snapshotsJpaRepository.count());
+
+        final var aReconstructedOrder = Order.reconstruct(this.eventStoreRepository.<DomainEvent>loadEvents(aOrderId));
+        aReconstructedOrder.handle(ShippingCostCalculatedEvent.from(
+                aOrderId,
+                OrderStatus.CREATION_INITIATED.name(),
+                aReconstructedOrder.getTotalAmount(),
+                aReconstructedOrder.getShippingAddress(),
+                OrderShippingDetails.create("Correios", "SEDEX", new BigDecimal("2.00")),
+                9,
+                "2",
+                IdUtils.generateIdWithoutHyphen()
+        ));
+
+        this.eventStoreRepository.save(aReconstructedOrder);
+
+        Assertions.assertEquals(2, this.eventsJpaRepository.count());
+        Assertions.assertEquals(1, this.snapshotsJpaRepository.count());
+
+        final var aSnapshot = this.eventStoreRepository.<OrderSnapshot>loadSnapshot(aOrderId).orElseThrow();
+
+        Assertions.assertEquals(aOrderId, aSnapshot.aggregateId());
+        Assertions.assertEquals(10, aSnapshot.aggregateVersion());
+        Assertions.assertEquals(OrderStatus.SHIPPING_CALCULATED.name(), aSnapshot.orderStatus());
+        Assertions.assertEquals(0, aReconstructedOrder.getTotalAmount().compareTo(aSnapshot.totalAmount()));
+        Assertions.assertTrue(this.eventStoreRepository.loadEvents(aOrderId, aSnapshot.aggregateVersion()).isEmpty());
+    }
+
+    @Test
+    void givenOptimisticAppendMode_whenCallSaveNextVersion_thenShouldStoreEventWithoutLocking() {
+        this.eventStoreProperties.setAppendMode(EventStoreAppendMode.OPTIMISTIC);
+        final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+
+        this.eventStoreRepository.save(aAggregate);
+        this.eventStoreRepository.save(createAggregate(aAggregate.getId().getValue(), 1));
+
+        Assertions.assertEquals(2, this.eventsJpaRepository.count());
+    }
+
+    @Test
+    void givenOptimisticAppendMode_whenCallAppendWithStaleExpectedVersion_thenShouldThrowConcurrencyException() {
+        this.eventStoreProperties.setAppendMode(EventStoreAppendMode.OPTIMISTIC);
+        final var aAggregateId = IdUtils.generateIdWithoutHyphen();
+
+        this.eventStoreRepository.append(aAggregateId, -1, List.of(Fixture.sampleEntityEvent(aAggregateId, 0)));
+        this.eventStoreRepository.append(aAggregateId, 0, List.of(Fixture.sampleEntityEvent(aAggregateId, 1)));
+
+        Assertions.assertThrows(EventStoreConcurrencyException.class, () -> this.eventStoreRepository
+                .append(aAggregateId, 0, List.of(Fixture.sampleEntityEvent(aAggregateId, 1))));
+    }
+
+    @Test
+    void givenEventsNotFollowingExpectedVersion_whenCallAppend_thenShouldThrowException() {
+        final var aAggregateId = IdUtils.generateIdWithoutHyphen();
+
+        Assertions.assertThrows(EventStoreException.class, () -> this.eventStoreRepository
+                .append(aAggregateId, 0, List.of(Fixture.sampleEntityEvent(aAggregateId, 3))));
+
+        Assertions.assertEquals(0, this.eventsJpaRepository.count());
+    }
+
+    @Test
+    void givenStoredEvents_whenCallFoldEvents_thenShouldApplyEventsInVersionOrder() {
+        final var aAggregate = createAggregate(IdUtils.generateIdWithoutHyphen(), 0);
+        final var aAggregateId = aAggregate.getId().getValue();
+        aAggregate.registerEvent(Fixture.sampleEntityEvent(aAggregateId, 1));
+        aAggregate.registerEvent(Fixture.sampleEntityEvent(aAggregateId, 2));
+
+        this.eventStoreRepository.save(aAggregate);
+
+        final var aVersions = this.eventStoreRepository.foldEvents(aAggregateId, 0, new ArrayList<Long>(),
+                (acc, event) -> {
+                    acc.add(event.aggregateVersion());
+                    return acc;
+                });
+
+        Assertions.assertEquals(List.of(1L, 2L), aVersions);
+    }
+
+    @Test
+    void givenAnUnknownAggregateId_whenCallFoldEvents_thenShouldReturnSeed() {
+        final Order aOrder = this.eventStoreRepository.foldEvents(
+                IdUtils.generateIdWithoutHyphen(), -1, null, Order::replay);
+
+        Assertions.assertNull(aOrder);
+    }
+
+    @Test
+    void givenAStoredOrder_whenCallFoldEventsWithReplay_thenShouldRehydrateOrder() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+
+        this.eventStoreRepository.save(aOrder);
+
+        final Order aRehydratedOrder = this.eventStoreRepository.foldEvents(
+                aOrder.getId().getValue(), -1, null, Order::replay);
+
+        Assertions.assertEquals(aOrder.getId(), aRehydratedOrder.getId());
+        Assertions.assertEquals(aOrder.getVersion(), aRehydratedOrder.getVersion());
+        Assertions.assertEquals(aOrder.getStatus(), aRehydratedOrder.getStatus());
+        Assertions.assertEquals(0, aOrder.getTotalAmount().compareTo(aRehydratedOrder.getTotalAmount()));
+    }
+
+    @Test
+    void givenASavedOrder_whenCallLoadCachedSnapshotWithCurrentVersion_thenShouldReturnCachedState() {
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+
+        this.eventStoreRepository.save(aOrder);
+
+        final var aCachedSnapshot = this.eventStoreRepository.<OrderSnapshot>loadCachedSnapshot(aOrderId, 0);
+
+        Assertions.assertTrue(aCachedSnapshot.isPresent());
+        Assertions.assertEquals(aOrder.getStatus().name(), aCachedSnapshot.get().orderStatus());
+        Assertions.assertTrue(this.eventStoreRepository.loadCachedSnapshot(aOrderId, 1).isEmpty());
+    }
+
+    @Test
+    void givenAConcurrencyConflict_whenCallAppend_thenShouldInvalidateCachedSnapshot() {
+        this.eventStoreProperties.setAppendMode(EventStoreAppendMode.OPTIMISTIC);
+        final var aOrder = Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        );
+        final var aOrderId = aOrder.getId().getValue();
+
+        this.eventStoreRepository.save(aOrder);
+
+        Assertions.assertTrue(this.eventStoreRepository.loadCachedSnapshot(aOrderId, 0).isPresent());
+
+        Assertions.assertThrows(EventStoreConcurrencyException.class, () -> this.eventStoreRepository
+                .append(aOrderId, -1, List.of(Fixture.sampleEntityEvent(aOrderId, 0))));
+
+        Assertions.assertTrue(this.eventStoreRepository.loadCachedSnapshot(aOrderId, 0).isEmpty());
+    }
+
     private void doSyncAndConcurrently(
             final int threadCount,
             final Consumer<String> operation,
@@ -0,0 +1,271 @@
+package com.kaua.order.infrastructure.events;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import com.kaua.order.infrastructure.events.persistence.EventsJdbcRepository;
+import com.kaua.order.infrastructure.exceptions.EventStoreConcurrencyException;
+import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
+import com.kaua.order.infrastructure.inbox.InboxJdbcRepository;
+import com.kaua.order.infrastructure.outbox.OutboxEntriesStoredEvent;
+import com.kaua.order.infrastructure.outbox.OutboxEntry;
+import com.kaua.order.infrastructure.outbox.OutboxJdbcRepository;
+import com.kaua.order.infrastructure.snapshots.persistence.SnapshotsJpaRepository;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@UnitTest
+public class EventStoreWriterTest {
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            transactions.incrementAndGet();
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final EventsJdbcRepository eventsJdbcRepository = Mockito.mock(EventsJdbcRepository.class);
+    private final OutboxJdbcRepository outboxJdbcRepository = Mockito.mock(OutboxJdbcRepository.class);
+    private final InboxJdbcRepository inboxJdbcRepository = Mockito.mock(InboxJdbcRepository.class);
+    private final SnapshotsJpaRepository snapshotsRepository = Mockito.mock(SnapshotsJpaRepository.class);
+    private final ApplicationEventPublisher applicationEventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+
+    private EventStoreWriter eventStoreWriter;
+
+    @AfterEach
+    void stopWriter() {
+        if (this.eventStoreWriter != null) {
+            this.eventStoreWriter.stop();
+        }
+    }
+
+    @Test
+    void givenGroupCommitDisabled_whenCallWrite_thenShouldStoreOnOwnTransaction() {
+        this.eventStoreWriter = newWriter(false, 10, Duration.ofMillis(2));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        Assertions.assertDoesNotThrow(() -> this.eventStoreWriter.write(
+                aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null));
+
+        Assertions.assertFalse(this.eventStoreWriter.isRunning());
+        Assertions.assertEquals(1, this.transactions.get());
+        Mockito.verify(this.eventsJdbcRepository, Mockito.times(1)).insertAll(aEnvelopes);
+        Mockito.verify(this.outboxJdbcRepository, Mockito.times(1)).insertAll(aEnvelopes);
+        Mockito.verify(this.applicationEventPublisher, Mockito.times(1))
+                .publishEvent(new OutboxEntriesStoredEvent(List.of(OutboxEntry.from(aEnvelopes.get(0)))));
+    }
+
+    @Test
+    void givenGroupCommitEnabled_whenSubmitConcurrentWrites_thenShouldStoreThemOnOneTransaction() {
+        this.eventStoreWriter = newWriter(true, 3, Duration.ofSeconds(5));
+
+        final var aFirst = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aSecond = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aThird = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        final var aFirstResult = this.eventStoreWriter.submit(aFirst.get(0).aggregateId(), -1, aFirst, null);
+        final var aSecondResult = this.eventStoreWriter.submit(aSecond.get(0).aggregateId(), -1, aSecond, null);
+        final var aThirdResult = this.eventStoreWriter.submit(aThird.get(0).aggregateId(), -1, aThird, null);
+
+        Assertions.assertDoesNotThrow(aFirstResult::join);
+        Assertions.assertDoesNotThrow(aSecondResult::join);
+        Assertions.assertDoesNotThrow(aThirdResult::join);
+
+        Assertions.assertEquals(1, this.transactions.get());
+        Mockito.verify(this.eventsJdbcRepository, Mockito.times(1))
+                .insertAll(ArgumentMatchers.argThat(aEnvelopes -> aEnvelopes.size() == 3));
+        Mockito.verify(this.outboxJdbcRepository, Mockito.times(1))
+                .insertAll(ArgumentMatchers.argThat(aEnvelopes -> aEnvelopes.size() == 3));
+    }
+
+    @Test
+    void givenAGroupWithAConflictingWrite_whenFlush_thenShouldFailOnlyConflictingCaller() {
+        this.eventStoreWriter = newWriter(true, 2, Duration.ofSeconds(5));
+
+        final var aValid = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aConflicting = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        Mockito.doThrow(new DuplicateKeyException("Duplicate entry for key 'events.uk_events_aggregate_id_and_aggregate_version'"))
+                .when(this.eventsJdbcRepository)
+                .insertAll(ArgumentMatchers.argThat(aEnvelopes -> aEnvelopes.contains(aConflicting.get(0))));
+
+        final var aValidResult = this.eventStoreWriter.submit(aValid.get(0).aggregateId(), -1, aValid, null);
+        final var aConflictingResult = this.eventStoreWriter
+                .submit(aConflicting.get(0).aggregateId(), 0, aConflicting, null);
+
+        Assertions.assertDoesNotThrow(aValidResult::join);
+
+        final var aException = Assertions.assertThrows(CompletionException.class, aConflictingResult::join);
+        Assertions.assertInstanceOf(EventStoreConcurrencyException.class, aException.getCause());
+
+        Assertions.assertEquals(3, this.transactions.get());
+        Mockito.verify(this.eventsJdbcRepository, Mockito.times(1)).insertAll(aValid);
+    }
+
+    @Test
+    void givenADuplicateOfAnotherKey_whenCallWrite_thenShouldThrowEventStoreExceptionNotConcurrency() {
+        this.eventStoreWriter = newWriter(false, 10, Duration.ofMillis(2));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        Mockito.doThrow(new DuplicateKeyException("Duplicate entry for key 'outbox.PRIMARY'"))
+                .when(this.outboxJdbcRepository).insertAll(aEnvelopes);
+
+        final var aException = Assertions.assertThrows(EventStoreException.class, () -> this.eventStoreWriter
+                .write(aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null));
+
+        Assertions.assertFalse(aException instanceof EventStoreConcurrencyException);
+    }
+
+    @Test
+    void givenAFailingWrite_whenCallWrite_thenShouldThrowEventStoreException() {
+        this.eventStoreWriter = newWriter(true, 10, Duration.ofMillis(2));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        Mockito.doThrow(new IllegalStateException("connection lost"))
+                .when(this.eventsJdbcRepository).insertAll(aEnvelopes);
+
+        final var aException = Assertions.assertThrows(EventStoreException.class, () -> this.eventStoreWriter
+                .write(aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null));
+
+        Assertions.assertEquals("connection lost", aException.getMessage());
+    }
+
+    @Test
+    void givenAnErrorEscapingTheFlusher_whenCallWrite_thenShouldFailTheWriteAndKeepFlushing() {
+        this.eventStoreWriter = newWriter(true, 10, Duration.ofMillis(2));
+        final var aFailing = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aValid = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        Mockito.doThrow(new StackOverflowError("deep mapping"))
+                .when(this.eventsJdbcRepository).insertAll(aFailing);
+
+        Assertions.assertThrows(EventStoreException.class, () -> this.eventStoreWriter
+                .write(aFailing.get(0).aggregateId(), -1, aFailing, null));
+        Assertions.assertDoesNotThrow(() -> this.eventStoreWriter
+                .write(aValid.get(0).aggregateId(), -1, aValid, null));
+        Assertions.assertTrue(this.eventStoreWriter.isRunning());
+    }
+
+    @Test
+    void givenAWriteNotStoredInTime_whenCallWrite_thenShouldThrowEventStoreException() {
+        this.eventStoreWriter = newWriter(true, 10, Duration.ofMillis(2), Duration.ofMillis(100));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aReleased = new CountDownLatch(1);
+
+        Mockito.doAnswer(it -> aReleased.await(5, TimeUnit.SECONDS))
+                .when(this.eventsJdbcRepository).insertAll(aEnvelopes);
+
+        try {
+            final var aException = Assertions.assertThrows(EventStoreException.class, () -> this.eventStoreWriter
+                    .write(aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null));
+            Assertions.assertEquals("Write not stored after PT0.1S", aException.getMessage());
+        } finally {
+            aReleased.countDown();
+        }
+    }
+
+    @Test
+    void givenAStoppedWriter_whenCallSubmit_thenShouldStoreOnOwnTransaction() {
+        this.eventStoreWriter = newWriter(true, 10, Duration.ofSeconds(5));
+        this.eventStoreWriter.stop();
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+
+        final var aResult = this.eventStoreWriter.submit(aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null);
+
+        Assertions.assertTrue(aResult.isDone());
+        Assertions.assertDoesNotThrow(aResult::join);
+        Mockito.verify(this.eventsJdbcRepository, Mockito.times(1)).insertAll(aEnvelopes);
+    }
+
+    @Test
+    void givenMessageIds_whenCallWrite_thenShouldStoreInboxEntriesOnSameTransaction() {
+        this.eventStoreWriter = newWriter(false, 10, Duration.ofMillis(2));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+
+        Assertions.assertDoesNotThrow(() -> this.eventStoreWriter.write(
+                aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null, List.of(aMessageId)));
+
+        Assertions.assertEquals(1, this.transactions.get());
+        Mockito.verify(this.inboxJdbcRepository, Mockito.times(1)).insertAll(ArgumentMatchers.argThat(aEntries ->
+                aEntries.size() == 1
+                        && aEntries.get(0).messageId().equals(aMessageId)
+                        && aEntries.get(0).aggregateId().equals(aEnvelopes.get(0).aggregateId())));
+        Mockito.verify(this.eventsJdbcRepository, Mockito.times(1)).insertAll(aEnvelopes);
+    }
+
+    @Test
+    void givenAnAlreadyProcessedMessage_whenCallWrite_thenShouldThrowInboxDuplicateMessageException() {
+        this.eventStoreWriter = newWriter(false, 10, Duration.ofMillis(2));
+        final var aEnvelopes = envelopes(IdUtils.generateIdWithoutHyphen());
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.doThrow(new DuplicateKeyException("duplicate inbox message"))
+                .when(this.inboxJdbcRepository).insertAll(ArgumentMatchers.anyList());
+        Mockito.when(this.inboxJdbcRepository.findProcessed(List.of(aMessageId))).thenReturn(List.of(aMessageId));
+
+        final var aException = Assertions.assertThrows(InboxDuplicateMessageException.class, () -> this.eventStoreWriter
+                .write(aEnvelopes.get(0).aggregateId(), -1, aEnvelopes, null, List.of(aMessageId)));
+
+        Assertions.assertEquals(List.of(aMessageId), aException.getMessageIds());
+        Mockito.verify(this.eventsJdbcRepository, Mockito.never()).insertAll(ArgumentMatchers.anyList());
+    }
+
+    private EventStoreWriter newWriter(final boolean aEnabled, final int aMaxBatchSize, final Duration aWindow) {
+        return newWriter(aEnabled, aMaxBatchSize, aWindow, Duration.ofSeconds(30));
+    }
+
+    private EventStoreWriter newWriter(
+            final boolean aEnabled,
+            final int aMaxBatchSize,
+            final Duration aWindow,
+            final Duration aWriteTimeout
+    ) {
+        final var aProperties = new EventStoreProperties();
+        aProperties.setGroupCommitEnabled(aEnabled);
+        aProperties.setGroupCommitMaxBatchSize(aMaxBatchSize);
+        aProperties.setGroupCommitWindow(aWindow);
+        aProperties.setGroupCommitWriteTimeout(aWriteTimeout);
+
+        final var aWriter = new EventStoreWriter(
+                this.transactionManager,
+                this.eventsJdbcRepository,
+                this.outboxJdbcRepository,
+                this.inboxJdbcRepository,
+                this.snapshotsRepository,
+                aProperties,
+                this.applicationEventPublisher
+        );
+        aWriter.afterPropertiesSet();
+        return aWriter;
+    }
+
+    private static List<EventEnvelope> envelopes(final String aAggregateId) {
+        return List.of(EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0)));
+    }
+}
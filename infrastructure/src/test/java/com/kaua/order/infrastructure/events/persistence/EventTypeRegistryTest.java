@@ -0,0 +1,78 @@
+package com.kaua.order.infrastructure.events.persistence;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.events.DomainEvent;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.OrderCreationInitiatedEvent;
+import com.kaua.order.domain.order.events.OrderPaymentTaxCalculatedEvent;
+import com.kaua.order.domain.order.events.OrderShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
+import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.exceptions.EventStoreException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+@UnitTest
+public class EventTypeRegistryTest {
+
+    private final EventTypeRegistry eventTypeRegistry = new EventTypeRegistry();
+
+    @Test
+    void givenTheOrderEventsPackage_whenCreateRegistry_thenShouldRegisterAllEventTypes() {
+        Assertions.assertEquals(Set.of(
+                OrderCreationInitiatedEvent.EVENT_TYPE,
+                OrderShippingCostCalculatedEvent.EVENT_TYPE,
+                OrderPaymentTaxCalculatedEvent.EVENT_TYPE,
+                ShippingCostCalculatedEvent.EVENT_TYPE,
+                PaymentTaxCalculatedEvent.EVENT_TYPE
+        ), this.eventTypeRegistry.registeredTypes());
+    }
+
+    @Test
+    void givenARegisteredEventType_whenCallDecode_thenShouldIgnoreStoredClassName() {
+        final var aEvent = OrderPaymentTaxCalculatedEvent.from(
+                IdUtils.generateIdWithoutHyphen(),
+                OrderStatus.PAYMENT_TAX_CALCULATED.name(),
+                new BigDecimal("12.00"),
+                OrderPaymentDetails.create("1", 1),
+                2,
+                "2",
+                IdUtils.generateIdWithoutHyphen()
+        );
+
+        final DomainEvent aDecodedEvent = this.eventTypeRegistry.decode(
+                aEvent.eventType(),
+                "com.kaua.order.domain.order.events.RenamedEvent",
+                Json.writeValueAsString(aEvent)
+        );
+
+        Assertions.assertEquals(aEvent, aDecodedEvent);
+    }
+
+    @Test
+    void givenAnUnregisteredEventType_whenCallDecode_thenShouldResolveByClassName() {
+        final var aEvent = Fixture.sampleEntityEvent(IdUtils.generateIdWithoutHyphen(), 1);
+
+        final DomainEvent aDecodedEvent = this.eventTypeRegistry.decode(
+                aEvent.eventType(),
+                aEvent.eventClassName(),
+                Json.writeValueAsString(aEvent)
+        );
+
+        Assertions.assertEquals(aEvent.eventId(), aDecodedEvent.eventId());
+        Assertions.assertEquals(aEvent.aggregateVersion(), aDecodedEvent.aggregateVersion());
+    }
+
+    @Test
+    void givenAnUnregisteredEventTypeAndInvalidClassName_whenCallDecode_thenShouldThrowEventStoreException() {
+        Assertions.assertThrows(EventStoreException.class,
+                () -> this.eventTypeRegistry.decode("UnknownEvent", "InvalidClassName", "{}"));
+    }
+}
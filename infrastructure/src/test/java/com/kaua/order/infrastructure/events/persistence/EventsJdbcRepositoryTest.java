@@ -0,0 +1,62 @@
+package com.kaua.order.infrastructure.events.persistence;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.IntegrationTest;
+import com.kaua.order.infrastructure.events.EventEnvelope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+
+@IntegrationTest
+public class EventsJdbcRepositoryTest {
+
+    @Autowired
+    private EventsJdbcRepository eventsJdbcRepository;
+
+    @Autowired
+    private EventsJpaRepository eventsJpaRepository;
+
+    @Test
+    void givenValidEvents_whenCallInsertAll_thenShouldStoreAllRows() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEvent = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEvent = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+
+        Assertions.assertEquals(0, this.eventsJpaRepository.count());
+
+        this.eventsJdbcRepository.insertAll(List.of(aFirstEvent, aSecondEvent));
+
+        Assertions.assertEquals(2, this.eventsJpaRepository.count());
+
+        final var aStoredEvent = this.eventsJpaRepository.findById(aFirstEvent.eventId()).orElseThrow();
+
+        Assertions.assertEquals(aFirstEvent.eventType(), aStoredEvent.getEventType());
+        Assertions.assertEquals(aFirstEvent.eventClassName(), aStoredEvent.getEventClassName());
+        Assertions.assertEquals(aFirstEvent.aggregateId(), aStoredEvent.getAggregateId());
+        Assertions.assertEquals(aFirstEvent.aggregateVersion(), aStoredEvent.getAggregateVersion());
+        Assertions.assertEquals(aFirstEvent.occurredOn(), aStoredEvent.getOccurredOn());
+        Assertions.assertEquals(aFirstEvent.payload(), aStoredEvent.getPayload());
+    }
+
+    @Test
+    void givenAnEmptyList_whenCallInsertAll_thenShouldDoNothing() {
+        Assertions.assertDoesNotThrow(() -> this.eventsJdbcRepository.insertAll(List.of()));
+        Assertions.assertEquals(0, this.eventsJpaRepository.count());
+    }
+
+    @Test
+    void givenAnAlreadyStoredAggregateVersion_whenCallInsertAll_thenShouldThrowDuplicateKeyException() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+
+        this.eventsJdbcRepository.insertAll(List.of(EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0))));
+
+        final var aDuplicatedVersion = List.of(EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0)));
+
+        Assertions.assertThrows(DuplicateKeyException.class,
+                () -> this.eventsJdbcRepository.insertAll(aDuplicatedVersion));
+    }
+}
@@ -0,0 +1,75 @@
+package com.kaua.order.infrastructure.inbox;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.inbox.InboxProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+@UnitTest
+public class InboxFilterTest {
+
+    private final InboxJdbcRepository inboxJdbcRepository = Mockito.mock(InboxJdbcRepository.class);
+
+    @Test
+    void givenAnUnseenMessage_whenCallIsProcessed_thenShouldNotQueryInboxTable() {
+        final var aInboxFilter = newFilter(true);
+
+        Assertions.assertFalse(aInboxFilter.isProcessed(IdUtils.generateIdWithoutHyphen()));
+
+        Mockito.verify(this.inboxJdbcRepository, Mockito.never()).existsById(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    void givenAMarkedMessage_whenCallIsProcessed_thenShouldAnswerFromRecentIds() {
+        final var aInboxFilter = newFilter(true);
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+
+        aInboxFilter.markProcessed(aMessageId);
+
+        Assertions.assertTrue(aInboxFilter.isProcessed(aMessageId));
+        Mockito.verify(this.inboxJdbcRepository, Mockito.never()).existsById(ArgumentMatchers.anyString());
+    }
+
+    @Test
+    void givenARecentlyStoredMessage_whenCallIsProcessedAfterWarmup_thenShouldConfirmOnInboxTable() {
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.when(this.inboxJdbcRepository.findProcessedAfter(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenReturn(List.of(aMessageId));
+        Mockito.when(this.inboxJdbcRepository.existsById(aMessageId)).thenReturn(true);
+
+        final var aInboxFilter = newFilter(true);
+
+        Assertions.assertTrue(aInboxFilter.isProcessed(aMessageId));
+        Assertions.assertTrue(aInboxFilter.isProcessed(aMessageId));
+
+        Mockito.verify(this.inboxJdbcRepository, Mockito.times(1)).existsById(aMessageId);
+    }
+
+    @Test
+    void givenFilterDisabled_whenCallIsProcessed_thenShouldQueryInboxTable() {
+        final var aInboxFilter = newFilter(false);
+        final var aMessageId = IdUtils.generateIdWithoutHyphen();
+
+        Mockito.when(this.inboxJdbcRepository.existsById(aMessageId)).thenReturn(true);
+
+        Assertions.assertTrue(aInboxFilter.isProcessed(aMessageId));
+        Mockito.verify(this.inboxJdbcRepository, Mockito.never())
+                .findProcessedAfter(ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+    }
+
+    private InboxFilter newFilter(final boolean aEnabled) {
+        final var aProperties = new InboxProperties();
+        aProperties.setFilterEnabled(aEnabled);
+        aProperties.setFilterExpectedMessages(1_000);
+
+        final var aInboxFilter = new InboxFilter(this.inboxJdbcRepository, aProperties);
+        aInboxFilter.afterPropertiesSet();
+        return aInboxFilter;
+    }
+}
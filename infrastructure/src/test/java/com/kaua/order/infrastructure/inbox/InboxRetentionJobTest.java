@@ -0,0 +1,82 @@
+package com.kaua.order.infrastructure.inbox;
+
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
+import com.kaua.order.infrastructure.configurations.properties.inbox.InboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@UnitTest
+public class InboxRetentionJobTest {
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            transactions.incrementAndGet();
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final InboxJdbcRepository inboxJdbcRepository = Mockito.mock(InboxJdbcRepository.class);
+    private final CommandStatusJdbcRepository commandStatusJdbcRepository = Mockito.mock(CommandStatusJdbcRepository.class);
+
+    @Test
+    void givenABacklogOfExpiredEntries_whenCallPurge_thenShouldDeleteInBatchesOlderThanRetention() {
+        final var aProperties = properties();
+        final var aJob = new InboxRetentionJob(this.inboxJdbcRepository, this.commandStatusJdbcRepository, this.transactionManager, aProperties);
+
+        Mockito.when(this.inboxJdbcRepository.purgeProcessedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(10, 4);
+        Mockito.when(this.commandStatusJdbcRepository.purgeUpdatedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(3);
+
+        final var aBefore = InstantUtils.now();
+        Assertions.assertEquals(17, aJob.purge());
+        Assertions.assertEquals(3, this.transactions.get());
+
+        final var aProcessedBeforeCaptor = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(this.inboxJdbcRepository, Mockito.times(2))
+                .purgeProcessedBefore(aProcessedBeforeCaptor.capture(), ArgumentMatchers.eq(10));
+
+        Assertions.assertFalse(aProcessedBeforeCaptor.getValue().isAfter(aBefore.minus(aProperties.getRetention()).plusSeconds(1)));
+        Mockito.verify(this.commandStatusJdbcRepository).purgeUpdatedBefore(aProcessedBeforeCaptor.getValue(), 10);
+    }
+
+    @Test
+    void givenAFailingBatch_whenCallPurge_thenShouldStopPurgingThatTable() {
+        final var aJob = new InboxRetentionJob(this.inboxJdbcRepository, this.commandStatusJdbcRepository, this.transactionManager, properties());
+
+        Mockito.when(this.inboxJdbcRepository.purgeProcessedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(10)
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        Assertions.assertEquals(10, aJob.purge());
+        Assertions.assertEquals(3, this.transactions.get());
+        Mockito.verify(this.commandStatusJdbcRepository).purgeUpdatedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(10));
+    }
+
+    private static InboxProperties properties() {
+        final var aProperties = new InboxProperties();
+        aProperties.setRetentionBatchSize(10);
+        aProperties.setRetentionBatchPause(Duration.ZERO);
+        return aProperties;
+    }
+}
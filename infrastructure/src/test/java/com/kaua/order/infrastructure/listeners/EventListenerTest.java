@@ -6,20 +6,32 @@ import com.kaua.order.domain.utils.InstantUtils;
 import com.kaua.order.infrastructure.IntegrationTest;
 import com.kaua.order.infrastructure.exceptions.KafkaHeadersException;
 import com.kaua.order.infrastructure.outbox.OutboxJpaEntity;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.SendResult;
 
+import java.math.BigInteger;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
@@ -34,6 +46,9 @@ public class EventListenerTest {
     @MockBean
     private Acknowledgment acknowledgment;
 
+    @MockBean
+    private ParkedMessageJdbcRepository parkedMessageJdbcRepository;
+
     @Test
     void givenAValidConsumerRecord_whenCallHandlePublishMessageToRetryTopic_shouldPublishMessageToRetryTopic() {
         final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
@@ -63,6 +78,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_type",
                 "event_id"
@@ -94,6 +110,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_type",
                 "event_id"
@@ -129,6 +146,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "Newer event version is already processed",
                 "event_type",
@@ -161,6 +179,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "error",
                 "event_type",
@@ -262,6 +281,7 @@ public class EventListenerTest {
                 "event-type",
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_occurred_on",
                 "event_type",
@@ -270,10 +290,11 @@ public class EventListenerTest {
     }
 
     @Test
-    void givenAValidConsumerRecordWithOccurredOnIsBefore7Days_whenCallHandleMessagingTypeNotSupported_shouldSendToDlt() {
-        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+    void givenAValidConsumerRecordWithOccurredOnIsBefore7Days_whenCallHandleMessagingTypeNotSupported_shouldParkAndAcknowledge() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate, parkedMessageJdbcRepository);
 
         final var aTopic = "topic";
+        final var aDltTopic = "topic-dlt-invalid";
         final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
 
         final var aMessage = aOutboxEntity.getPayload();
@@ -289,13 +310,48 @@ public class EventListenerTest {
         Assertions.assertDoesNotThrow(() -> aEventListenerHelper.handleMessagingTypeNotSupported(
                 aConsumerRecord,
                 "event_type",
-                aTopic,
+                aDltTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_occurred_on",
                 "event_type",
                 "event_id"
         ));
+
+        Mockito.verify(parkedMessageJdbcRepository, Mockito.times(1)).park(Mockito.argThat(it ->
+                it.messageType().equals("event_type")
+                        && it.topic().equals(aTopic)
+                        && it.dltTopic().equals(aDltTopic)
+                        && it.payload().equals(aMessage)));
+        Mockito.verify(acknowledgment, Mockito.times(1)).acknowledge();
+        Mockito.verify(acknowledgment, Mockito.never()).nack(Mockito.any(Duration.class));
+    }
+
+    @Test
+    void givenAParkingFailure_whenCallHandleMessagingTypeNotSupported_shouldNackMessage() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate, parkedMessageJdbcRepository);
+
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = createConsumerRecord("topic", aOutboxEntity.getPayload(), aOutboxEntity);
+
+        Mockito.doThrow(new DataAccessResourceFailureException("database down"))
+                .when(parkedMessageJdbcRepository).park(Mockito.any());
+
+        aEventListenerHelper.handleMessagingTypeNotSupported(
+                aConsumerRecord,
+                "event_type",
+                "topic-dlt-invalid",
+                acknowledgment,
+                null,
+                log,
+                "event_occurred_on",
+                "event_type",
+                "event_id"
+        );
+
+        Mockito.verify(acknowledgment, Mockito.times(1)).nack(Duration.ofSeconds(5));
+        Mockito.verify(acknowledgment, Mockito.never()).acknowledge();
     }
 
     @Test
@@ -329,6 +385,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_id header not found"
         ));
@@ -365,6 +422,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_type header not found"
         ));
@@ -401,6 +459,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_occurred_on header not found"
         ));
@@ -433,6 +492,7 @@ public class EventListenerTest {
                 aConsumerRecord,
                 aTopic,
                 acknowledgment,
+                null,
                 log,
                 "event_occurred_on header not found"
         ));
@@ -442,6 +502,126 @@ public class EventListenerTest {
         return new SendResult<>(aProducerRecord, null);
     }
 
+    @Test
+    void givenAKeyedConsumerRecord_whenCallCreateProducerRecordWithHeaders_shouldKeepOriginalKeyAndHeaders() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = new ConsumerRecord<String, String>(
+                "topic", 1, 0, aOutboxEntity.getAggregateId(), aOutboxEntity.getPayload());
+        aConsumerRecord.headers().add("event_id", aOutboxEntity.getEventId().getBytes());
+
+        final var aProducerRecord = aEventListenerHelper.createProducerRecordWithHeaders(aConsumerRecord, "topic-retry-0");
+
+        Assertions.assertEquals("topic-retry-0", aProducerRecord.topic());
+        Assertions.assertEquals(aOutboxEntity.getAggregateId(), aProducerRecord.key());
+        Assertions.assertEquals(aOutboxEntity.getPayload(), aProducerRecord.value());
+        Assertions.assertEquals(aOutboxEntity.getEventId(),
+                new String(aProducerRecord.headers().lastHeader("event_id").value()));
+    }
+
+    @Test
+    void givenATransactionalTemplateOnAConsumerThread_whenCallHandlePublishMessageToRetryTopic_shouldSendOffsetsWithTheConsumerGroupMetadata() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+
+        final var aTopic = "topic";
+        final var aRetryTopic = "topic-retry-0";
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = createConsumerRecord(aTopic, aOutboxEntity.getPayload(), aOutboxEntity);
+        final var aGroupMetadata = new ConsumerGroupMetadata("orders-group", 3, "member-1", Optional.empty());
+        final var aConsumer = Mockito.mock(Consumer.class);
+
+        Mockito.when(aConsumer.groupMetadata()).thenReturn(aGroupMetadata);
+        Mockito.when(kafkaTemplate.isTransactional()).thenReturn(true);
+        Mockito.when(kafkaTemplate.executeInTransaction(Mockito.any()))
+                .thenAnswer(it -> it.<KafkaOperations.OperationsCallback<String, Object, ?>>getArgument(0)
+                        .doInOperations(kafkaTemplate));
+
+        aEventListenerHelper.handlePublishMessageToRetryTopic(
+                aConsumerRecord,
+                aRetryTopic,
+                acknowledgment,
+                aConsumer,
+                log,
+                "event_type",
+                "event_id"
+        );
+
+        Mockito.verify(kafkaTemplate, Mockito.times(1))
+                .send(Mockito.<ProducerRecord<String, Object>>argThat(it -> it.topic().equals(aRetryTopic)));
+        Mockito.verify(kafkaTemplate, Mockito.times(1)).sendOffsetsToTransaction(
+                Map.of(
+                        new TopicPartition(aTopic, aConsumerRecord.partition()),
+                        new OffsetAndMetadata(aConsumerRecord.offset() + 1)
+                ),
+                aGroupMetadata
+        );
+        Mockito.verify(acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenATransactionalTemplateWithoutConsumer_whenCallPublishToTopic_shouldSendWithoutOffsets() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = createConsumerRecord("topic", aOutboxEntity.getPayload(), aOutboxEntity);
+
+        Mockito.when(kafkaTemplate.isTransactional()).thenReturn(true);
+        Mockito.when(kafkaTemplate.send(Mockito.any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        Assertions.assertTrue(aEventListenerHelper.publishToTopic(aConsumerRecord, "topic-dlt-invalid", log));
+
+        Mockito.verify(kafkaTemplate, Mockito.never()).executeInTransaction(Mockito.any());
+        Mockito.verify(kafkaTemplate, Mockito.never()).sendOffsetsToTransaction(Mockito.any(), Mockito.any(ConsumerGroupMetadata.class));
+    }
+
+    @Test
+    void givenAFailingWorkerTask_whenCallProcessOrPublishToRetryTopic_shouldPublishWithRetryTopicHeadersAndAcknowledge() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = createConsumerRecord("topic", aOutboxEntity.getPayload(), aOutboxEntity);
+
+        Mockito.when(kafkaTemplate.send(Mockito.any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        final var aBefore = InstantUtils.now();
+        aEventListenerHelper.processOrPublishToRetryTopic(aConsumerRecord, acknowledgment, it -> {
+            throw new IllegalStateException("handler failure");
+        }, log);
+
+        final ArgumentCaptor<ProducerRecord<String, Object>> aCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(kafkaTemplate, Mockito.times(1)).send(aCaptor.capture());
+
+        final var aHeaders = aCaptor.getValue().headers();
+        Assertions.assertEquals("topic-retry-0", aCaptor.getValue().topic());
+        Assertions.assertEquals(2, new BigInteger(aHeaders.lastHeader(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS).value()).intValue());
+        Assertions.assertTrue(new BigInteger(aHeaders.lastHeader(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP).value()).longValue()
+                >= aBefore.plusSeconds(2).toEpochMilli());
+        Assertions.assertEquals(aOutboxEntity.getEventId(), new String(aHeaders.lastHeader("event_id").value()));
+        Mockito.verify(acknowledgment, Mockito.times(1)).acknowledge();
+        Mockito.verify(acknowledgment, Mockito.never()).nack(Mockito.any(Duration.class));
+    }
+
+    @Test
+    void givenAFailingWorkerTaskAndAFailingPublish_whenCallProcessOrPublishToRetryTopic_shouldNackMessage() {
+        final var aEventListenerHelper = new EventListenerTestImpl(kafkaTemplate);
+
+        final var aOutboxEntity = OutboxJpaEntity.create(new EventListenerTestDomainEvent("1"));
+        final var aConsumerRecord = createConsumerRecord("topic", aOutboxEntity.getPayload(), aOutboxEntity);
+
+        Mockito.when(kafkaTemplate.send(Mockito.any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        aEventListenerHelper.processOrPublishToRetryTopic(aConsumerRecord, acknowledgment, it -> {
+            throw new IllegalStateException("handler failure");
+        }, log);
+
+        Mockito.verify(acknowledgment, Mockito.times(1)).nack(Duration.ofSeconds(5));
+        Mockito.verify(acknowledgment, Mockito.never()).acknowledge();
+    }
+
     private ProducerRecord<String, String> createProducerRecord(
             final String aTopic,
             final String aMessage,
@@ -495,5 +675,12 @@ public class EventListenerTest {
         protected EventListenerTestImpl(KafkaTemplate<String, Object> kafkaTemplate) {
             super(kafkaTemplate);
         }
+
+        protected EventListenerTestImpl(
+                KafkaTemplate<String, Object> kafkaTemplate,
+                ParkedMessageJdbcRepository parkedMessageJdbcRepository
+        ) {
+            super(kafkaTemplate, parkedMessageJdbcRepository);
+        }
     }
 }
@@ -0,0 +1,225 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.kafka.ParallelConsumerProperties;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+@UnitTest
+public class KeyOrderedRecordProcessorTest {
+
+    private static final String TOPIC = "place_order-command-topic";
+
+    private final KeyOrderedRecordProcessor keyOrderedRecordProcessor = newProcessor();
+
+    @AfterEach
+    void stopProcessor() {
+        this.keyOrderedRecordProcessor.destroy();
+    }
+
+    @Test
+    void givenRecordsCompletingOutOfOrder_whenCallSubmit_thenShouldAcknowledgeOnlyContiguousWatermark() throws InterruptedException {
+        final var aSlowRecordReleased = new CountDownLatch(1);
+        final var aAcks = List.of(
+                Mockito.mock(Acknowledgment.class),
+                Mockito.mock(Acknowledgment.class),
+                Mockito.mock(Acknowledgment.class)
+        );
+
+        this.keyOrderedRecordProcessor.submit(record(0, "customer-0"), aAcks.get(0), aTrackedAck -> {
+            await(aSlowRecordReleased);
+            aTrackedAck.acknowledge();
+        });
+        this.keyOrderedRecordProcessor.submit(record(1, "customer-1"), aAcks.get(1), Acknowledgment::acknowledge);
+        this.keyOrderedRecordProcessor.submit(record(2, "customer-2"), aAcks.get(2), Acknowledgment::acknowledge);
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        Assertions.assertEquals(-1, this.keyOrderedRecordProcessor.committed(TOPIC, 0));
+        aAcks.forEach(Mockito::verifyNoInteractions);
+
+        aSlowRecordReleased.countDown();
+
+        Mockito.verify(aAcks.get(2), Mockito.timeout(5_000)).acknowledge();
+        Assertions.assertEquals(2, this.keyOrderedRecordProcessor.committed(TOPIC, 0));
+        Mockito.verifyNoInteractions(aAcks.get(0), aAcks.get(1));
+    }
+
+    @Test
+    void givenRecordsOfTheSameKey_whenCallSubmit_thenShouldProcessThemInOffsetOrder() {
+        final var aProcessed = Collections.synchronizedList(new ArrayList<Long>());
+        final var aLastAck = Mockito.mock(Acknowledgment.class);
+
+        LongStream.range(0, 50).forEach(aOffset -> this.keyOrderedRecordProcessor.submit(
+                record(aOffset, "customer-1"),
+                aOffset == 49 ? aLastAck : Mockito.mock(Acknowledgment.class),
+                aTrackedAck -> {
+                    aProcessed.add(aOffset);
+                    aTrackedAck.acknowledge();
+                }
+        ));
+
+        Mockito.verify(aLastAck, Mockito.timeout(5_000)).acknowledge();
+        Assertions.assertEquals(LongStream.range(0, 50).boxed().toList(), aProcessed);
+    }
+
+    @Test
+    void givenAFailingTask_whenCallSubmit_thenShouldRunItAgainBeforeTheNextRecordOfTheKey() {
+        final var aAcks = List.of(Mockito.mock(Acknowledgment.class), Mockito.mock(Acknowledgment.class));
+        final var aProcessed = Collections.synchronizedList(new ArrayList<Long>());
+        final var aRuns = new AtomicInteger();
+
+        this.keyOrderedRecordProcessor.submit(record(0, "customer-1"), aAcks.get(0), aTrackedAck -> {
+            if (aRuns.incrementAndGet() == 1) {
+                throw new IllegalStateException("handler failure");
+            }
+            aProcessed.add(0L);
+            aTrackedAck.acknowledge();
+        });
+        this.keyOrderedRecordProcessor.submit(record(1, "customer-1"), aAcks.get(1), aTrackedAck -> {
+            aProcessed.add(1L);
+            aTrackedAck.acknowledge();
+        });
+
+        Mockito.verify(aAcks.get(1), Mockito.timeout(5_000)).acknowledge();
+        Assertions.assertEquals(2, aRuns.get());
+        Assertions.assertEquals(List.of(0L, 1L), aProcessed);
+        Assertions.assertEquals(1, this.keyOrderedRecordProcessor.committed(TOPIC, 0));
+        Mockito.verifyNoInteractions(aAcks.get(0));
+    }
+
+    @Test
+    void givenANackedRecord_whenCallSubmit_thenShouldRunItAgainAndAdvanceWatermark() {
+        final var aAck = Mockito.mock(Acknowledgment.class);
+        final var aRuns = new AtomicInteger();
+
+        this.keyOrderedRecordProcessor.submit(record(0, "customer-1"), aAck, aTrackedAck -> {
+            if (aRuns.incrementAndGet() == 1) {
+                aTrackedAck.nack(Duration.ofMillis(10));
+            } else {
+                aTrackedAck.acknowledge();
+            }
+        });
+
+        Mockito.verify(aAck, Mockito.timeout(5_000)).acknowledge();
+        Mockito.verify(aAck, Mockito.never()).nack(ArgumentMatchers.any());
+        Assertions.assertEquals(2, aRuns.get());
+        Assertions.assertEquals(0, this.keyOrderedRecordProcessor.committed(TOPIC, 0));
+    }
+
+    @Test
+    void givenNoWorkerAvailable_whenCallSubmit_thenShouldNackOnTheConsumerThreadInsteadOfBlocking() {
+        final var aProperties = properties();
+        aProperties.setMaxInFlight(1);
+        aProperties.setAcquireTimeout(Duration.ofMillis(50));
+        final var aProcessor = new KeyOrderedRecordProcessor(aProperties);
+        final var aReleased = new CountDownLatch(1);
+        final var aSecondAck = Mockito.mock(Acknowledgment.class);
+
+        try {
+            aProcessor.submit(record(0, "customer-0"), Mockito.mock(Acknowledgment.class), it -> await(aReleased));
+            aProcessor.submit(record(1, "customer-1"), aSecondAck, Acknowledgment::acknowledge);
+
+            Mockito.verify(aSecondAck).nack(ArgumentMatchers.any());
+            Mockito.verify(aSecondAck, Mockito.never()).acknowledge();
+        } finally {
+            aReleased.countDown();
+            aProcessor.destroy();
+        }
+    }
+
+    @Test
+    void givenAnInterruptedConsumerThread_whenCallSubmit_thenShouldNackTheRecord() {
+        final var aProperties = properties();
+        aProperties.setMaxInFlight(1);
+        final var aProcessor = new KeyOrderedRecordProcessor(aProperties);
+        final var aReleased = new CountDownLatch(1);
+        final var aSecondAck = Mockito.mock(Acknowledgment.class);
+
+        try {
+            aProcessor.submit(record(0, "customer-0"), Mockito.mock(Acknowledgment.class), it -> await(aReleased));
+
+            Thread.currentThread().interrupt();
+            aProcessor.submit(record(1, "customer-1"), aSecondAck, Acknowledgment::acknowledge);
+
+            Assertions.assertTrue(Thread.interrupted());
+            Mockito.verify(aSecondAck).nack(ArgumentMatchers.any());
+            Mockito.verify(aSecondAck, Mockito.never()).acknowledge();
+        } finally {
+            aReleased.countDown();
+            aProcessor.destroy();
+        }
+    }
+
+    @Test
+    void givenRevokedPartition_whenCallOnPartitionsRevokedBeforeCommit_thenShouldDropItsStateAndNotForwardLateAcks() {
+        final var aProperties = properties();
+        aProperties.setRevokeTimeout(Duration.ofMillis(50));
+        final var aProcessor = new KeyOrderedRecordProcessor(aProperties);
+        final var aReleased = new CountDownLatch(1);
+        final var aAcks = List.of(Mockito.mock(Acknowledgment.class), Mockito.mock(Acknowledgment.class));
+        final var aSlowDone = new CountDownLatch(1);
+
+        try {
+            aProcessor.submit(record(0, "customer-0"), aAcks.get(0), Acknowledgment::acknowledge);
+            Mockito.verify(aAcks.get(0), Mockito.timeout(5_000)).acknowledge();
+
+            aProcessor.submit(record(1, "customer-1"), aAcks.get(1), aTrackedAck -> {
+                await(aReleased);
+                aTrackedAck.acknowledge();
+                aSlowDone.countDown();
+            });
+
+            aProcessor.onPartitionsRevokedBeforeCommit(Mockito.mock(Consumer.class), List.of(new TopicPartition(TOPIC, 0)));
+
+            Assertions.assertEquals(-1, aProcessor.committed(TOPIC, 0));
+
+            aReleased.countDown();
+            Assertions.assertTrue(await(aSlowDone));
+            Mockito.verifyNoInteractions(aAcks.get(1));
+        } finally {
+            aReleased.countDown();
+            aProcessor.destroy();
+        }
+    }
+
+    private static KeyOrderedRecordProcessor newProcessor() {
+        return new KeyOrderedRecordProcessor(properties());
+    }
+
+    private static ParallelConsumerProperties properties() {
+        final var aProperties = new ParallelConsumerProperties();
+        aProperties.setEnabled(true);
+        aProperties.setVirtualThreads(false);
+        aProperties.setWorkerThreads(4);
+        return aProperties;
+    }
+
+    private static ConsumerRecord<String, String> record(final long aOffset, final String aKey) {
+        return new ConsumerRecord<>(TOPIC, 0, aOffset, aKey, "{}");
+    }
+
+    private static boolean await(final CountDownLatch aLatch) {
+        try {
+            return aLatch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.kaua.order.application.handlers.commands.CreateOrderCommand;
+import com.kaua.order.application.handlers.create.AsyncCreateOrderHandler;
+import com.kaua.order.application.handlers.update.paymenttax.PaymentTaxOrderHandler;
+import com.kaua.order.application.handlers.update.shippingcost.ShippingCostOrderHandler;
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
+import com.kaua.order.domain.order.events.external.ShippingCostCalculatedEvent;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@UnitTest
+public class MessageHandlerRegistryTest {
+
+    private final AsyncCreateOrderHandler asyncCreateOrderHandler = Mockito.mock(AsyncCreateOrderHandler.class);
+    private final ShippingCostOrderHandler shippingCostOrderHandler = Mockito.mock(ShippingCostOrderHandler.class);
+    private final PaymentTaxOrderHandler paymentTaxOrderHandler = Mockito.mock(PaymentTaxOrderHandler.class);
+    private final List<Boolean> handled = new CopyOnWriteArrayList<>();
+    private final MessageHandlerObserver messageHandlerObserver = (aType, aElapsed, aSucceeded) -> this.handled.add(aSucceeded);
+
+    @Test
+    void givenHandlerBeans_whenCreateRegistry_thenShouldRegisterTheirMessageTypes() {
+        final var aRegistry = newRegistry();
+
+        Assertions.assertEquals(
+                CreateOrderCommand.class,
+                aRegistry.findCommand(CreateOrderCommand.COMMAND_TYPE).orElseThrow().payloadClass()
+        );
+        Assertions.assertEquals(
+                ShippingCostCalculatedEvent.class,
+                aRegistry.findEvent(ShippingCostCalculatedEvent.EVENT_TYPE).orElseThrow().payloadClass()
+        );
+        Assertions.assertEquals(
+                PaymentTaxCalculatedEvent.class,
+                aRegistry.findEvent(PaymentTaxCalculatedEvent.EVENT_TYPE).orElseThrow().payloadClass()
+        );
+        Assertions.assertTrue(aRegistry.findEvent(CreateOrderCommand.COMMAND_TYPE).isEmpty());
+        Assertions.assertTrue(aRegistry.findCommand("UnknownCommand").isEmpty());
+        Assertions.assertEquals(3, aRegistry.readers().size());
+    }
+
+    @Test
+    void givenATextPayload_whenCallHandle_thenShouldReadDispatchAndNotifyObservers() {
+        final var aRegistry = newRegistry();
+        final var aEvent = newShippingCostCalculatedEvent();
+        final var aRegistration = aRegistry.findEvent(ShippingCostCalculatedEvent.EVENT_TYPE).orElseThrow();
+
+        final var aMessage = aRegistration.read(Json.writeValueAsString(aEvent));
+        aRegistry.handle(aRegistration, aMessage);
+
+        Assertions.assertEquals(aEvent.eventId(), aRegistration.messageId(aMessage));
+        Mockito.verify(this.shippingCostOrderHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.argThat(it -> it.eventId().equals(aEvent.eventId())));
+
+        Assertions.assertEquals(List.of(true), this.handled);
+    }
+
+    @Test
+    void givenAFailingHandler_whenCallHandle_thenShouldRethrowAndNotifyTheFailure() {
+        final var aRegistry = newRegistry();
+        final var aEvent = newShippingCostCalculatedEvent();
+        final var aRegistration = aRegistry.findEvent(ShippingCostCalculatedEvent.EVENT_TYPE).orElseThrow();
+
+        Mockito.doThrow(new IllegalStateException("boom"))
+                .when(this.shippingCostOrderHandler).handle(ArgumentMatchers.any());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> aRegistry.handle(aRegistration, aEvent));
+
+        Assertions.assertEquals(List.of(false), this.handled);
+    }
+
+    private MessageHandlerRegistry newRegistry() {
+        final var aObservers = new StaticListableBeanFactory(Map.of("messageHandlerObserver", this.messageHandlerObserver))
+                .getBeanProvider(MessageHandlerObserver.class);
+
+        return new MessageHandlerRegistry(
+                List.of(this.asyncCreateOrderHandler),
+                List.of(this.shippingCostOrderHandler, this.paymentTaxOrderHandler),
+                aObservers
+        );
+    }
+
+    private static ShippingCostCalculatedEvent newShippingCostCalculatedEvent() {
+        return ShippingCostCalculatedEvent.from(
+                IdUtils.generateIdWithoutHyphen(),
+                OrderStatus.CREATION_INITIATED.name(),
+                new BigDecimal("10.00"),
+                Fixture.address(null),
+                OrderShippingDetails.create("CORREIOS", "SEDEX", BigDecimal.TEN),
+                0,
+                "who",
+                "traceId"
+        );
+    }
+}
@@ -7,8 +7,12 @@ import com.kaua.order.domain.commands.InternalCommand;
 import com.kaua.order.domain.utils.IdUtils;
 import com.kaua.order.domain.utils.InstantUtils;
 import com.kaua.order.infrastructure.AbstractEmbeddedKafkaTest;
+import com.kaua.order.infrastructure.commands.CommandStatus;
+import com.kaua.order.infrastructure.commands.CommandStatusJdbcRepository;
 import com.kaua.order.infrastructure.configurations.json.Json;
 import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
@@ -32,6 +37,21 @@ import java.util.concurrent.TimeoutException;
 
 public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
 
+    @Autowired
+    private KeyOrderedRecordProcessor keyOrderedRecordProcessor;
+
+    @Autowired
+    private InboxFilter inboxFilter;
+
+    @Autowired
+    private MessageHandlerRegistry messageHandlerRegistry;
+
+    @Autowired
+    private ParkedMessageJdbcRepository parkedMessageJdbcRepository;
+
+    @Autowired
+    private CommandStatusJdbcRepository commandStatusJdbcRepository;
+
     @MockBean
     private AsyncCreateOrderHandler asyncCreateOrderHandler;
 
@@ -88,7 +108,7 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         Mockito.doAnswer(t -> {
             latch.countDown();
             return null;
-        }).when(orderCommandListener).onDltMessage(Mockito.any(), Mockito.any());
+        }).when(orderCommandListener).onDltMessage(Mockito.any(), Mockito.any(), Mockito.any());
 
         final var aProducerRecord = createProducerRecord(
                 topic,
@@ -99,7 +119,7 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
 
         Assertions.assertTrue(latch.await(3, TimeUnit.MINUTES));
 
-        Mockito.verify(orderCommandListener, Mockito.times(expectedMaxAttempts)).onMessage(record.capture(), Mockito.any());
+        Mockito.verify(orderCommandListener, Mockito.times(expectedMaxAttempts)).onMessage(record.capture(), Mockito.any(), Mockito.any());
 
         final var allMetas = record.getAllValues();
         Assertions.assertEquals(expectedMainTopic, allMetas.get(0).topic());
@@ -107,7 +127,7 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         Assertions.assertEquals(expectedRetry1Topic, allMetas.get(2).topic());
         Assertions.assertEquals(expectedRetry2Topic, allMetas.get(3).topic());
 
-        Mockito.verify(orderCommandListener, Mockito.times(expectedMaxDltAttempts)).onDltMessage(record.capture(), Mockito.any());
+        Mockito.verify(orderCommandListener, Mockito.times(expectedMaxDltAttempts)).onDltMessage(record.capture(), Mockito.any(), Mockito.any());
 
         Assertions.assertEquals(expectedDltTopic, record.getValue().topic());
     }
@@ -150,7 +170,7 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
     }
 
     @Test
-    void givenAValidCommandButCommandTypeDoesNotMatch_whenReceive_shouldDoNothing() throws ExecutionException, InterruptedException, TimeoutException {
+    void givenAValidCommandButCommandTypeDoesNotMatch_whenReceive_shouldParkAndAcknowledgeIt() throws ExecutionException, InterruptedException, TimeoutException {
         // given
         final var aMockedAcknowledgment = Mockito.mock(Acknowledgment.class);
 
@@ -162,7 +182,7 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         Mockito.doAnswer(it -> {
             aLatch.countDown();
             return null;
-        }).when(aMockedAcknowledgment).nack(Mockito.any(Duration.class));
+        }).when(aMockedAcknowledgment).acknowledge();
 
         // when
         final var aConsumerRecord = createConsumerRecord(
@@ -172,12 +192,19 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         );
         final var aOrderCommandListener = new OrderCommandListener(
                 kafkaTemplate,
-                asyncCreateOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository,
+                commandStatusJdbcRepository
         );
-        aOrderCommandListener.onMessage(aConsumerRecord, aMockedAcknowledgment);
+        aOrderCommandListener.onMessage(aConsumerRecord, aMockedAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(3, TimeUnit.MINUTES));
+        Mockito.verify(aMockedAcknowledgment, Mockito.never()).nack(Mockito.any(Duration.class));
+        Assertions.assertTrue(this.parkedMessageJdbcRepository.findByMessageType(aCommand.commandType(), 100).stream()
+                .anyMatch(it -> it.payload().equals(aMessage)));
     }
 
     @Test
@@ -216,14 +243,21 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         );
         final var aOrderCommandListener = new OrderCommandListener(
                 kafkaTemplate,
-                asyncCreateOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository,
+                commandStatusJdbcRepository
         );
-        aOrderCommandListener.onDltMessage(aConsumerRecord, aMockAcknowledgment);
+        aOrderCommandListener.onDltMessage(aConsumerRecord, aMockAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(2, TimeUnit.MINUTES));
         Mockito.verify(asyncCreateOrderHandler, Mockito.times(0))
                 .handle(Mockito.any());
+        Assertions.assertTrue(this.commandStatusJdbcRepository.findById(aCreateOrderCommand.commandId())
+                .map(CommandStatus::isFailed)
+                .orElse(false));
     }
 
     @Test
@@ -260,9 +294,13 @@ public class OrderCommandListenerTest extends AbstractEmbeddedKafkaTest {
         aConsumerRecord.headers().add(HeadersConstants.COMMAND_OCCURRED_ON, aCreateOrderCommand.occurredOn().toString().getBytes());
         final var aOrderCommandListener = new OrderCommandListener(
                 kafkaTemplate,
-                asyncCreateOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository,
+                commandStatusJdbcRepository
         );
-        aOrderCommandListener.onMessage(aConsumerRecord, aMockAcknowledgment);
+        aOrderCommandListener.onMessage(aConsumerRecord, aMockAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(3, TimeUnit.MINUTES));
@@ -0,0 +1,272 @@
+package com.kaua.order.infrastructure.listeners;
+
+import com.kaua.order.application.handlers.update.batch.OrderExternalEventsBatchHandler;
+import com.kaua.order.application.handlers.update.paymenttax.PaymentTaxOrderHandler;
+import com.kaua.order.application.handlers.update.shippingcost.ShippingCostOrderHandler;
+import com.kaua.order.domain.order.OrderStatus;
+import com.kaua.order.domain.order.events.external.PaymentTaxCalculatedEvent;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.json.Json;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.exceptions.InboxDuplicateMessageException;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessage;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@UnitTest
+public class OrderExternalEventsBatchListenerTest {
+
+    private static final String TOPIC = "payment-tax-calculated-external-event-topic";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+    private final OrderExternalEventsBatchHandler orderExternalEventsBatchHandler = Mockito.mock(OrderExternalEventsBatchHandler.class);
+
+    private final MessageHandlerRegistry messageHandlerRegistry = new MessageHandlerRegistry(
+            List.of(),
+            List.of(Mockito.mock(ShippingCostOrderHandler.class), Mockito.mock(PaymentTaxOrderHandler.class)),
+            new StaticListableBeanFactory().getBeanProvider(MessageHandlerObserver.class)
+    );
+
+    private final InboxFilter inboxFilter = Mockito.mock(InboxFilter.class);
+
+    private final ParkedMessageJdbcRepository parkedMessageJdbcRepository = Mockito.mock(ParkedMessageJdbcRepository.class);
+
+    private final Acknowledgment acknowledgment = Mockito.mock(Acknowledgment.class);
+
+    private final OrderExternalEventsBatchListener orderExternalEventsBatchListener = new OrderExternalEventsBatchListener(
+            this.kafkaTemplate,
+            this.messageHandlerRegistry,
+            this.orderExternalEventsBatchHandler,
+            this.inboxFilter,
+            this.parkedMessageJdbcRepository,
+            1
+    );
+
+    @Test
+    void givenRecordsOfSeveralOrders_whenCallOnMessages_thenShouldHandleEachOrderOnceAndAcknowledge() {
+        final var aFirstOrder = event("1", 1);
+        final var aSecondOrder = event("2", 1);
+        final var aFirstOrderNext = event("1", 2);
+
+        this.orderExternalEventsBatchListener.onMessages(
+                List.of(record(aFirstOrder, 0), record(aSecondOrder, 1), record(aFirstOrderNext, 2)),
+                this.acknowledgment
+        );
+
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.argThat(aEvents -> aEvents.size() == 2));
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("2"), ArgumentMatchers.argThat(aEvents -> aEvents.size() == 1));
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+        Mockito.verifyNoInteractions(this.kafkaTemplate);
+    }
+
+    @Test
+    void givenAFailingOrder_whenCallOnMessages_thenShouldParkOnlyThatOrderAndAcknowledge() {
+        final var aFailingOrder = event("1", 1);
+        final var aHealthyOrder = event("2", 1);
+
+        Mockito.doThrow(new IllegalStateException("order conflict"))
+                .when(this.orderExternalEventsBatchHandler)
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.anyList());
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        this.orderExternalEventsBatchListener.onMessages(
+                List.of(record(aFailingOrder, 0), record(aHealthyOrder, 1)),
+                this.acknowledgment
+        );
+
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("2"), ArgumentMatchers.anyList());
+        Mockito.verify(this.kafkaTemplate, Mockito.times(1)).send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(
+                aRecord -> aRecord.topic().equals(TOPIC + "-retry-dlt")
+                        && aRecord.value().equals(Json.writeValueAsString(aFailingOrder))));
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenARecordWithoutTypeHeader_whenCallOnMessages_thenShouldSendItToInvalidDltAndHandleTheRest() {
+        final var aInvalid = new ConsumerRecord<String, String>(TOPIC, 0, 0, "1", "{}");
+        final var aValid = event("2", 1);
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        this.orderExternalEventsBatchListener.onMessages(List.of(aInvalid, record(aValid, 1)), this.acknowledgment);
+
+        Mockito.verify(this.kafkaTemplate, Mockito.times(1)).send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(
+                aRecord -> aRecord.topic().equals("order-external-events-dlt-invalid")));
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("2"), ArgumentMatchers.anyList());
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenARecordWithAMalformedPayload_whenCallOnMessages_thenShouldSendItToInvalidDltAndHandleTheRest() {
+        final var aMalformed = event("1", 1);
+        final var aValid = event("2", 1);
+
+        final var aMalformedRecord = new ConsumerRecord<String, String>(TOPIC, 0, 0, "1", "{not json");
+        record(aMalformed, 0).headers().forEach(aMalformedRecord.headers()::add);
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        this.orderExternalEventsBatchListener.onMessages(List.of(aMalformedRecord, record(aValid, 1)), this.acknowledgment);
+
+        Mockito.verify(this.kafkaTemplate, Mockito.times(1)).send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(
+                aRecord -> aRecord.topic().equals("order-external-events-dlt-invalid")
+                        && aRecord.headers().lastHeader("error_message") != null));
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.never())
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.anyList());
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("2"), ArgumentMatchers.anyList());
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenARecordOfAnUnsupportedType_whenCallOnMessages_thenShouldParkItAndHandleTheRest() {
+        final var aUnsupported = unsupported(InstantUtils.now(), 0);
+        final var aValid = event("2", 1);
+
+        this.orderExternalEventsBatchListener.onMessages(List.of(aUnsupported, record(aValid, 1)), this.acknowledgment);
+
+        Mockito.verify(this.parkedMessageJdbcRepository, Mockito.times(1)).park(ArgumentMatchers.<ParkedMessage>argThat(
+                aMessage -> aMessage.messageType().equals("UnknownEvent")));
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("2"), ArgumentMatchers.anyList());
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+        Mockito.verifyNoInteractions(this.kafkaTemplate);
+    }
+
+    @Test
+    void givenARecordOfAnUnsupportedTypeOlderThanSevenDays_whenCallOnMessages_thenShouldSendItToInvalidDlt() {
+        final var aUnsupported = unsupported(InstantUtils.now().minus(Duration.ofDays(8)), 0);
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        this.orderExternalEventsBatchListener.onMessages(List.of(aUnsupported), this.acknowledgment);
+
+        Mockito.verify(this.kafkaTemplate, Mockito.times(1)).send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(
+                aRecord -> aRecord.topic().equals("order-external-events-dlt-invalid")));
+        Mockito.verifyNoInteractions(this.parkedMessageJdbcRepository);
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenARecordOfAnUnsupportedTypeThatCannotBeParked_whenCallOnMessages_thenShouldNackFromIt() {
+        final var aValid = event("1", 1);
+        final var aUnsupported = unsupported(InstantUtils.now(), 1);
+
+        Mockito.doThrow(new DataRetrievalFailureException("database down"))
+                .when(this.parkedMessageJdbcRepository)
+                .park(ArgumentMatchers.any());
+
+        this.orderExternalEventsBatchListener.onMessages(List.of(record(aValid, 0), aUnsupported), this.acknowledgment);
+
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).nack(1, Duration.ofSeconds(5));
+        Mockito.verify(this.acknowledgment, Mockito.never()).acknowledge();
+        Mockito.verifyNoInteractions(this.orderExternalEventsBatchHandler);
+    }
+
+    @Test
+    void givenAnAlreadyProcessedEvent_whenCallOnMessages_thenShouldSkipItAndHandleTheRest() {
+        final var aProcessed = event("1", 1);
+        final var aNext = event("1", 2);
+
+        Mockito.when(this.inboxFilter.isProcessed(aProcessed.eventId())).thenReturn(true);
+
+        this.orderExternalEventsBatchListener.onMessages(
+                List.of(record(aProcessed, 0), record(aNext, 1)),
+                this.acknowledgment
+        );
+
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.eq(List.of(aNext)));
+        Mockito.verify(this.inboxFilter, Mockito.times(1)).markProcessed(aNext.eventId());
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+    }
+
+    @Test
+    void givenAnEventStoredByAnotherDelivery_whenCallOnMessages_thenShouldRetryOrderWithoutIt() {
+        final var aDuplicate = event("1", 1);
+        final var aNext = event("1", 2);
+
+        Mockito.doThrow(InboxDuplicateMessageException.with(List.of(aDuplicate.eventId())))
+                .when(this.orderExternalEventsBatchHandler)
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.argThat(aEvents -> aEvents.size() == 2));
+
+        final var aListener = new OrderExternalEventsBatchListener(
+                this.kafkaTemplate,
+                this.messageHandlerRegistry,
+                this.orderExternalEventsBatchHandler,
+                this.inboxFilter,
+                this.parkedMessageJdbcRepository,
+                2
+        );
+        aListener.onMessages(List.of(record(aDuplicate, 0), record(aNext, 1)), this.acknowledgment);
+
+        Mockito.verify(this.orderExternalEventsBatchHandler, Mockito.times(1))
+                .handle(ArgumentMatchers.eq("1"), ArgumentMatchers.eq(List.of(aNext)));
+        Mockito.verify(this.inboxFilter, Mockito.times(1)).markProcessed(aDuplicate.eventId());
+        Mockito.verify(this.acknowledgment, Mockito.times(1)).acknowledge();
+        Mockito.verifyNoInteractions(this.kafkaTemplate);
+    }
+
+    private static PaymentTaxCalculatedEvent event(final String aOrderId, final long aVersion) {
+        return PaymentTaxCalculatedEvent.from(
+                aOrderId,
+                OrderStatus.SHIPPING_CALCULATED.name(),
+                new BigDecimal("12.00"),
+                OrderPaymentDetails.create("1", 1, new BigDecimal("3.00")),
+                aVersion,
+                "customer",
+                IdUtils.generateIdWithoutHyphen()
+        );
+    }
+
+    private static ConsumerRecord<String, String> unsupported(final Instant aOccurredOn, final long aOffset) {
+        final var aRecord = new ConsumerRecord<String, String>(TOPIC, 0, aOffset, "3", "{}");
+        aRecord.headers().add(HeadersConstants.EVENT_TYPE, "UnknownEvent".getBytes());
+        aRecord.headers().add(HeadersConstants.EVENT_ID, IdUtils.generateIdWithoutHyphen().getBytes());
+        aRecord.headers().add(HeadersConstants.EVENT_OCCURRED_ON, aOccurredOn.toString().getBytes());
+        return aRecord;
+    }
+
+    private static ConsumerRecord<String, String> record(final PaymentTaxCalculatedEvent aEvent, final long aOffset) {
+        final var aRecord = new ConsumerRecord<String, String>(
+                TOPIC,
+                0,
+                aOffset,
+                aEvent.aggregateId(),
+                Json.writeValueAsString(aEvent)
+        );
+        aRecord.headers().add(HeadersConstants.EVENT_TYPE, aEvent.eventType().getBytes());
+        aRecord.headers().add(HeadersConstants.EVENT_ID, aEvent.eventId().getBytes());
+        aRecord.headers().add(HeadersConstants.EVENT_OCCURRED_ON, aEvent.occurredOn().toString().getBytes());
+        return aRecord;
+    }
+}
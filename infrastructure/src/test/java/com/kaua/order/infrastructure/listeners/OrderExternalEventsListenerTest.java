@@ -14,6 +14,8 @@ import com.kaua.order.domain.utils.InstantUtils;
 import com.kaua.order.infrastructure.AbstractEmbeddedKafkaTest;
 import com.kaua.order.infrastructure.configurations.json.Json;
 import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.inbox.InboxFilter;
+import com.kaua.order.infrastructure.parked.ParkedMessageJdbcRepository;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
@@ -37,6 +40,18 @@ import java.util.concurrent.TimeoutException;
 
 public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
 
+    @Autowired
+    private KeyOrderedRecordProcessor keyOrderedRecordProcessor;
+
+    @Autowired
+    private InboxFilter inboxFilter;
+
+    @Autowired
+    private MessageHandlerRegistry messageHandlerRegistry;
+
+    @Autowired
+    private ParkedMessageJdbcRepository parkedMessageJdbcRepository;
+
     @MockBean
     private ShippingCostOrderHandler shippingCostOrderHandler;
 
@@ -100,7 +115,7 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         Mockito.doAnswer(t -> {
             latch.countDown();
             return null;
-        }).when(orderExternalEventsListener).onDltMessage(Mockito.any(), Mockito.any());
+        }).when(orderExternalEventsListener).onDltMessage(Mockito.any(), Mockito.any(), Mockito.any());
 
         final var aProducerRecord = createProducerRecord(
                 shippingCostCalculatedTopic,
@@ -111,7 +126,7 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
 
         Assertions.assertTrue(latch.await(3, TimeUnit.MINUTES));
 
-        Mockito.verify(orderExternalEventsListener, Mockito.times(expectedMaxAttempts)).onMessage(record.capture(), Mockito.any());
+        Mockito.verify(orderExternalEventsListener, Mockito.times(expectedMaxAttempts)).onMessage(record.capture(), Mockito.any(), Mockito.any());
 
         final var allMetas = record.getAllValues();
         Assertions.assertEquals(expectedMainTopic, allMetas.get(0).topic());
@@ -119,7 +134,7 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         Assertions.assertEquals(expectedRetry1Topic, allMetas.get(2).topic());
         Assertions.assertEquals(expectedRetry2Topic, allMetas.get(3).topic());
 
-        Mockito.verify(orderExternalEventsListener, Mockito.times(expectedMaxDltAttempts)).onDltMessage(record.capture(), Mockito.any());
+        Mockito.verify(orderExternalEventsListener, Mockito.times(expectedMaxDltAttempts)).onDltMessage(record.capture(), Mockito.any(), Mockito.any());
 
         Assertions.assertEquals(expectedDltTopic, record.getValue().topic());
     }
@@ -163,7 +178,7 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
     }
 
     @Test
-    void givenAValidCommandButEventTypeDoesNotMatch_whenReceive_shouldDoNothing() throws ExecutionException, InterruptedException, TimeoutException {
+    void givenAValidCommandButEventTypeDoesNotMatch_whenReceive_shouldParkAndAcknowledgeIt() throws ExecutionException, InterruptedException, TimeoutException {
         // given
         final var aMockedAcknowledgment = Mockito.mock(Acknowledgment.class);
 
@@ -175,7 +190,7 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         Mockito.doAnswer(it -> {
             aLatch.countDown();
             return null;
-        }).when(aMockedAcknowledgment).nack(Mockito.any(Duration.class));
+        }).when(aMockedAcknowledgment).acknowledge();
 
         // when
         final var aConsumerRecord = createConsumerRecord(
@@ -185,13 +200,18 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         );
         final var aOrderCommandListener = new OrderExternalEventsListener(
                 kafkaTemplate,
-                shippingCostOrderHandler,
-                paymentTaxOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository
         );
-        aOrderCommandListener.onMessage(aConsumerRecord, aMockedAcknowledgment);
+        aOrderCommandListener.onMessage(aConsumerRecord, aMockedAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(3, TimeUnit.MINUTES));
+        Mockito.verify(aMockedAcknowledgment, Mockito.never()).nack(Mockito.any(Duration.class));
+        Assertions.assertTrue(this.parkedMessageJdbcRepository.findByMessageType(aEvent.eventType(), 100).stream()
+                .anyMatch(it -> it.payload().equals(aMessage)));
     }
 
     @Test
@@ -231,10 +251,12 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         );
         final var aOrderCommandListener = new OrderExternalEventsListener(
                 kafkaTemplate,
-                shippingCostOrderHandler,
-                paymentTaxOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository
         );
-        aOrderCommandListener.onDltMessage(aConsumerRecord, aMockAcknowledgment);
+        aOrderCommandListener.onDltMessage(aConsumerRecord, aMockAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(2, TimeUnit.MINUTES));
@@ -277,10 +299,12 @@ public class OrderExternalEventsListenerTest extends AbstractEmbeddedKafkaTest {
         aConsumerRecord.headers().add(HeadersConstants.COMMAND_OCCURRED_ON, aShippingCostCalculatedEvent.occurredOn().toString().getBytes());
         final var aOrderCommandListener = new OrderExternalEventsListener(
                 kafkaTemplate,
-                shippingCostOrderHandler,
-                paymentTaxOrderHandler
+                messageHandlerRegistry,
+                keyOrderedRecordProcessor,
+                inboxFilter,
+                parkedMessageJdbcRepository
         );
-        aOrderCommandListener.onMessage(aConsumerRecord, aMockAcknowledgment);
+        aOrderCommandListener.onMessage(aConsumerRecord, aMockAcknowledgment, null);
 
         // then
         Assertions.assertTrue(aLatch.await(3, TimeUnit.MINUTES));
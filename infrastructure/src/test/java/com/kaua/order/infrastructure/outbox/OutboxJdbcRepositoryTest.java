@@ -0,0 +1,270 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.IntegrationTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.events.EventEnvelope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@IntegrationTest
+public class OutboxJdbcRepositoryTest {
+
+    @Autowired
+    private OutboxJdbcRepository outboxJdbcRepository;
+
+    @Autowired
+    private OutboxJpaRepository outboxJpaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenValidEntries_whenCallInsertAll_thenShouldStorePendingRows() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+
+        Assertions.assertEquals(0, this.outboxJpaRepository.count());
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        Assertions.assertEquals(2, this.outboxJpaRepository.count());
+
+        final var aStoredEntry = this.outboxJpaRepository.findById(aSecondEntry.eventId()).orElseThrow();
+
+        Assertions.assertEquals(aSecondEntry.aggregateVersion(), aStoredEntry.getAggregateVersion());
+        Assertions.assertEquals(aSecondEntry.occurredOn(), aStoredEntry.getOccurredOn());
+        Assertions.assertEquals(aSecondEntry.payload(), aStoredEntry.getPayload());
+        Assertions.assertEquals(OutboxStatus.PENDING, aStoredEntry.getStatus());
+    }
+
+    @Test
+    void givenPendingEntries_whenCallClaimPending_thenShouldReturnOldestEntriesUpToLimit() {
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+        final var aThirdEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry, aThirdEntry));
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository.claimPending(2, InstantUtils.now()));
+
+        final var aStored = Map.of(
+                aFirstEntry.eventId(), aFirstEntry,
+                aSecondEntry.eventId(), aSecondEntry,
+                aThirdEntry.eventId(), aThirdEntry
+        );
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertEquals(2, aClaimed.size());
+        Assertions.assertFalse(aClaimed.get(0).occurredOn().isAfter(aClaimed.get(1).occurredOn()));
+        Assertions.assertFalse(aClaimed.get(1).occurredOn().isAfter(aThirdEntry.occurredOn()));
+        aClaimed.forEach(aEntry -> {
+            final var aEnvelope = aStored.get(aEntry.eventId());
+            Assertions.assertEquals(aEnvelope.aggregateId(), aEntry.aggregateId());
+            Assertions.assertEquals(aEnvelope.occurredOn(), aEntry.occurredOn());
+            Assertions.assertEquals(aEnvelope.payload(), aEntry.payload());
+        });
+    }
+
+    @Test
+    void givenSeveralPendingVersionsOfAnAggregate_whenCallClaimPending_thenShouldReturnOnlyTheEarliest() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+        final var aBucket = OutboxJdbcRepository.bucketOf(aAggregateId, this.outboxProperties.getBucketCount());
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, InstantUtils.now().plusSeconds(1)));
+        final var aClaimedInBucket = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, Set.of(aBucket), InstantUtils.now().plusSeconds(1)));
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertNotNull(aClaimedInBucket);
+        Assertions.assertEquals(List.of(aFirstEntry.eventId()), aClaimed.stream()
+                .filter(aEntry -> aEntry.aggregateId().equals(aAggregateId))
+                .map(OutboxEntry::eventId)
+                .toList());
+        Assertions.assertEquals(List.of(aFirstEntry.eventId()), aClaimedInBucket.stream()
+                .filter(aEntry -> aEntry.aggregateId().equals(aAggregateId))
+                .map(OutboxEntry::eventId)
+                .toList());
+    }
+
+    @Test
+    void givenClaimedEntries_whenCallUpdateStatus_thenShouldNotClaimThemAgain() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        final var aUpdated = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .updateStatus(List.of(aFirstEntry.eventId()), OutboxStatus.PROCESSED)
+                + this.outboxJdbcRepository.updateStatus(List.of(aSecondEntry.eventId()), OutboxStatus.FAILED));
+
+        Assertions.assertEquals(2, aUpdated);
+        Assertions.assertEquals(OutboxStatus.PROCESSED,
+                this.outboxJpaRepository.findById(aFirstEntry.eventId()).orElseThrow().getStatus());
+        Assertions.assertEquals(OutboxStatus.FAILED,
+                this.outboxJpaRepository.findById(aSecondEntry.eventId()).orElseThrow().getStatus());
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository.claimPending(10, InstantUtils.now()));
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertTrue(aClaimed.isEmpty());
+    }
+
+    @Test
+    void givenAFailedAttempt_whenCallClaimPending_thenShouldHoldBackTheEntryAndLaterVersionsUntilBackoff() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        final var aExhausted = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .recordFailedAttempts(List.of(OutboxEntry.from(aFirstEntry)), InstantUtils.now()));
+
+        Assertions.assertNotNull(aExhausted);
+        Assertions.assertTrue(aExhausted.isEmpty());
+        Assertions.assertEquals(OutboxStatus.PENDING,
+                this.outboxJpaRepository.findById(aFirstEntry.eventId()).orElseThrow().getStatus());
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, InstantUtils.now().plusSeconds(1)));
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertTrue(aClaimed.stream().noneMatch(aEntry -> aEntry.aggregateId().equals(aAggregateId)));
+    }
+
+    @Test
+    void givenAnEntryOnItsLastAttempt_whenCallRecordFailedAttempts_thenShouldMarkItFailedAndReleaseLaterVersions() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        final var aLastAttempt = OutboxEntry.from(aFirstEntry);
+        final var aEntry = new OutboxEntry(
+                aLastAttempt.eventId(),
+                aLastAttempt.eventType(),
+                aLastAttempt.aggregateId(),
+                aLastAttempt.aggregateVersion(),
+                aLastAttempt.occurredOn(),
+                aLastAttempt.payload(),
+                this.outboxProperties.getMaxSendAttempts() - 1
+        );
+
+        final var aExhausted = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .recordFailedAttempts(List.of(aEntry), InstantUtils.now()));
+
+        Assertions.assertEquals(List.of(aEntry), aExhausted);
+        Assertions.assertEquals(OutboxStatus.FAILED,
+                this.outboxJpaRepository.findById(aFirstEntry.eventId()).orElseThrow().getStatus());
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, InstantUtils.now().plusSeconds(1)));
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertEquals(List.of(aSecondEntry.eventId()), aClaimed.stream()
+                .filter(aClaimedEntry -> aClaimedEntry.aggregateId().equals(aAggregateId))
+                .map(OutboxEntry::eventId)
+                .toList());
+    }
+
+    @Test
+    void givenEntriesOfSeveralBuckets_whenCallClaimPendingWithBuckets_thenShouldReturnOnlyThoseBuckets() {
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+
+        final var aBucketCount = this.outboxProperties.getBucketCount();
+        final var aFirstBucket = OutboxJdbcRepository.bucketOf(aFirstEntry.aggregateId(), aBucketCount);
+
+        final var aClaimed = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, Set.of(aFirstBucket), InstantUtils.now()));
+
+        Assertions.assertNotNull(aClaimed);
+        Assertions.assertTrue(aClaimed.stream().allMatch(aEntry -> OutboxJdbcRepository
+                .bucketOf(aEntry.aggregateId(), aBucketCount) == aFirstBucket));
+        Assertions.assertTrue(aClaimed.stream().anyMatch(aEntry -> aEntry.eventId().equals(aFirstEntry.eventId())));
+    }
+
+    @Test
+    void givenEntriesWithoutBucket_whenCallAssignBuckets_thenShouldClaimThemInTheBucketOfTheirAggregate() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+        final var aBucket = OutboxJdbcRepository.bucketOf(aAggregateId, this.outboxProperties.getBucketCount());
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry));
+        this.jdbcTemplate.update("UPDATE outbox SET bucket = NULL WHERE event_id = ?", aFirstEntry.eventId());
+
+        final var aClaimedBefore = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, Set.of(aBucket), InstantUtils.now().plusSeconds(1)));
+
+        Assertions.assertNotNull(aClaimedBefore);
+        Assertions.assertTrue(aClaimedBefore.stream().noneMatch(aEntry -> aEntry.aggregateId().equals(aAggregateId)));
+
+        final var aAssigned = this.transactionTemplate.execute(status -> this.outboxJdbcRepository.assignBuckets(10));
+
+        Assertions.assertEquals(1, aAssigned);
+
+        final var aClaimedAfter = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .claimPending(10, Set.of(aBucket), InstantUtils.now().plusSeconds(1)));
+
+        Assertions.assertNotNull(aClaimedAfter);
+        Assertions.assertEquals(List.of(aFirstEntry.eventId()), aClaimedAfter.stream()
+                .filter(aEntry -> aEntry.aggregateId().equals(aAggregateId))
+                .map(OutboxEntry::eventId)
+                .toList());
+    }
+
+    @Test
+    void givenProcessedAndPendingEntries_whenCallPurgeProcessed_thenShouldDeleteOnlyProcessedUpToLimit() {
+        final var aAggregateId = IdUtils.generateIdWithHyphen();
+        final var aFirstEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 0));
+        final var aSecondEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 1));
+        final var aPendingEntry = EventEnvelope.from(Fixture.sampleEntityEvent(aAggregateId, 2));
+        final var aFailedEntry = EventEnvelope.from(Fixture.sampleEntityEvent(IdUtils.generateIdWithHyphen(), 0));
+
+        this.outboxJdbcRepository.insertAll(List.of(aFirstEntry, aSecondEntry, aPendingEntry, aFailedEntry));
+        this.outboxJdbcRepository.updateStatus(
+                List.of(aFirstEntry.eventId(), aSecondEntry.eventId()), OutboxStatus.PROCESSED);
+        this.outboxJdbcRepository.updateStatus(List.of(aFailedEntry.eventId()), OutboxStatus.FAILED);
+
+        final var aOccurredBefore = InstantUtils.now().plusSeconds(1);
+
+        final var aFirstPurge = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .purgeProcessed(aOccurredBefore, 1));
+        final var aSecondPurge = this.transactionTemplate.execute(status -> this.outboxJdbcRepository
+                .purgeProcessed(aOccurredBefore, 10));
+
+        Assertions.assertEquals(1, aFirstPurge);
+        Assertions.assertEquals(1, aSecondPurge);
+        Assertions.assertTrue(this.outboxJpaRepository.findById(aFirstEntry.eventId()).isEmpty());
+        Assertions.assertTrue(this.outboxJpaRepository.findById(aSecondEntry.eventId()).isEmpty());
+        Assertions.assertTrue(this.outboxJpaRepository.findById(aPendingEntry.eventId()).isPresent());
+        Assertions.assertTrue(this.outboxJpaRepository.findById(aFailedEntry.eventId()).isPresent());
+    }
+}
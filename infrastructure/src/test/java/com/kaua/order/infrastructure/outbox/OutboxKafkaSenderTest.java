@@ -0,0 +1,113 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@UnitTest
+public class OutboxKafkaSenderTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+    private OutboxKafkaSender outboxKafkaSender;
+
+    @AfterEach
+    void stopSender() {
+        if (this.outboxKafkaSender != null) {
+            this.outboxKafkaSender.destroy();
+        }
+    }
+
+    @Test
+    void givenUnorderedEntriesOfSeveralAggregates_whenCallSendAll_thenShouldSendEachAggregateInVersionOrder() {
+        this.outboxKafkaSender = newSender(4);
+        final var aFirstAggregateId = IdUtils.generateIdWithoutHyphen();
+        final var aSecondAggregateId = IdUtils.generateIdWithoutHyphen();
+
+        final var aEntries = List.of(
+                entry(aFirstAggregateId, 2),
+                entry(aSecondAggregateId, 1),
+                entry(aFirstAggregateId, 0),
+                entry(aSecondAggregateId, 0),
+                entry(aFirstAggregateId, 1)
+        );
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        Assertions.assertTrue(this.outboxKafkaSender.sendAll(aEntries).isEmpty());
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<ProducerRecord<String, Object>> aRecordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(this.kafkaTemplate, Mockito.times(5)).send(aRecordCaptor.capture());
+
+        Assertions.assertEquals(List.of("0", "1", "2"), versionsOf(aRecordCaptor.getAllValues(), aFirstAggregateId));
+        Assertions.assertEquals(List.of("0", "1"), versionsOf(aRecordCaptor.getAllValues(), aSecondAggregateId));
+    }
+
+    @Test
+    void givenAFailedEntry_whenCallSendAll_thenShouldNotSendLaterEntriesOfSameAggregate() {
+        this.outboxKafkaSender = newSender(1);
+        final var aFailingAggregateId = IdUtils.generateIdWithoutHyphen();
+        final var aHealthyAggregateId = IdUtils.generateIdWithoutHyphen();
+
+        final var aFailing = entry(aFailingAggregateId, 0);
+        final var aSkipped = entry(aFailingAggregateId, 1);
+        final var aFirstHealthy = entry(aHealthyAggregateId, 0);
+        final var aSecondHealthy = entry(aHealthyAggregateId, 1);
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenAnswer(invocation -> {
+                    final ProducerRecord<String, Object> aRecord = invocation.getArgument(0);
+                    return aFailingAggregateId.equals(aRecord.key())
+                            ? CompletableFuture.failedFuture(new RuntimeException("broker unavailable"))
+                            : CompletableFuture.completedFuture(Mockito.mock(SendResult.class));
+                });
+
+        final var aFailed = this.outboxKafkaSender
+                .sendAll(List.of(aFailing, aFirstHealthy, aSkipped, aSecondHealthy));
+
+        Assertions.assertEquals(List.of(aFailing.eventId(), aSkipped.eventId()), aFailed);
+        Mockito.verify(this.kafkaTemplate, Mockito.times(3))
+                .send(ArgumentMatchers.<ProducerRecord<String, Object>>any());
+    }
+
+    private OutboxKafkaSender newSender(final int aLanes) {
+        final var aProperties = new OutboxProperties();
+        aProperties.setPublishLanes(aLanes);
+        return new OutboxKafkaSender(this.kafkaTemplate, aProperties);
+    }
+
+    private static List<String> versionsOf(final List<ProducerRecord<String, Object>> aRecords, final String aAggregateId) {
+        return aRecords.stream()
+                .filter(aRecord -> aAggregateId.equals(aRecord.key()))
+                .map(aRecord -> new String(aRecord.headers().lastHeader(HeadersConstants.AGGREGATE_VERSION).value()))
+                .toList();
+    }
+
+    private static OutboxEntry entry(final String aAggregateId, final long aVersion) {
+        return new OutboxEntry(
+                IdUtils.generateIdWithoutHyphen(),
+                "SampleEntityEvent",
+                aAggregateId,
+                aVersion,
+                InstantUtils.now(),
+                "{}"
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.infrastructure.IntegrationTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@IntegrationTest
+public class OutboxLeaseManagerTest {
+
+    private static final int BUCKET_COUNT = 4;
+
+    @Autowired
+    private OutboxLeaseJdbcRepository outboxLeaseJdbcRepository;
+
+    @Autowired
+    private TransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUpLeases() {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.jdbcTemplate.update("DELETE FROM outbox_leases");
+            this.jdbcTemplate.update("DELETE FROM outbox_nodes");
+        });
+    }
+
+    @Test
+    void givenASingleNode_whenCallRebalance_thenShouldLeaseAllBuckets() {
+        final var aManager = newManager("node-1");
+
+        final var aOwned = aManager.rebalance();
+
+        Assertions.assertEquals(Set.of(0, 1, 2, 3), aOwned);
+        Assertions.assertEquals(aOwned, aManager.ownedBuckets());
+    }
+
+    @Test
+    void givenANodeJoining_whenCallRebalance_thenShouldSplitBucketsWithoutOverlap() {
+        final var aFirstManager = newManager("node-1");
+        final var aSecondManager = newManager("node-2");
+
+        aFirstManager.rebalance();
+        Assertions.assertTrue(aSecondManager.rebalance().isEmpty());
+
+        final var aFirstOwned = aFirstManager.rebalance();
+        final var aSecondOwned = aSecondManager.rebalance();
+
+        Assertions.assertEquals(2, aFirstOwned.size());
+        Assertions.assertEquals(2, aSecondOwned.size());
+
+        final var aAllOwned = new HashSet<>(aFirstOwned);
+        aAllOwned.addAll(aSecondOwned);
+        Assertions.assertEquals(Set.of(0, 1, 2, 3), aAllOwned);
+    }
+
+    @Test
+    void givenANodeLeaving_whenCallRebalance_thenShouldTakeOverItsBuckets() {
+        final var aFirstManager = newManager("node-1");
+        final var aSecondManager = newManager("node-2");
+
+        aFirstManager.rebalance();
+        aSecondManager.rebalance();
+        aFirstManager.rebalance();
+        aSecondManager.rebalance();
+
+        aSecondManager.release();
+
+        Assertions.assertTrue(aSecondManager.ownedBuckets().isEmpty());
+        Assertions.assertEquals(Set.of(0, 1, 2, 3), aFirstManager.rebalance());
+    }
+
+    @Test
+    void givenBucketsReleasedWithSendsPossiblyRunning_whenCallRebalance_thenShouldNotAcquireThemBeforeTheSendTimeout() {
+        final var aFirstManager = newManager("node-1", Duration.ofHours(1));
+        final var aSecondManager = newManager("node-2", Duration.ofHours(1));
+
+        Assertions.assertEquals(Set.of(0, 1, 2, 3), aFirstManager.rebalance());
+        aSecondManager.rebalance();
+
+        Assertions.assertEquals(2, aFirstManager.rebalance().size());
+        Assertions.assertTrue(aSecondManager.rebalance().isEmpty());
+    }
+
+    private OutboxLeaseManager newManager(final String aInstanceId) {
+        return newManager(aInstanceId, Duration.ZERO);
+    }
+
+    private OutboxLeaseManager newManager(final String aInstanceId, final Duration aSendTimeout) {
+        final var aProperties = new OutboxProperties();
+        aProperties.setLeaseEnabled(true);
+        aProperties.setInstanceId(aInstanceId);
+        aProperties.setBucketCount(BUCKET_COUNT);
+        aProperties.setLeaseRenewInterval(Duration.ofHours(1));
+        aProperties.setLeaseDuration(Duration.ofHours(2));
+        aProperties.setSendTimeout(aSendTimeout);
+        return new OutboxLeaseManager(this.outboxLeaseJdbcRepository, this.transactionManager, aProperties);
+    }
+}
@@ -0,0 +1,150 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@UnitTest
+public class OutboxPublisherTest {
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final OutboxJdbcRepository outboxJdbcRepository = Mockito.mock(OutboxJdbcRepository.class);
+    private final OutboxLeaseManager outboxLeaseManager = Mockito.mock(OutboxLeaseManager.class);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+    private OutboxPublisher outboxPublisher;
+
+    @AfterEach
+    void stopPublisher() {
+        if (this.outboxPublisher != null) {
+            this.outboxPublisher.stop();
+        }
+    }
+
+    @Test
+    void givenCommittedEntries_whenCallOnEntriesStored_thenShouldPublishAndMarkProcessed() {
+        this.outboxPublisher = newPublisher(true);
+        final var aEntry = entry();
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        this.outboxPublisher.onEntriesStored(new OutboxEntriesStoredEvent(List.of(aEntry)));
+
+        Mockito.verify(this.outboxJdbcRepository, Mockito.timeout(5_000))
+                .updateStatus(List.of(aEntry.eventId()), OutboxStatus.PROCESSED);
+    }
+
+    @Test
+    void givenAFailedSend_whenCallOnEntriesStored_thenShouldLeaveEntryPendingForRelay() {
+        this.outboxPublisher = newPublisher(true);
+        final var aEntry = entry();
+
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        this.outboxPublisher.onEntriesStored(new OutboxEntriesStoredEvent(List.of(aEntry)));
+
+        Mockito.verify(this.outboxJdbcRepository, Mockito.timeout(5_000))
+                .updateStatus(List.of(), OutboxStatus.PROCESSED);
+        Mockito.verify(this.outboxJdbcRepository, Mockito.never())
+                .updateStatus(ArgumentMatchers.anyList(), ArgumentMatchers.eq(OutboxStatus.FAILED));
+    }
+
+    @Test
+    void givenAnEarlierPendingVersion_whenCallOnEntriesStored_thenShouldLeaveEntryToRelay() {
+        this.outboxPublisher = newPublisher(true);
+        final var aEntry = entry();
+
+        Mockito.when(this.outboxJdbcRepository.earliestPendingVersions(List.of(aEntry)))
+                .thenReturn(Map.of(aEntry.aggregateId(), aEntry.aggregateVersion() - 1));
+
+        this.outboxPublisher.onEntriesStored(new OutboxEntriesStoredEvent(List.of(aEntry)));
+
+        Mockito.verify(this.outboxJdbcRepository, Mockito.timeout(5_000)).earliestPendingVersions(List.of(aEntry));
+        Mockito.verify(this.kafkaTemplate, Mockito.after(200).never())
+                .send(ArgumentMatchers.<ProducerRecord<String, Object>>any());
+        Mockito.verify(this.outboxJdbcRepository, Mockito.never())
+                .updateStatus(ArgumentMatchers.anyList(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void givenABucketLeasedByAnotherNode_whenCallOnEntriesStored_thenShouldLeaveEntryToRelay() {
+        this.outboxPublisher = newPublisher(true);
+        final var aEntry = entry();
+
+        Mockito.when(this.outboxLeaseManager.isEnabled()).thenReturn(true);
+        Mockito.when(this.outboxLeaseManager.ownedBuckets()).thenReturn(Set.of());
+
+        this.outboxPublisher.onEntriesStored(new OutboxEntriesStoredEvent(List.of(aEntry)));
+
+        Mockito.verify(this.outboxLeaseManager, Mockito.timeout(5_000)).ownedBuckets();
+        Mockito.verify(this.kafkaTemplate, Mockito.after(200).never())
+                .send(ArgumentMatchers.<ProducerRecord<String, Object>>any());
+        Mockito.verify(this.outboxJdbcRepository, Mockito.never()).earliestPendingVersions(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void givenImmediatePublishDisabled_whenCallOnEntriesStored_thenShouldNotPublish() {
+        this.outboxPublisher = newPublisher(false);
+
+        this.outboxPublisher.onEntriesStored(new OutboxEntriesStoredEvent(List.of(entry())));
+
+        Mockito.verifyNoInteractions(this.kafkaTemplate, this.outboxJdbcRepository);
+    }
+
+    private OutboxPublisher newPublisher(final boolean aEnabled) {
+        final var aProperties = new OutboxProperties();
+        aProperties.setImmediatePublishEnabled(aEnabled);
+
+        final var aPublisher = new OutboxPublisher(
+                new OutboxKafkaSender(this.kafkaTemplate, aProperties),
+                this.outboxJdbcRepository,
+                this.outboxLeaseManager,
+                this.transactionManager,
+                aProperties
+        );
+        aPublisher.afterPropertiesSet();
+        return aPublisher;
+    }
+
+    private static OutboxEntry entry() {
+        return new OutboxEntry(
+                IdUtils.generateIdWithoutHyphen(),
+                "SampleEntityEvent",
+                IdUtils.generateIdWithoutHyphen(),
+                0,
+                InstantUtils.now(),
+                "{}"
+        );
+    }
+}
@@ -0,0 +1,201 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.constants.HeadersConstants;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+@UnitTest
+public class OutboxRelayTest {
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final OutboxJdbcRepository outboxJdbcRepository = Mockito.mock(OutboxJdbcRepository.class);
+    private final OutboxLeaseManager outboxLeaseManager = Mockito.mock(OutboxLeaseManager.class);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+    @Test
+    void givenPendingEntries_whenCallRelayBatch_thenShouldPublishKeyedByAggregateAndMarkProcessed() {
+        final var aProperties = new OutboxProperties();
+        final var aRelay = newRelay(aProperties);
+        final var aEntries = entries(2);
+
+        Mockito.when(this.outboxJdbcRepository.claimPending(
+                ArgumentMatchers.eq(aProperties.getMinBatchSize()), ArgumentMatchers.any())).thenReturn(aEntries);
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        Assertions.assertEquals(2, aRelay.relayBatch());
+
+        final ArgumentCaptor<ProducerRecord<String, Object>> aRecordCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(this.kafkaTemplate, Mockito.times(2)).send(aRecordCaptor.capture());
+
+        final var aRecord = aRecordCaptor.getAllValues().get(0);
+        Assertions.assertEquals(aProperties.getTopic(), aRecord.topic());
+        Assertions.assertEquals(aEntries.get(0).aggregateId(), aRecord.key());
+        Assertions.assertEquals(aEntries.get(0).payload(), aRecord.value());
+        Assertions.assertEquals(aEntries.get(0).eventId(),
+                new String(aRecord.headers().lastHeader(HeadersConstants.EVENT_ID).value()));
+
+        Mockito.verify(this.outboxJdbcRepository).updateStatus(
+                List.of(aEntries.get(0).eventId(), aEntries.get(1).eventId()), OutboxStatus.PROCESSED);
+        Mockito.verify(this.outboxJdbcRepository).recordFailedAttempts(ArgumentMatchers.eq(List.of()), ArgumentMatchers.any());
+    }
+
+    @Test
+    void givenAFailedSend_whenCallRelayBatch_thenShouldRecordAFailedAttemptOnlyForTheFailedEntry() {
+        final var aRelay = newRelay(new OutboxProperties());
+        final var aEntries = entries(3);
+
+        Mockito.when(this.outboxJdbcRepository.claimPending(ArgumentMatchers.anyInt(), ArgumentMatchers.any())).thenReturn(aEntries);
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        Assertions.assertEquals(3, aRelay.relayBatch());
+
+        Mockito.verify(this.outboxJdbcRepository)
+                .updateStatus(List.of(aEntries.get(0).eventId()), OutboxStatus.PROCESSED);
+        Mockito.verify(this.outboxJdbcRepository)
+                .recordFailedAttempts(ArgumentMatchers.eq(List.of(aEntries.get(1))), ArgumentMatchers.any());
+        Mockito.verify(this.outboxJdbcRepository, Mockito.never())
+                .updateStatus(ArgumentMatchers.anyList(), ArgumentMatchers.eq(OutboxStatus.FAILED));
+        Mockito.verify(this.kafkaTemplate, Mockito.times(2)).send(ArgumentMatchers.<ProducerRecord<String, Object>>any());
+    }
+
+    @Test
+    void givenAFullBatch_whenCallRelayBatch_thenShouldGrowBatchSize() {
+        final var aProperties = new OutboxProperties();
+        aProperties.setMinBatchSize(2);
+        aProperties.setMaxBatchSize(3);
+        final var aRelay = newRelay(aProperties);
+
+        Mockito.when(this.outboxJdbcRepository.claimPending(ArgumentMatchers.anyInt(), ArgumentMatchers.any())).thenReturn(entries(2));
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(Mockito.mock(SendResult.class)));
+
+        aRelay.relayBatch();
+
+        Assertions.assertEquals(3, aRelay.getBatchSize());
+        Assertions.assertEquals(aProperties.getMinPollInterval(), aRelay.getPollInterval());
+    }
+
+    @Test
+    void givenNoPendingEntries_whenCallRelayBatch_thenShouldBackOffPollInterval() {
+        final var aProperties = new OutboxProperties();
+        aProperties.setMinPollInterval(Duration.ofMillis(100));
+        aProperties.setMaxPollInterval(Duration.ofMillis(300));
+        final var aRelay = newRelay(aProperties);
+
+        Mockito.when(this.outboxJdbcRepository.claimPending(ArgumentMatchers.anyInt(), ArgumentMatchers.any())).thenReturn(List.of());
+
+        Assertions.assertEquals(0, aRelay.relayBatch());
+        Assertions.assertEquals(Duration.ofMillis(200), aRelay.getPollInterval());
+
+        aRelay.relayBatch();
+        Assertions.assertEquals(Duration.ofMillis(300), aRelay.getPollInterval());
+
+        Mockito.verify(this.kafkaTemplate, Mockito.never()).send(ArgumentMatchers.<ProducerRecord<String, Object>>any());
+    }
+
+    @Test
+    void givenLeasesEnabled_whenCallRelayBatch_thenShouldClaimOnlyOwnedBuckets() {
+        final var aProperties = new OutboxProperties();
+        final var aRelay = newRelay(aProperties);
+        final var aOwnedBuckets = Set.of(1, 3);
+
+        Mockito.when(this.outboxLeaseManager.isEnabled()).thenReturn(true);
+        Mockito.when(this.outboxLeaseManager.ownedBuckets()).thenReturn(aOwnedBuckets);
+        Mockito.when(this.outboxJdbcRepository.claimPending(
+                ArgumentMatchers.eq(aProperties.getMinBatchSize()),
+                ArgumentMatchers.eq(aOwnedBuckets),
+                ArgumentMatchers.any()
+        )).thenReturn(List.of());
+
+        Assertions.assertEquals(0, aRelay.relayBatch());
+
+        Mockito.verify(this.outboxJdbcRepository).assignBuckets(aProperties.getMinBatchSize());
+        Mockito.verify(this.outboxJdbcRepository).claimPending(
+                ArgumentMatchers.eq(aProperties.getMinBatchSize()),
+                ArgumentMatchers.eq(aOwnedBuckets),
+                ArgumentMatchers.any()
+        );
+        Mockito.verify(this.outboxJdbcRepository, Mockito.never())
+                .claimPending(ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void givenImmediatePublishEnabled_whenCallRelayBatch_thenShouldSweepOnlyStaleEntries() {
+        final var aProperties = new OutboxProperties();
+        aProperties.setImmediatePublishEnabled(true);
+        aProperties.setSweepStaleAfter(Duration.ofMinutes(1));
+        final var aRelay = newRelay(aProperties);
+
+        Mockito.when(this.outboxJdbcRepository.claimPending(ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+                .thenReturn(List.of());
+
+        final var aBefore = InstantUtils.now();
+        aRelay.relayBatch();
+
+        final var aOccurredBeforeCaptor = ArgumentCaptor.forClass(Instant.class);
+        Mockito.verify(this.outboxJdbcRepository)
+                .claimPending(ArgumentMatchers.anyInt(), aOccurredBeforeCaptor.capture());
+
+        Assertions.assertFalse(aOccurredBeforeCaptor.getValue().isAfter(aBefore.minus(Duration.ofSeconds(59))));
+    }
+
+    private OutboxRelay newRelay(final OutboxProperties aProperties) {
+        return new OutboxRelay(
+                this.outboxJdbcRepository,
+                this.outboxLeaseManager,
+                this.transactionManager,
+                new OutboxKafkaSender(this.kafkaTemplate, aProperties),
+                aProperties
+        );
+    }
+
+    private static List<OutboxEntry> entries(final int aCount) {
+        final var aAggregateId = IdUtils.generateIdWithoutHyphen();
+        return IntStream.range(0, aCount)
+                .mapToObj(i -> new OutboxEntry(
+                        IdUtils.generateIdWithoutHyphen(),
+                        "SampleEntityEvent",
+                        aAggregateId,
+                        i,
+                        InstantUtils.now(),
+                        "{}"
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.kaua.order.infrastructure.outbox;
+
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.outbox.OutboxProperties;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@UnitTest
+public class OutboxRetentionJobTest {
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            transactions.incrementAndGet();
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final OutboxJdbcRepository outboxJdbcRepository = Mockito.mock(OutboxJdbcRepository.class);
+    private final OutboxPartitionJdbcRepository outboxPartitionJdbcRepository = Mockito.mock(OutboxPartitionJdbcRepository.class);
+
+    @Test
+    void givenABacklogOfProcessedEntries_whenCallPurge_thenShouldDeleteInBatchesUntilAShortBatch() {
+        final var aJob = newJob(false);
+
+        Mockito.when(this.outboxJdbcRepository.purgeProcessed(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(10, 10, 3);
+
+        Assertions.assertEquals(23, aJob.run());
+        Assertions.assertEquals(3, this.transactions.get());
+        Mockito.verifyNoInteractions(this.outboxPartitionJdbcRepository);
+    }
+
+    @Test
+    void givenAFailingBatch_whenCallPurge_thenShouldStopTheRun() {
+        final var aJob = newJob(false);
+
+        Mockito.when(this.outboxJdbcRepository.purgeProcessed(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(10)
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        Assertions.assertEquals(10, aJob.run());
+        Assertions.assertEquals(2, this.transactions.get());
+    }
+
+    @Test
+    void givenPartitionsEnabled_whenCallRun_thenShouldAddUpcomingAndDropOnlyFullyProcessedExpiredPartitions() {
+        final var aJob = newJob(true);
+        final var aToday = LocalDate.now(ZoneOffset.UTC);
+
+        final var aProcessed = OutboxPartitionJdbcRepository.partitionOf(aToday.minusDays(10));
+        final var aUnprocessed = OutboxPartitionJdbcRepository.partitionOf(aToday.minusDays(9));
+        final var aRecent = OutboxPartitionJdbcRepository.partitionOf(aToday.minusDays(1));
+        final var aCurrent = OutboxPartitionJdbcRepository.partitionOf(aToday);
+
+        Mockito.when(this.outboxPartitionJdbcRepository.partitions())
+                .thenReturn(new ArrayList<>(List.of(aProcessed, aUnprocessed, aRecent, aCurrent, "pmax")));
+        Mockito.when(this.outboxPartitionJdbcRepository.countUnprocessed(aProcessed)).thenReturn(0L);
+        Mockito.when(this.outboxPartitionJdbcRepository.countUnprocessed(aUnprocessed)).thenReturn(2L);
+
+        Assertions.assertEquals(1, aJob.run());
+
+        Mockito.verify(this.outboxPartitionJdbcRepository).dropPartition(aProcessed);
+        Mockito.verify(this.outboxPartitionJdbcRepository, Mockito.never()).dropPartition(aUnprocessed);
+        Mockito.verify(this.outboxPartitionJdbcRepository, Mockito.never()).dropPartition(aRecent);
+        Mockito.verify(this.outboxPartitionJdbcRepository, Mockito.never()).addPartition(aToday);
+        Mockito.verify(this.outboxPartitionJdbcRepository).addPartition(aToday.plusDays(1));
+        Mockito.verify(this.outboxPartitionJdbcRepository).addPartition(aToday.plusDays(2));
+        Mockito.verifyNoInteractions(this.outboxJdbcRepository);
+    }
+
+    private OutboxRetentionJob newJob(final boolean aPartitionsEnabled) {
+        final var aProperties = new OutboxProperties();
+        aProperties.setRetention(Duration.ofDays(7));
+        aProperties.setRetentionBatchSize(10);
+        aProperties.setRetentionBatchPause(Duration.ZERO);
+        aProperties.setRetentionPartitionsEnabled(aPartitionsEnabled);
+        aProperties.setRetentionPartitionsAhead(2);
+
+        return new OutboxRetentionJob(
+                this.outboxJdbcRepository,
+                this.outboxPartitionJdbcRepository,
+                this.transactionManager,
+                aProperties
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.kaua.order.infrastructure.parked;
+
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.infrastructure.IntegrationTest;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.List;
+
+@IntegrationTest
+public class ParkedMessageJdbcRepositoryTest {
+
+    @Autowired
+    private ParkedMessageJdbcRepository parkedMessageJdbcRepository;
+
+    @Test
+    void givenAParkedRecord_whenCallFindByMessageType_thenShouldRestoreKeyPayloadAndHeaders() {
+        final var aMessageType = "ParkedType" + IdUtils.generateIdWithoutHyphen();
+        final var aRecord = new ConsumerRecord<String, String>("topic", 0, 10, "customer", "{\"id\":\"1\"}");
+        aRecord.headers().add("event_type", aMessageType.getBytes());
+        aRecord.headers().add("event_id", "event-1".getBytes());
+
+        this.parkedMessageJdbcRepository.park(ParkedMessage.from(aRecord, aMessageType, "topic-dlt-invalid", InstantUtils.now()));
+
+        final var aParked = this.parkedMessageJdbcRepository.findByMessageType(aMessageType, 10);
+
+        Assertions.assertEquals(1, aParked.size());
+        Assertions.assertTrue(this.parkedMessageJdbcRepository.findMessageTypes().contains(aMessageType));
+
+        final var aProducerRecord = aParked.get(0).toProducerRecord("topic");
+        Assertions.assertEquals("topic", aProducerRecord.topic());
+        Assertions.assertEquals("customer", aProducerRecord.key());
+        Assertions.assertEquals("{\"id\":\"1\"}", aProducerRecord.value());
+        Assertions.assertEquals("event-1", new String(aProducerRecord.headers().lastHeader("event_id").value()));
+        Assertions.assertEquals(aMessageType, new String(aProducerRecord.headers().lastHeader("event_type").value()));
+    }
+
+    @Test
+    void givenParkedRecords_whenCallFindExpiredAndDeleteAll_thenShouldRemoveOnlyRowsParkedBeforeTheExpiry() {
+        final var aMessageType = "ParkedType" + IdUtils.generateIdWithoutHyphen();
+        final var aRecord = new ConsumerRecord<String, String>("topic", 0, 10, null, "payload");
+        final var aOldOccurredOn = InstantUtils.now().minus(Duration.ofDays(400));
+        final var aParked = ParkedMessage.from(aRecord, aMessageType, "topic-dlt-invalid", InstantUtils.now());
+
+        // parked long ago, and an old message parked just now, only the first one expired
+        this.parkedMessageJdbcRepository.park(new ParkedMessage(
+                null,
+                aParked.messageType(),
+                aParked.topic(),
+                aParked.dltTopic(),
+                aParked.messageKey(),
+                aParked.payload(),
+                aParked.headers(),
+                aOldOccurredOn,
+                aOldOccurredOn
+        ));
+        this.parkedMessageJdbcRepository.park(ParkedMessage.from(aRecord, aMessageType, "topic-dlt-invalid", aOldOccurredOn));
+
+        final var aExpired = this.parkedMessageJdbcRepository
+                .findExpired(InstantUtils.now().minus(Duration.ofDays(399)), 100).stream()
+                .filter(it -> it.messageType().equals(aMessageType))
+                .toList();
+
+        Assertions.assertEquals(1, aExpired.size());
+        Assertions.assertEquals(1, this.parkedMessageJdbcRepository.deleteAll(List.of(aExpired.get(0).id())));
+        Assertions.assertEquals(1, this.parkedMessageJdbcRepository.findByMessageType(aMessageType, 10).size());
+    }
+}
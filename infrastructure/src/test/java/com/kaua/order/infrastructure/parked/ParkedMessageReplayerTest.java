@@ -0,0 +1,146 @@
+package com.kaua.order.infrastructure.parked;
+
+import com.kaua.order.application.handlers.commands.CreateOrderCommand;
+import com.kaua.order.domain.utils.InstantUtils;
+import com.kaua.order.domain.validation.Error;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.parked.ParkedMessagesProperties;
+import com.kaua.order.infrastructure.listeners.MessageHandlerRegistration;
+import com.kaua.order.infrastructure.listeners.MessageHandlerRegistry;
+import com.kaua.order.infrastructure.transaction.TransactionManager;
+import com.kaua.order.infrastructure.transaction.TransactionResult;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@UnitTest
+public class ParkedMessageReplayerTest {
+
+    private final TransactionManager transactionManager = new TransactionManager() {
+        @Override
+        public <T> TransactionResult<T> execute(Supplier<T> action) {
+            try {
+                return TransactionResult.success(action.get());
+            } catch (Exception e) {
+                return TransactionResult.failure(new Error(e.getMessage()), e);
+            }
+        }
+    };
+
+    private final ParkedMessageJdbcRepository parkedMessageJdbcRepository = Mockito.mock(ParkedMessageJdbcRepository.class);
+    private final MessageHandlerRegistry messageHandlerRegistry = Mockito.mock(MessageHandlerRegistry.class);
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = Mockito.mock(KafkaTemplate.class);
+
+    @Test
+    void givenParkedMessagesOfAHandledType_whenCallReplay_thenShouldPublishToOriginalTopicAndDelete() {
+        final var aReplayer = newReplayer();
+        final var aMessages = List.of(parked(1L, CreateOrderCommand.COMMAND_TYPE), parked(2L, CreateOrderCommand.COMMAND_TYPE));
+
+        Mockito.when(this.parkedMessageJdbcRepository.findMessageTypes()).thenReturn(List.of(CreateOrderCommand.COMMAND_TYPE, "UnknownCommand"));
+        Mockito.when(this.messageHandlerRegistry.findCommand(CreateOrderCommand.COMMAND_TYPE))
+                .thenReturn(Optional.of(Mockito.mock(MessageHandlerRegistration.class)));
+        Mockito.when(this.messageHandlerRegistry.findCommand("UnknownCommand")).thenReturn(Optional.empty());
+        Mockito.when(this.messageHandlerRegistry.findEvent("UnknownCommand")).thenReturn(Optional.empty());
+        Mockito.when(this.parkedMessageJdbcRepository.findByMessageType(CreateOrderCommand.COMMAND_TYPE, 10)).thenReturn(aMessages);
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(this.parkedMessageJdbcRepository.deleteAll(List.of(1L, 2L))).thenReturn(2);
+
+        Assertions.assertEquals(2, aReplayer.replay());
+
+        Mockito.verify(this.kafkaTemplate, Mockito.times(2))
+                .send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(it -> it.topic().equals("place_order-command-topic")));
+        Mockito.verify(this.parkedMessageJdbcRepository, Mockito.never()).findByMessageType(ArgumentMatchers.eq("UnknownCommand"), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void givenAFailedSend_whenCallReplay_thenShouldKeepItsRow() {
+        final var aReplayer = newReplayer();
+        final var aMessages = List.of(parked(1L, CreateOrderCommand.COMMAND_TYPE), parked(2L, CreateOrderCommand.COMMAND_TYPE));
+
+        Mockito.when(this.parkedMessageJdbcRepository.findMessageTypes()).thenReturn(List.of(CreateOrderCommand.COMMAND_TYPE));
+        Mockito.when(this.messageHandlerRegistry.findCommand(CreateOrderCommand.COMMAND_TYPE))
+                .thenReturn(Optional.of(Mockito.mock(MessageHandlerRegistration.class)));
+        Mockito.when(this.parkedMessageJdbcRepository.findByMessageType(CreateOrderCommand.COMMAND_TYPE, 10)).thenReturn(aMessages);
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        Mockito.when(this.parkedMessageJdbcRepository.deleteAll(List.of(1L))).thenReturn(1);
+
+        Assertions.assertEquals(1, aReplayer.replay());
+        Mockito.verify(this.parkedMessageJdbcRepository, Mockito.times(1)).deleteAll(List.of(1L));
+    }
+
+    @Test
+    void givenExpiredParkedMessages_whenCallExpire_thenShouldSendToDltWithErrorMessage() {
+        final var aReplayer = newReplayer();
+
+        Mockito.when(this.parkedMessageJdbcRepository.findExpired(ArgumentMatchers.any(), ArgumentMatchers.eq(10)))
+                .thenReturn(List.of(parked(3L, "UnknownCommand")));
+        Mockito.when(this.kafkaTemplate.send(ArgumentMatchers.<ProducerRecord<String, Object>>any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        Mockito.when(this.parkedMessageJdbcRepository.deleteAll(List.of(3L))).thenReturn(1);
+
+        Assertions.assertEquals(1, aReplayer.expire());
+
+        Mockito.verify(this.kafkaTemplate, Mockito.times(1)).send(ArgumentMatchers.<ProducerRecord<String, Object>>argThat(it ->
+                it.topic().equals("order-commands-dlt-invalid")
+                        && it.headers().lastHeader("error_message") != null));
+    }
+
+    @Test
+    void givenAFailingClaim_whenCallReplay_thenShouldStopWithoutPublishing() {
+        final var aReplayer = newReplayer();
+
+        Mockito.when(this.parkedMessageJdbcRepository.findMessageTypes()).thenReturn(List.of(CreateOrderCommand.COMMAND_TYPE));
+        Mockito.when(this.messageHandlerRegistry.findCommand(CreateOrderCommand.COMMAND_TYPE))
+                .thenReturn(Optional.of(Mockito.mock(MessageHandlerRegistration.class)));
+        Mockito.when(this.parkedMessageJdbcRepository.findByMessageType(CreateOrderCommand.COMMAND_TYPE, 10))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        Assertions.assertEquals(0, aReplayer.replay());
+        Mockito.verify(this.parkedMessageJdbcRepository, Mockito.times(1)).findByMessageType(CreateOrderCommand.COMMAND_TYPE, 10);
+        Mockito.verifyNoInteractions(this.kafkaTemplate);
+    }
+
+    private ParkedMessageReplayer newReplayer() {
+        final var aProperties = new ParkedMessagesProperties();
+        aProperties.setBatchSize(10);
+        aProperties.setSendTimeout(Duration.ofSeconds(1));
+
+        return new ParkedMessageReplayer(
+                this.parkedMessageJdbcRepository,
+                this.messageHandlerRegistry,
+                this.kafkaTemplate,
+                this.transactionManager,
+                aProperties
+        );
+    }
+
+    private static ParkedMessage parked(final long id, final String messageType) {
+        final Instant aOccurredOn = InstantUtils.now().minus(Duration.ofDays(8));
+        return new ParkedMessage(
+                id,
+                messageType,
+                "place_order-command-topic",
+                "order-commands-dlt-invalid",
+                "customer",
+                "{}",
+                List.of(new ParkedMessage.ParkedHeader("command_type", "Q3JlYXRlT3JkZXJDb21tYW5k")),
+                aOccurredOn,
+                InstantUtils.now()
+        );
+    }
+}
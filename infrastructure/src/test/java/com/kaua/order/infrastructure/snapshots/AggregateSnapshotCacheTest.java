@@ -0,0 +1,114 @@
+package com.kaua.order.infrastructure.snapshots;
+
+import com.kaua.order.domain.Fixture;
+import com.kaua.order.domain.order.Order;
+import com.kaua.order.domain.order.OrderItem;
+import com.kaua.order.domain.order.snapshots.OrderSnapshot;
+import com.kaua.order.domain.order.valueobjects.OrderPaymentDetails;
+import com.kaua.order.domain.order.valueobjects.OrderShippingDetails;
+import com.kaua.order.domain.utils.IdUtils;
+import com.kaua.order.infrastructure.UnitTest;
+import com.kaua.order.infrastructure.configurations.properties.eventstore.EventStoreProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+
+@UnitTest
+public class AggregateSnapshotCacheTest {
+
+    @Test
+    void givenACachedSnapshot_whenCallGetWithSameVersion_thenShouldReturnSnapshot() {
+        final var aCache = new AggregateSnapshotCache(new EventStoreProperties());
+        final var aSnapshot = newOrderSnapshot();
+
+        aCache.put(aSnapshot);
+
+        final var aResult = aCache.<OrderSnapshot>get(aSnapshot.aggregateId(), aSnapshot.aggregateVersion());
+
+        Assertions.assertTrue(aResult.isPresent());
+        Assertions.assertSame(aSnapshot, aResult.get());
+    }
+
+    @Test
+    void givenACachedSnapshot_whenCallGetWithOtherVersion_thenShouldReturnEmpty() {
+        final var aCache = new AggregateSnapshotCache(new EventStoreProperties());
+        final var aSnapshot = newOrderSnapshot();
+
+        aCache.put(aSnapshot);
+
+        Assertions.assertTrue(aCache.get(aSnapshot.aggregateId(), aSnapshot.aggregateVersion() + 1).isEmpty());
+    }
+
+    @Test
+    void givenACachedSnapshot_whenCallInvalidate_thenShouldRemoveEntry() {
+        final var aCache = new AggregateSnapshotCache(new EventStoreProperties());
+        final var aSnapshot = newOrderSnapshot();
+
+        aCache.put(aSnapshot);
+        aCache.invalidate(aSnapshot.aggregateId());
+
+        Assertions.assertEquals(0, aCache.size());
+        Assertions.assertTrue(aCache.get(aSnapshot.aggregateId(), aSnapshot.aggregateVersion()).isEmpty());
+    }
+
+    @Test
+    void givenMoreSnapshotsThanMaxSize_whenCallPut_thenShouldEvictLeastRecentlyUsed() {
+        final var aProperties = new EventStoreProperties();
+        aProperties.setAggregateCacheMaxSize(2);
+        final var aCache = new AggregateSnapshotCache(aProperties);
+
+        final var aFirst = newOrderSnapshot();
+        final var aSecond = newOrderSnapshot();
+        final var aThird = newOrderSnapshot();
+
+        aCache.put(aFirst);
+        aCache.put(aSecond);
+        aCache.get(aFirst.aggregateId(), aFirst.aggregateVersion());
+        aCache.put(aThird);
+
+        Assertions.assertEquals(2, aCache.size());
+        Assertions.assertTrue(aCache.get(aFirst.aggregateId(), aFirst.aggregateVersion()).isPresent());
+        Assertions.assertTrue(aCache.get(aSecond.aggregateId(), aSecond.aggregateVersion()).isEmpty());
+        Assertions.assertTrue(aCache.get(aThird.aggregateId(), aThird.aggregateVersion()).isPresent());
+    }
+
+    @Test
+    void givenAnExpiredSnapshot_whenCallGet_thenShouldReturnEmpty() throws InterruptedException {
+        final var aProperties = new EventStoreProperties();
+        aProperties.setAggregateCacheTtl(Duration.ZERO);
+        final var aCache = new AggregateSnapshotCache(aProperties);
+        final var aSnapshot = newOrderSnapshot();
+
+        aCache.put(aSnapshot);
+        Thread.sleep(1);
+
+        Assertions.assertTrue(aCache.get(aSnapshot.aggregateId(), aSnapshot.aggregateVersion()).isEmpty());
+        Assertions.assertEquals(0, aCache.size());
+    }
+
+    @Test
+    void givenADisabledCache_whenCallPut_thenShouldNotStoreSnapshot() {
+        final var aProperties = new EventStoreProperties();
+        aProperties.setAggregateCacheEnabled(false);
+        final var aCache = new AggregateSnapshotCache(aProperties);
+
+        aCache.put(newOrderSnapshot());
+
+        Assertions.assertEquals(0, aCache.size());
+    }
+
+    private static OrderSnapshot newOrderSnapshot() {
+        return Order.newOrder(
+                "2",
+                Set.of(OrderItem.create("12345-sku", 1, BigDecimal.TEN)),
+                Fixture.address(null),
+                null,
+                OrderPaymentDetails.create("1", 1),
+                OrderShippingDetails.create("Correios", "SEDEX"),
+                IdUtils.generateIdWithoutHyphen()
+        ).snapshot();
+    }
+}